@@ -0,0 +1,65 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Used to specify that a {@link org.jtimer.Annotations.Time @Time} method is
+ * too fast to be timed one invocation at a time. Instead the method will be
+ * invoked multiple times between reading the clock and the time per invocation
+ * is what gets graphed. {@link org.jtimer.Annotations.Before @Before} and
+ * {@link org.jtimer.Annotations.After @After} are executed around the whole
+ * batch, not around each invocation, and the timeout applies to the whole
+ * batch.
+ * <br>
+ * {@link org.jtimer.Annotations.Batch#value() value()} Has the amount of
+ * invocations per batch, by default this is 0, which means that it will be
+ * picked automatically.
+ * <br>
+ * {@link org.jtimer.Annotations.Batch#target() target()} Has the amount of
+ * nanoseconds an automatically sized batch should take, by default this is one
+ * millisecond.
+ * 
+ * @author MagneticZero
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.METHOD })
+public @interface Batch {
+	/**
+	 * The amount of invocations per batch. By default this is 0, which means the
+	 * batch size is doubled until a batch takes at least
+	 * {@link org.jtimer.Annotations.Batch#target() target} nanoseconds.
+	 * 
+	 * @return The invocations per batch
+	 */
+	int value() default 0;
+
+	/**
+	 * The amount of nanoseconds an automatically sized batch should take. By
+	 * default this is one millisecond.
+	 * 
+	 * @return The target duration, in nanoseconds
+	 */
+	long target() default 1000000; // In nanoseconds
+}
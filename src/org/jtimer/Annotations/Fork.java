@@ -0,0 +1,60 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Used to specify that a class should be timed in its own JVM instead of the
+ * one running the {@link org.jtimer.Grapher grapher}. This way the JIT, the
+ * heap and the classes loaded by one class can't affect the times of another
+ * class. The samples are sent back to the {@link org.jtimer.Runner runner} and
+ * graphed as usual.
+ * <br>
+ * {@link org.jtimer.Annotations.Fork#value() value()} Has the amount of JVMs
+ * that will be started one after another, by default this is 1. With more than
+ * one, the report will tell the variance between the JVMs apart from the
+ * variance within them.
+ * <br>
+ * {@link org.jtimer.Annotations.Fork#jvmArgs() jvmArgs()} Has the arguments
+ * given to each JVM, by default there are none.
+ * 
+ * @author MagneticZero
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Fork {
+	/**
+	 * The amount of JVMs that will time the class. By default this is 1.
+	 * 
+	 * @return The amount of forks
+	 */
+	int value() default 1;
+
+	/**
+	 * The arguments given to each JVM, such as -Xmx1g. By default there are none.
+	 * 
+	 * @return The JVM arguments
+	 */
+	String[] jvmArgs() default {};
+}
@@ -0,0 +1,71 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.jtimer.Misc.TimingMode;
+
+/**
+ * Used to specify how a {@link org.jtimer.Annotations.Time @Time} method is
+ * timed. In {@link org.jtimer.Misc.TimingMode#THROUGHPUT THROUGHPUT} mode each
+ * repetition is a window of time that the method is invoked over and over in,
+ * and the invocations per second of each window are graphed on a chart of
+ * their own. This is for the sustained speed of something hot, and how it
+ * drifts over time, rather than how long a single invocation takes.
+ * <br>
+ * {@link org.jtimer.Annotations.Mode#value() value()} Has the
+ * {@link org.jtimer.Misc.TimingMode mode}, by default this is
+ * {@link org.jtimer.Misc.TimingMode#SAMPLE SAMPLE}.
+ * <br>
+ * {@link org.jtimer.Annotations.Mode#window() window()} Has the length of a
+ * window in nanoseconds, by default this is 100 milliseconds.
+ * <br>
+ * The clock is only read between batches, so if the method doesn't have a
+ * {@link org.jtimer.Annotations.Batch @Batch} a batch a hundredth of the window
+ * long is picked automatically. {@link org.jtimer.Annotations.Before @Before}
+ * and {@link org.jtimer.Annotations.After @After} are executed around the whole
+ * window. This is ignored by {@link org.jtimer.Annotations.Threads @Threads}
+ * methods, which already graph their throughput.
+ * 
+ * @author MagneticZero
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.METHOD })
+public @interface Mode {
+	/**
+	 * How the method is timed. By default this is
+	 * {@link org.jtimer.Misc.TimingMode#SAMPLE SAMPLE}.
+	 * 
+	 * @return The mode
+	 */
+	TimingMode value() default TimingMode.SAMPLE;
+
+	/**
+	 * The length of a window in {@link org.jtimer.Misc.TimingMode#THROUGHPUT
+	 * THROUGHPUT} mode. By default this is 100 milliseconds.
+	 * 
+	 * @return The window, in nanoseconds
+	 */
+	long window() default 100000000; // In nanoseconds
+}
@@ -0,0 +1,78 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Used on a field to make it the input size of a class. Every
+ * {@link org.jtimer.Annotations.Time @Time} method is timed once for each value
+ * of the field, each time with a fresh instance that has the field set before
+ * any {@link org.jtimer.Annotations.BeforeClass @BeforeClass} is executed, so
+ * that the fixtures can be built for that size. The x-axis of the graph is then
+ * the value of the field instead of the repetition, which is what the line of
+ * best fit should really be going off of.
+ * <br>
+ * {@link org.jtimer.Annotations.Param#value() value()} Has the values of the
+ * field, like @Param({10, 100, 1000}). If there aren't any, then the values go
+ * from {@link org.jtimer.Annotations.Param#from() from()} up to
+ * {@link org.jtimer.Annotations.Param#to() to()}, multiplying by
+ * {@link org.jtimer.Annotations.Param#factor() factor()} every time.
+ * <br>
+ * The field has to be an int or a long, and a class can only have one.
+ * 
+ * @author MagneticZero
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD })
+public @interface Param {
+	/**
+	 * The values of the field. By default there aren't any, and the values are a
+	 * range instead.
+	 * 
+	 * @return The values
+	 */
+	long[] value() default {};
+
+	/**
+	 * The first value of the range. By default this is 1.
+	 * 
+	 * @return The first value
+	 */
+	long from() default 1;
+
+	/**
+	 * The largest value of the range. By default this is 1000.
+	 * 
+	 * @return The largest value
+	 */
+	long to() default 1000;
+
+	/**
+	 * What each value of the range is multiplied by to get the next. By default
+	 * this is 2.
+	 * 
+	 * @return The factor
+	 */
+	double factor() default 2;
+}
@@ -0,0 +1,102 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Used to specify that a {@link org.jtimer.Annotations.Time @Time} method
+ * should be repeated until its mean, or median, is known precisely enough
+ * instead of a fixed amount of times. After every repetition the confidence
+ * interval is checked, and once its half width relative to the mean is within
+ * {@link org.jtimer.Annotations.Precision#value() value()} the method is done.
+ * The repeat of the {@link org.jtimer.Annotations.Time @Time} is ignored, and
+ * the precision that was reached is in the report.
+ * <br>
+ * {@link org.jtimer.Annotations.Precision#value() value()} Has the relative half
+ * width, by default this is 0.01, so +/-1%.
+ * <br>
+ * {@link org.jtimer.Annotations.Precision#confidence() confidence()} Has the
+ * confidence of the interval, by default this is 0.95.
+ * <br>
+ * {@link org.jtimer.Annotations.Precision#median() median()} If true, the
+ * interval is of the median instead of the mean, which is better for methods
+ * with the occasional huge outlier. By default this is false.
+ * <br>
+ * {@link org.jtimer.Annotations.Precision#min() min()} and
+ * {@link org.jtimer.Annotations.Precision#max() max()} Have the least and most
+ * repetitions, by default these are 10 and 100000.
+ * <br>
+ * {@link org.jtimer.Annotations.Precision#budget() budget()} Has the longest
+ * the method will be repeated for, even if it isn't precise yet, by default
+ * this is a minute.
+ * 
+ * @author MagneticZero
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.METHOD })
+public @interface Precision {
+	/**
+	 * The half width of the confidence interval relative to the mean, or median,
+	 * that is precise enough. By default this is 0.01.
+	 * 
+	 * @return The relative half width
+	 */
+	double value() default 0.01;
+
+	/**
+	 * The confidence of the interval. By default this is 0.95.
+	 * 
+	 * @return The confidence, between 0 and 1
+	 */
+	double confidence() default 0.95;
+
+	/**
+	 * If the interval is of the median instead of the mean. By default this is
+	 * false.
+	 * 
+	 * @return Whether or not the median is used
+	 */
+	boolean median() default false;
+
+	/**
+	 * The least amount of repetitions. By default this is 10.
+	 * 
+	 * @return The minimum repetitions
+	 */
+	int min() default 10;
+
+	/**
+	 * The most repetitions. By default this is 100000.
+	 * 
+	 * @return The maximum repetitions
+	 */
+	int max() default 100000;
+
+	/**
+	 * The longest the method will be repeated for. By default this is a minute.
+	 * 
+	 * @return The time budget, in nanoseconds
+	 */
+	long budget() default 60000000000L; // In nanoseconds
+}
@@ -0,0 +1,59 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Used to specify that a {@link org.jtimer.Annotations.Time @Time} method
+ * should be invoked by several threads at once instead of just one. The threads
+ * are released together for every repetition, so that they're all contending
+ * for whatever the method shares. The time of a repetition is the time until
+ * the last thread is done, the time each thread took on its own is kept for
+ * the report, and the throughput of all threads together is graphed against
+ * the amount of threads.
+ * <br>
+ * {@link org.jtimer.Annotations.Threads#value() value()} Has the amount of
+ * threads. If there is more than one value, like @Threads({1, 2, 4, 8}), then
+ * the method is timed once for each amount of threads, which is the best way
+ * to see how well something scales.
+ * <br>
+ * {@link org.jtimer.Annotations.Before @Before} and
+ * {@link org.jtimer.Annotations.After @After} are executed once around each
+ * repetition, not once per thread, and if the method has a
+ * {@link org.jtimer.Annotations.Batch @Batch} then each thread invokes it a
+ * whole batch. Waking up all the threads takes a bit, so for fast methods a
+ * batch is pretty much needed to keep that out of the throughput.
+ * 
+ * @author MagneticZero
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.ANNOTATION_TYPE, ElementType.METHOD })
+public @interface Threads {
+	/**
+	 * The amounts of threads the method is timed with. By default this is just 1.
+	 * 
+	 * @return The amounts of threads
+	 */
+	int[] value() default { 1 };
+}
@@ -34,6 +34,12 @@ import java.lang.annotation.Target;
  * {@link org.jtimer.Annotations.Time#timeout() timeout()} Has a timeout time,
  * by default there is no timeout. The timeout is in nanosecond and a test will
  * be be halted after the timeout has been reached.
+ * <br>
+ * The method can return something, whatever it returns is handed to a
+ * {@link org.jtimer.Misc.Blackhole Blackhole} so that the JIT can't get rid of
+ * the work that went into it. If there's more than one thing to keep the method
+ * can take a {@link org.jtimer.Misc.Blackhole Blackhole} as its only parameter
+ * and consume them itself, it can't take any other parameters.
  * 
  * @author MagneticZero
  */
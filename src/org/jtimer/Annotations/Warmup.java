@@ -31,6 +31,20 @@ import java.lang.annotation.Target;
  * <br>
  * {@link Warmup#iterations() iterations()} Has an iterations count, by default
  * this is 10 although it can be changed if you want.
+ * <br>
+ * {@link Warmup#adaptive() adaptive()} If true, the iterations are just the
+ * least amount of iterations, and each method keeps being warmed up until the
+ * last {@link Warmup#window() window()} samples are steady or
+ * {@link Warmup#maxTime() maxTime()} has passed. Samples are steady when both
+ * their coefficient of variation and how much they trend from the first to the
+ * last are under the {@link Warmup#threshold() threshold()}. Either way the
+ * report tells how long the warmup of each method took and whether it ended up
+ * steady, which is a good way to see if 10 iterations was ever enough.
+ * <br>
+ * {@link Warmup#quiet() quiet()} If more than 0, each method also keeps being
+ * warmed up until the JIT hasn't compiled anything for that long, again up to
+ * {@link Warmup#maxTime() maxTime()}. Samples that are taken while the JIT is
+ * compiling get flagged on the graph whether or not this is used.
  * 
  * @author MagneticZero
  */
@@ -43,4 +57,44 @@ public @interface Warmup {
 	 * @return The number of iterations
 	 */
 	int iterations() default 10;
+
+	/**
+	 * If the warmup keeps going until the samples are steady. By default this is
+	 * false.
+	 * 
+	 * @return Whether or not the warmup is adaptive
+	 */
+	boolean adaptive() default false;
+
+	/**
+	 * The amount of most recent samples that have to be steady. By default this
+	 * is 20.
+	 * 
+	 * @return The size of the window
+	 */
+	int window() default 20;
+
+	/**
+	 * The largest coefficient of variation, and the largest relative trend, that
+	 * still counts as steady. By default this is 0.05, or 5%.
+	 * 
+	 * @return The threshold
+	 */
+	double threshold() default 0.05;
+
+	/**
+	 * The longest an adaptive warmup will take per method, even if it isn't
+	 * steady. By default this is 10 seconds.
+	 * 
+	 * @return The time limit, in nanoseconds
+	 */
+	long maxTime() default 10000000000L; // In nanoseconds
+
+	/**
+	 * How long the JIT has to have not compiled anything before the warmup of a
+	 * method is over. By default this is 0, which means the JIT isn't waited on.
+	 * 
+	 * @return The quiet time, in nanoseconds
+	 */
+	long quiet() default 0; // In nanoseconds
 }
@@ -0,0 +1,118 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Collections;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive longs. Samples are stored in these instead of a
+ * {@link java.util.List List} of {@link java.lang.Long Longs} so that recording
+ * a sample doesn't box anything.
+ * 
+ * @author MagneticZero
+ */
+public class LongList {
+
+	/**
+	 * The values in the list, only the first {@link LongList#size size} of them
+	 * are used.
+	 */
+	private long[] values;
+	/**
+	 * The amount of values in the list.
+	 */
+	private int size = 0;
+
+	/**
+	 * Creates an empty list with a default capacity.
+	 */
+	public LongList() {
+		this(16);
+	}
+
+	/**
+	 * Creates an empty list that can hold a given amount of values before it needs
+	 * to grow.
+	 * 
+	 * @param capacity The initial capacity
+	 */
+	public LongList(int capacity) {
+		values = new long[Math.max(1, capacity)];
+	}
+
+	/**
+	 * Adds a value to the end of the list.
+	 * 
+	 * @param value The value to add
+	 */
+	public void add(long value) {
+		if (size == values.length) {
+			values = Arrays.copyOf(values, values.length * 2);
+		}
+		values[size++] = value;
+	}
+
+	/**
+	 * Returns the value at an index.
+	 * 
+	 * @param index The index of the value
+	 * @return The value
+	 */
+	public long get(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+		}
+		return values[index];
+	}
+
+	/**
+	 * Returns the amount of values in the list.
+	 * 
+	 * @return The size of the list
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Tells if the list is empty.
+	 * 
+	 * @return Whether or not the list is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes all values from the list, keeping its capacity.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Copies the values in the list into a new array.
+	 * 
+	 * @return The values
+	 */
+	public long[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+}
@@ -0,0 +1,326 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Collections;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A min/max pyramid over a list of xy points, which is how a chart only ever
+ * draws a bounded amount of points no matter how many there are. The points
+ * are split into blocks of 2, 4, 8 and so on in the order they were added, and
+ * every block remembers the points in it with the lowest and highest y and the
+ * range of xs in it. {@link Pyramid#query(double, double, int, IntConsumer)
+ * Querying} a range of xs picks the smallest blocks that keep the amount of
+ * points under the limit, and gives the lowest and highest point of each of
+ * them, so that spikes are never averaged away the way they would be by just
+ * taking every nth point.
+ * <br>
+ * Adding a point updates one block on every level, so it takes log n, and a
+ * query takes about as long as the amount of points it gives as long as the xs
+ * mostly go up, which they do for repetitions and input sizes.
+ * 
+ * @author MagneticZero
+ */
+public class Pyramid {
+
+	/**
+	 * The xs of the points, only the first {@link Pyramid#size size} of them are
+	 * used.
+	 */
+	private double[] xs = new double[16];
+	/**
+	 * The ys of the points.
+	 */
+	private double[] ys = new double[16];
+	/**
+	 * The amount of points.
+	 */
+	private int size = 0;
+	/**
+	 * The amount of levels above the points, the blocks of the top one hold
+	 * every point.
+	 */
+	private int levels = 0;
+	/**
+	 * The index of the point with the lowest y in every block, by level. The
+	 * blocks of level k have 2^k points, and level 0 is the points themselves,
+	 * so it's never used.
+	 */
+	private int[][] lows = new int[32][];
+	/**
+	 * The index of the point with the highest y in every block, by level.
+	 */
+	private int[][] highs = new int[32][];
+	/**
+	 * The lowest x in every block, by level.
+	 */
+	private double[][] lefts = new double[32][];
+	/**
+	 * The highest x in every block, by level.
+	 */
+	private double[][] rights = new double[32][];
+
+	/**
+	 * Adds a point.
+	 * 
+	 * @param x The x of the point
+	 * @param y The y of the point
+	 */
+	public void add(double x, double y) {
+		if (size == xs.length) {
+			xs = Arrays.copyOf(xs, size * 2);
+			ys = Arrays.copyOf(ys, size * 2);
+		}
+		int point = size++;
+		xs[point] = x;
+		ys[point] = y;
+		int top = 32 - Integer.numberOfLeadingZeros(size - 1); // The blocks of the top level hold every point
+		for (int level = 1; level <= top; level++) {
+			int block = point >> level;
+			if (level > levels) { // The first block of a new level starts out as the old top
+				lows[level] = new int[16];
+				highs[level] = new int[16];
+				lefts[level] = new double[16];
+				rights[level] = new double[16];
+				lows[level][0] = low(level - 1, 0);
+				highs[level][0] = high(level - 1, 0);
+				lefts[level][0] = left(level - 1, 0);
+				rights[level][0] = right(level - 1, 0);
+				levels = level;
+			} else if (block == lows[level].length) {
+				lows[level] = Arrays.copyOf(lows[level], block * 2);
+				highs[level] = Arrays.copyOf(highs[level], block * 2);
+				lefts[level] = Arrays.copyOf(lefts[level], block * 2);
+				rights[level] = Arrays.copyOf(rights[level], block * 2);
+			}
+			if ((point & ((1 << level) - 1)) == 0) { // The first point of the block
+				lows[level][block] = point;
+				highs[level][block] = point;
+				lefts[level][block] = x;
+				rights[level][block] = x;
+			} else {
+				if (y < ys[lows[level][block]]) {
+					lows[level][block] = point;
+				}
+				if (y > ys[highs[level][block]]) {
+					highs[level][block] = point;
+				}
+				lefts[level][block] = Math.min(lefts[level][block], x);
+				rights[level][block] = Math.max(rights[level][block], x);
+			}
+		}
+	}
+
+	/**
+	 * Gives about the given amount of points at most that are in a range of xs,
+	 * which are all of them if there aren't too many, and otherwise the lowest
+	 * and highest point of each block of the smallest size that keeps them under
+	 * the amount. Blocks that are only partly in the range are split up, so the
+	 * points around the edges of the range can go a little over the amount.
+	 * 
+	 * @param low      The lowest x of the range
+	 * @param high     The highest x of the range
+	 * @param points   About how many points to give at most
+	 * @param consumer The {@link java.util.function.IntConsumer consumer} that's
+	 *                 given the index of each point
+	 * @return The amount of points given
+	 */
+	public int query(double low, double high, int points, IntConsumer consumer) {
+		if (size == 0) {
+			return 0;
+		}
+		long inRange = count(levels, 0, low, high);
+		int level = 0;
+		while (level < levels && (inRange >> level) * 2 > points) {
+			level++;
+		}
+		return query(levels, 0, low, high, level, consumer);
+	}
+
+	/**
+	 * Counts the points of a block that are in a range of xs.
+	 * 
+	 * @param level The level of the block
+	 * @param block The index of the block
+	 * @param low   The lowest x of the range
+	 * @param high  The highest x of the range
+	 * @return The amount of points
+	 */
+	private long count(int level, int block, double low, double high) {
+		int first = block << level;
+		if (first >= size || right(level, block) < low || left(level, block) > high) {
+			return 0;
+		}
+		if (level == 0 || (left(level, block) >= low && right(level, block) <= high)) {
+			return Math.min(size, first + (1 << level)) - first;
+		}
+		return count(level - 1, block * 2, low, high) + count(level - 1, block * 2 + 1, low, high);
+	}
+
+	/**
+	 * Gives the points of a block that are in a range of xs, as the lowest and
+	 * highest point of the blocks of the given level at most.
+	 * 
+	 * @param level    The level of the block
+	 * @param block    The index of the block
+	 * @param low      The lowest x of the range
+	 * @param high     The highest x of the range
+	 * @param detail   The level of the blocks to give the lowest and highest point
+	 *                 of
+	 * @param consumer What's given the index of each point
+	 * @return The amount of points given
+	 */
+	private int query(int level, int block, double low, double high, int detail, IntConsumer consumer) {
+		if ((block << level) >= size || right(level, block) < low || left(level, block) > high) {
+			return 0;
+		}
+		if (level == 0) {
+			consumer.accept(block);
+			return 1;
+		}
+		if (level <= detail && left(level, block) >= low && right(level, block) <= high) {
+			consumer.accept(lows[level][block]);
+			if (highs[level][block] == lows[level][block]) {
+				return 1;
+			}
+			consumer.accept(highs[level][block]);
+			return 2;
+		}
+		return query(level - 1, block * 2, low, high, detail, consumer) + query(level - 1, block * 2 + 1, low, high, detail, consumer);
+	}
+
+	/**
+	 * Returns the index of the point with the lowest y in a block.
+	 * 
+	 * @param level The level of the block
+	 * @param block The index of the block
+	 * @return The index of the point
+	 */
+	private int low(int level, int block) {
+		return level == 0 ? block : lows[level][block];
+	}
+
+	/**
+	 * Returns the index of the point with the highest y in a block.
+	 * 
+	 * @param level The level of the block
+	 * @param block The index of the block
+	 * @return The index of the point
+	 */
+	private int high(int level, int block) {
+		return level == 0 ? block : highs[level][block];
+	}
+
+	/**
+	 * Returns the lowest x in a block.
+	 * 
+	 * @param level The level of the block
+	 * @param block The index of the block
+	 * @return The x
+	 */
+	private double left(int level, int block) {
+		return level == 0 ? xs[block] : lefts[level][block];
+	}
+
+	/**
+	 * Returns the highest x in a block.
+	 * 
+	 * @param level The level of the block
+	 * @param block The index of the block
+	 * @return The x
+	 */
+	private double right(int level, int block) {
+		return level == 0 ? xs[block] : rights[level][block];
+	}
+
+	/**
+	 * Returns the lowest x of every point.
+	 * 
+	 * @return The x, or NaN if there are no points
+	 */
+	public double getMinX() {
+		return size == 0 ? Double.NaN : left(levels, 0);
+	}
+
+	/**
+	 * Returns the highest x of every point.
+	 * 
+	 * @return The x, or NaN if there are no points
+	 */
+	public double getMaxX() {
+		return size == 0 ? Double.NaN : right(levels, 0);
+	}
+
+	/**
+	 * Returns the lowest y of every point.
+	 * 
+	 * @return The y, or NaN if there are no points
+	 */
+	public double getMinY() {
+		return size == 0 ? Double.NaN : ys[low(levels, 0)];
+	}
+
+	/**
+	 * Returns the highest y of every point.
+	 * 
+	 * @return The y, or NaN if there are no points
+	 */
+	public double getMaxY() {
+		return size == 0 ? Double.NaN : ys[high(levels, 0)];
+	}
+
+	/**
+	 * Returns the x of a point.
+	 * 
+	 * @param index The index of the point
+	 * @return The x
+	 */
+	public double getX(int index) {
+		return xs[index];
+	}
+
+	/**
+	 * Returns the y of a point.
+	 * 
+	 * @param index The index of the point
+	 * @return The y
+	 */
+	public double getY(int index) {
+		return ys[index];
+	}
+
+	/**
+	 * Returns the amount of points.
+	 * 
+	 * @return The amount of points
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes every point.
+	 */
+	public void clear() {
+		size = 0;
+		levels = 0;
+	}
+}
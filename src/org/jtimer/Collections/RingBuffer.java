@@ -0,0 +1,167 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Collections;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded queue of records of primitive longs, for one thread to write to
+ * and one other thread to read from without either of them locking or
+ * allocating anything. The records live in one array that is allocated up
+ * front, and the only thing the two threads share is where each of them is,
+ * which is published with a lazy set so that writing a record is a few array
+ * stores and no fences besides the one at the end.
+ * <br>
+ * A record is written by {@link RingBuffer#claim() claiming} it, setting its
+ * values and then {@link RingBuffer#publish() publishing} it, and read by
+ * {@link RingBuffer#drain(Reader, int) draining} the ring.
+ * 
+ * @author MagneticZero
+ */
+public class RingBuffer {
+
+	/**
+	 * Reads the records that are drained from a {@link RingBuffer ring}.
+	 */
+	@FunctionalInterface
+	public interface Reader {
+		/**
+		 * Reads a record. The values of the record are only valid until this
+		 * returns, since the writer can reuse them right after.
+		 * 
+		 * @param values The values of the ring
+		 * @param offset Where the record starts in the values
+		 */
+		public void read(long[] values, int offset);
+	}
+
+	/**
+	 * The values of the records, one record after another.
+	 */
+	private final long[] values;
+	/**
+	 * The amount of values in a record.
+	 */
+	private final int width;
+	/**
+	 * The amount of records minus 1, which is all ones since the amount is a
+	 * power of two.
+	 */
+	private final int mask;
+	/**
+	 * The amount of records that have been read, only set by the reader.
+	 */
+	private final AtomicLong head = new AtomicLong();
+	/**
+	 * The amount of records that have been published, only set by the writer.
+	 */
+	private final AtomicLong tail = new AtomicLong();
+	/**
+	 * The {@link RingBuffer#head head} the last time the writer looked, so that
+	 * it doesn't have to read it again until the ring looks full.
+	 */
+	private long cachedHead = 0;
+
+	/**
+	 * Creates an empty ring.
+	 * 
+	 * @param capacity The amount of records it can hold, which is rounded up to a
+	 *                 power of two
+	 * @param width    The amount of values in a record
+	 */
+	public RingBuffer(int capacity, int width) {
+		int records = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+		this.values = new long[records * width];
+		this.width = width;
+		this.mask = records - 1;
+	}
+
+	/**
+	 * Claims the next record so that it can be written, which only the writer
+	 * can do. Nothing can be claimed until the claimed record is
+	 * {@link RingBuffer#publish() published}.
+	 * 
+	 * @return Where the record starts in the values, or -1 if the ring is full
+	 */
+	public int claim() {
+		long next = tail.get();
+		if (next - cachedHead > mask) {
+			cachedHead = head.get();
+			if (next - cachedHead > mask) {
+				return -1;
+			}
+		}
+		return (int) (next & mask) * width;
+	}
+
+	/**
+	 * Sets a value of the claimed record.
+	 * 
+	 * @param offset Where the value is in the values, which is where the record
+	 *               starts plus the index of the value
+	 * @param value  The value
+	 */
+	public void set(int offset, long value) {
+		values[offset] = value;
+	}
+
+	/**
+	 * Publishes the claimed record so that the reader can read it.
+	 */
+	public void publish() {
+		tail.lazySet(tail.get() + 1);
+	}
+
+	/**
+	 * Reads records in the order that they were published, which only the reader
+	 * can do.
+	 * 
+	 * @param reader What reads the records
+	 * @param max    The most records to read
+	 * @return The amount of records that were read
+	 */
+	public int drain(Reader reader, int max) {
+		long first = head.get();
+		long last = Math.min(tail.get(), first + max);
+		for (long record = first; record < last; record++) {
+			reader.read(values, (int) (record & mask) * width);
+		}
+		head.lazySet(last);
+		return (int) (last - first);
+	}
+
+	/**
+	 * Returns the amount of records that have been published but not read yet.
+	 * 
+	 * @return The amount of records
+	 */
+	public int size() {
+		return (int) (tail.get() - head.get());
+	}
+
+	/**
+	 * Returns the amount of records the ring can hold.
+	 * 
+	 * @return The capacity
+	 */
+	public int capacity() {
+		return mask + 1;
+	}
+}
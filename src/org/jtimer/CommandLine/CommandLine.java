@@ -1,11 +1,19 @@
 package org.jtimer.CommandLine;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 
 import org.jtimer.Runner;
 import org.jtimer.Annotations.DisplayName;
 import org.jtimer.Annotations.Time;
+import org.jtimer.Execution.ForkedJVM;
+import org.jtimer.Results.History;
+import org.jtimer.Results.SampleExport;
+import org.jtimer.Results.SampleExport.Format;
+import org.jtimer.Results.SampleStore;
 
 import javassist.ClassPool;
 import javassist.CtClass;
@@ -25,6 +33,26 @@ public class CommandLine {
 			if (args.length > cIndex+1) {
 				String name = getArgument(arguments, "-n", "compiledCode");
 				String repetitions =  getArgument(arguments, "-r", "100");
+				String forks = getArgument(arguments, "-f", "0");
+				String jvmArgs = getArgument(arguments, "-j", "");
+				Runner.setForks(Integer.parseInt(forks), jvmArgs.trim().isEmpty() ? new String[0] : jvmArgs.trim().split("\\s+"));
+				if (arguments.indexOf("-headless") != -1) {
+					Runner.setHeadless(true);
+				} else if (arguments.indexOf("-canvas") != -1) {
+					Runner.getGrapher().setCanvas(true);
+				}
+				String history = getArgument(arguments, "-history", "");
+				if (!history.isEmpty()) {
+					Runner.setHistory(new History(Paths.get(history)));
+				}
+				String export = getArgument(arguments, "-e", "");
+				if (!export.isEmpty()) {
+					Runner.addSink(new SampleExport(Paths.get(""), export.equals("jsonl") ? Format.JSON_LINES : Format.CSV));
+				}
+				String store = getArgument(arguments, "-store", "");
+				if (!store.isEmpty()) {
+					Runner.setStore(new SampleStore(Files.createDirectories(Paths.get(store))));
+				}
 				System.out.println("Running the supplied code...");
 				runCode(name, Integer.parseInt(repetitions), args[cIndex+1]);
 			} else {
@@ -40,6 +68,27 @@ public class CommandLine {
 			System.out.println();
 			System.out.println("	The -n argument allows you to specify that name of the legend item within the chart");
 			System.out.println("		Usage: -n \"{name}\" (Default \"compiledCode\")");
+			System.out.println();
+			System.out.println("	The -f argument allows you to specify how many separate JVMs to time the code in");
+			System.out.println("		Usage: -f {integer} (Default 0, which times it in this JVM)");
+			System.out.println();
+			System.out.println("	The -j argument allows you to specify the arguments of the separate JVMs");
+			System.out.println("		Usage: -j \"{arguments}\" (Default none)");
+			System.out.println();
+			System.out.println("	The -headless argument prints the results without graphing them, for when there's no display");
+			System.out.println("		Usage: -headless");
+			System.out.println();
+			System.out.println("	The -canvas argument draws the samples onto a canvas, which is smoother when there are a lot of them");
+			System.out.println("		Usage: -canvas");
+			System.out.println();
+			System.out.println("	The -e argument exports every sample to a file in the current directory as it's taken");
+			System.out.println("		Usage: -e {csv|jsonl} (Default none)");
+			System.out.println();
+			System.out.println("	The -history argument compares the code to the last time it was timed, and keeps its samples in a directory for next time");
+			System.out.println("		Usage: -history \"{directory}\" (Default none)");
+			System.out.println();
+			System.out.println("	The -store argument writes every sample to a binary file in a directory instead of keeping them in memory, for very long runs");
+			System.out.println("		Usage: -store \"{directory}\" (Default none)");
 		} else {
 			System.out.println("Try using the -help command to see the command line arguments!");
 		}
@@ -71,6 +120,10 @@ public class CommandLine {
 		attributes.addAnnotation(repe);
 
 		timeMethod.getMethodInfo().addAttribute(attributes);
+		Path classpath = Files.createTempDirectory("jtimer");
+		dummyClass.writeFile(classpath.toString()); // So that forked JVMs can load the supplied code too
+		ForkedJVM.addClasspath(classpath.toString());
+		dummyClass.defrost();
 		dummyClass.toClass();
 		dummyClass.defrost();
 
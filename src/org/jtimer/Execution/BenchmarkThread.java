@@ -0,0 +1,388 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Execution;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * A long-lived thread that all timed invocations of a run are handed to. Every
+ * {@link org.jtimer.Execution.BenchmarkThread benchmark thread} shares a single
+ * watchdog that arms a deadline before an invocation and disarms it afterwards,
+ * so there is no need to start a new thread (or two) for every repetition.
+ * <br>
+ * If a deadline fires the benchmark thread is interrupted, and if the method
+ * doesn't respond to that the thread is abandoned and a fresh one takes its
+ * place so that the run can continue.
+ * <br>
+ * The bytes the benchmark thread allocates and the CPU time it uses during each
+ * measurement are counted as well, see
+ * {@link BenchmarkThread#getAllocatedBytes() getAllocatedBytes} and
+ * {@link BenchmarkThread#getCpuTime() getCpuTime}, along with the
+ * {@link BenchmarkThread#getCollections() garbage collections} and
+ * {@link BenchmarkThread#getCompilationTime() JIT compilation} that happened
+ * meanwhile.
+ * 
+ * @author MagneticZero
+ */
+public class BenchmarkThread {
+
+	/**
+	 * The value returned by {@link BenchmarkThread#execute(Measurement, long)
+	 * execute} when the {@link BenchmarkThread.Measurement measurement} failed and
+	 * there is nothing to record.
+	 */
+	public static final long FAILED = -1;
+	/**
+	 * How long, in milliseconds, a timed out method is given to respond to its
+	 * interrupt before the thread is abandoned.
+	 */
+	private static final long GRACE = 10;
+	/**
+	 * The watchdog shared by every {@link org.jtimer.Execution.BenchmarkThread
+	 * benchmark thread}. Disarmed deadlines are removed right away so that they
+	 * don't pile up in the queue.
+	 */
+	private static final ScheduledThreadPoolExecutor watchdog = new ScheduledThreadPoolExecutor(1, daemon("JTimer Watchdog"));
+	/**
+	 * The executor that owns the actual thread.
+	 */
+	private ExecutorService executor = newExecutor();
+	/**
+	 * Where exceptions thrown by a {@link BenchmarkThread.Measurement measurement}
+	 * are sent.
+	 */
+	private Consumer<Throwable> exceptionHandler;
+	/**
+	 * The bytes allocated by the last {@link BenchmarkThread.Measurement
+	 * measurement}, or -1 if they aren't known.
+	 */
+	private volatile long allocated = -1;
+	/**
+	 * The CPU time of the last {@link BenchmarkThread.Measurement measurement},
+	 * or -1 if it isn't known.
+	 */
+	private volatile long cpuTime = -1;
+	/**
+	 * The user time of the last {@link BenchmarkThread.Measurement measurement},
+	 * or -1 if it isn't known.
+	 */
+	private volatile long userTime = -1;
+	/**
+	 * The garbage collections that happened during the last
+	 * {@link BenchmarkThread.Measurement measurement}.
+	 */
+	private volatile long collections;
+	/**
+	 * How long the garbage collections during the last
+	 * {@link BenchmarkThread.Measurement measurement} took, in milliseconds.
+	 */
+	private volatile long collectionTime;
+	/**
+	 * How long the JIT was compiling between the end of the measurement before
+	 * the last one and the end of the last one, in milliseconds.
+	 */
+	private volatile long compilationTime;
+	/**
+	 * The {@link Compilations#time() compilation time} at the end of the last
+	 * measurement that finished in time, only used by the thread that calls
+	 * {@link BenchmarkThread#execute(Measurement, long) execute}.
+	 */
+	private long compiled = -1;
+
+	static {
+		watchdog.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * Creates a {@link org.jtimer.Execution.BenchmarkThread benchmark thread} that
+	 * sends any exception a {@link BenchmarkThread.Measurement measurement} throws
+	 * to the exception handler.
+	 * 
+	 * @param exceptionHandler What to do with exceptions thrown by measurements
+	 */
+	public BenchmarkThread(Consumer<Throwable> exceptionHandler) {
+		this.exceptionHandler = exceptionHandler;
+	}
+
+	/**
+	 * Runs a {@link BenchmarkThread.Measurement measurement} on the benchmark
+	 * thread and waits for it to finish. If the timeout is reached before the
+	 * measurement finishes, then the benchmark thread is interrupted and the
+	 * timeout is returned instead.
+	 * 
+	 * @param measurement The measurement to run
+	 * @param timeout     The timeout, in nanoseconds, a negative timeout means
+	 *                    there is none
+	 * @return The value of the measurement, the timeout if it was reached, or
+	 *         {@link BenchmarkThread#FAILED FAILED} if the measurement threw an
+	 *         exception
+	 * @throws InterruptedException If the calling thread is interrupted while
+	 *                              waiting
+	 */
+	public long execute(Measurement measurement, long timeout) throws InterruptedException {
+		AtomicReference<Outcome> result = new AtomicReference<>();
+		CountDownLatch decided = new CountDownLatch(1);
+		CountDownLatch finished = new CountDownLatch(1);
+		Future<?> task = executor.submit(() -> {
+			try {
+				Outcome outcome = new Outcome();
+				long collectionsBefore = GarbageCollections.count();
+				long collectionTimeBefore = GarbageCollections.time();
+				long allocatedBefore = ThreadUsage.allocatedBytes();
+				long userBefore = ThreadUsage.userTime(); // The user time is slow to read on some systems, so the CPU time is read inside of it
+				long cpuBefore = ThreadUsage.cpuTime();
+				outcome.value = measurement.measure();
+				long cpuAfter = ThreadUsage.cpuTime();
+				long userAfter = ThreadUsage.userTime();
+				long allocatedAfter = ThreadUsage.allocatedBytes();
+				outcome.collections = GarbageCollections.count() - collectionsBefore;
+				outcome.collectionTime = GarbageCollections.time() - collectionTimeBefore;
+				outcome.compiled = Compilations.time();
+				if (allocatedBefore >= 0) {
+					outcome.allocated = allocatedAfter - allocatedBefore;
+				}
+				if (cpuBefore >= 0) {
+					outcome.cpuTime = cpuAfter - cpuBefore;
+					outcome.userTime = userAfter - userBefore;
+				}
+				if (result.compareAndSet(null, outcome)) { // Otherwise it timed out and the counters belong to nobody
+					decided.countDown();
+				}
+			} catch (Throwable e) {
+				if (result.compareAndSet(null, new Outcome(FAILED))) { // Exceptions caused by the timeout interrupting aren't interesting
+					decided.countDown();
+					exceptionHandler.accept(e);
+				}
+			} finally {
+				finished.countDown();
+			}
+		});
+		ScheduledFuture<?> deadline = null;
+		if (timeout >= 0) {
+			deadline = watchdog.schedule(() -> {
+				if (result.compareAndSet(null, new Outcome(timeout))) {
+					task.cancel(true);
+					decided.countDown();
+				}
+			}, timeout, TimeUnit.NANOSECONDS);
+		}
+		decided.await();
+		if (deadline != null) {
+			deadline.cancel(false);
+		}
+		if (!finished.await(GRACE, TimeUnit.MILLISECONDS)) { // The method ignored the interrupt, so leave it be
+			executor.shutdownNow();
+			executor = newExecutor();
+		}
+		Outcome outcome = result.get();
+		allocated = outcome.allocated;
+		cpuTime = outcome.cpuTime;
+		userTime = outcome.userTime;
+		collections = outcome.collections;
+		collectionTime = outcome.collectionTime;
+		compilationTime = outcome.compiled >= 0 && compiled >= 0 ? outcome.compiled - compiled : 0; // The JIT only counts a compilation once it's done, which can be a bit after the code changed
+		if (outcome.compiled >= 0) {
+			compiled = outcome.compiled;
+		}
+		return outcome.value;
+	}
+
+	/**
+	 * Returns how many bytes the benchmark thread allocated during the last
+	 * {@link BenchmarkThread#execute(Measurement, long) execute}. This is only
+	 * what the benchmark thread itself allocated, anything allocated by other
+	 * threads isn't included.
+	 * 
+	 * @return The allocated bytes, or -1 if they aren't known because the
+	 *         measurement timed out or failed, or the JVM can't count them
+	 */
+	public long getAllocatedBytes() {
+		return allocated;
+	}
+
+	/**
+	 * Returns the CPU time, in user mode and system mode together, that the
+	 * benchmark thread used during the last
+	 * {@link BenchmarkThread#execute(Measurement, long) execute}. Unlike the time
+	 * of the measurement, this doesn't include any time the thread spent waiting.
+	 * 
+	 * @return The CPU time, in nanoseconds, or -1 if it isn't known because the
+	 *         measurement timed out or failed, or the JVM can't measure it
+	 */
+	public long getCpuTime() {
+		return cpuTime;
+	}
+
+	/**
+	 * Returns the part of the {@link BenchmarkThread#getCpuTime() CPU time} that
+	 * was spent in user mode, the rest was spent in the system.
+	 * 
+	 * @return The user time, in nanoseconds, or -1 if it isn't known
+	 */
+	public long getUserTime() {
+		return userTime;
+	}
+
+	/**
+	 * Returns how many garbage collections happened during the last
+	 * {@link BenchmarkThread#execute(Measurement, long) execute}, by any thread.
+	 * 
+	 * @return The amount of collections, 0 if the measurement timed out or failed
+	 */
+	public long getCollections() {
+		return collections;
+	}
+
+	/**
+	 * Returns how long the {@link BenchmarkThread#getCollections() garbage
+	 * collections} during the last {@link BenchmarkThread#execute(Measurement,
+	 * long) execute} took.
+	 * 
+	 * @return The time of the collections, in milliseconds
+	 */
+	public long getCollectionTime() {
+		return collectionTime;
+	}
+
+	/**
+	 * Returns how long the JIT was compiling since the
+	 * {@link BenchmarkThread#execute(Measurement, long) execute} before the last
+	 * one, up until the end of the last one. This can be for any method, not just
+	 * the one being measured, and the JIT only counts a compilation once it's
+	 * done, so it's from the end of the one before and not from the start of the
+	 * last one.
+	 * 
+	 * @return The compilation time, in milliseconds, 0 if the measurement timed
+	 *         out or failed, or the JVM can't tell
+	 */
+	public long getCompilationTime() {
+		return compilationTime;
+	}
+
+	/**
+	 * Stops the benchmark thread, interrupting it if something is still running.
+	 */
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Creates the single thread executor backing a benchmark thread.
+	 * 
+	 * @return The executor
+	 */
+	private static ExecutorService newExecutor() {
+		return Executors.newSingleThreadExecutor(daemon("JTimer Benchmark"));
+	}
+
+	/**
+	 * Creates a {@link java.util.concurrent.ThreadFactory thread factory} for
+	 * daemon threads so that JTimer never keeps the JVM alive by itself.
+	 * 
+	 * @param name The name of the threads
+	 * @return The thread factory
+	 */
+	private static ThreadFactory daemon(String name) {
+		return runnable -> {
+			Thread thread = new Thread(runnable, name);
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * What came out of a single {@link BenchmarkThread#execute(Measurement, long)
+	 * execute}. Whoever decides it first, the measurement, its exception or the
+	 * timeout, gets to hand theirs back, and only then are the counters copied
+	 * over to the benchmark thread. That way a measurement that was abandoned and
+	 * finishes later on can't overwrite the counters of the one after it.
+	 */
+	private static class Outcome {
+		/**
+		 * The value of the measurement, the timeout or {@link BenchmarkThread#FAILED
+		 * FAILED}.
+		 */
+		private long value;
+		/**
+		 * The bytes allocated, or -1 if they aren't known.
+		 */
+		private long allocated = -1;
+		/**
+		 * The CPU time, or -1 if it isn't known.
+		 */
+		private long cpuTime = -1;
+		/**
+		 * The user time, or -1 if it isn't known.
+		 */
+		private long userTime = -1;
+		/**
+		 * The garbage collections that happened meanwhile.
+		 */
+		private long collections;
+		/**
+		 * How long the garbage collections took, in milliseconds.
+		 */
+		private long collectionTime;
+		/**
+		 * The {@link Compilations#time() compilation time} at the end, or -1 if the
+		 * measurement didn't finish.
+		 */
+		private long compiled = -1;
+
+		/**
+		 * Creates the outcome of a measurement that is still running.
+		 */
+		Outcome() {
+		}
+
+		/**
+		 * Creates the outcome of a measurement that timed out or failed, which has
+		 * none of the counters.
+		 * 
+		 * @param value The timeout or {@link BenchmarkThread#FAILED FAILED}
+		 */
+		Outcome(long value) {
+			this.value = value;
+		}
+	}
+
+	/**
+	 * Something that is measured on the benchmark thread, typically an invocation
+	 * of a timed method.
+	 */
+	public interface Measurement {
+		/**
+		 * Performs the measurement.
+		 * 
+		 * @return The measured value, typically in nanoseconds
+		 * @throws Throwable Anything the measured code throws
+		 */
+		public long measure() throws Throwable;
+	}
+}
@@ -0,0 +1,244 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Execution;
+
+import java.util.Arrays;
+
+import org.jtimer.Annotations.Time;
+import org.jtimer.Execution.BenchmarkThread.Measurement;
+
+/**
+ * Measures what JTimer itself costs, so that it can be taken out of every
+ * sample. This is done by timing an empty method through exactly the same path
+ * that every other {@link org.jtimer.Annotations.Time @Time} method goes
+ * through, and by measuring the smallest step that
+ * {@link java.lang.System#nanoTime() System.nanoTime()} can take. The bytes
+ * allocated and the CPU time used while timing the empty method are measured
+ * too, so that they can be taken out of what the timed methods allocate and
+ * use.
+ * 
+ * @author MagneticZero
+ */
+public class Calibration {
+
+	/**
+	 * The amount of samples taken of the empty method, and the amount of clock
+	 * steps measured.
+	 */
+	private static final int SAMPLES = 1000;
+	/**
+	 * The smallest step of the clock, in nanoseconds.
+	 */
+	private long granularity;
+	/**
+	 * The median time of the empty method, in nanoseconds.
+	 */
+	private long overhead;
+	/**
+	 * How much a time can differ from the {@link Calibration#overhead overhead}
+	 * and still just be noise, in nanoseconds.
+	 */
+	private long noiseFloor;
+	/**
+	 * The median bytes allocated while timing the empty method.
+	 */
+	private long allocation;
+	/**
+	 * The median CPU time used while timing the empty method, in nanoseconds.
+	 */
+	private long cpuOverhead;
+
+	/**
+	 * Calibrations made in this JVM should be created through
+	 * {@link org.jtimer.Execution.Calibration#calibrate(BenchmarkThread)
+	 * calibrate}.
+	 */
+	private Calibration() {
+	}
+
+	/**
+	 * Creates a calibration that was measured elsewhere, such as in a
+	 * {@link org.jtimer.Execution.ForkedJVM forked JVM}.
+	 * 
+	 * @param granularity The smallest step of the clock, in nanoseconds
+	 * @param overhead    The median time of the empty method, in nanoseconds
+	 * @param noiseFloor  The noise floor, in nanoseconds
+	 * @param allocation  The bytes allocated while timing the empty method
+	 * @param cpuOverhead The CPU time used while timing the empty method, in
+	 *                    nanoseconds
+	 */
+	Calibration(long granularity, long overhead, long noiseFloor, long allocation, long cpuOverhead) {
+		this.granularity = granularity;
+		this.overhead = overhead;
+		this.noiseFloor = noiseFloor;
+		this.allocation = allocation;
+		this.cpuOverhead = cpuOverhead;
+	}
+
+	/**
+	 * Calibrates JTimer by measuring the clock granularity and timing an empty
+	 * method on the {@link org.jtimer.Execution.BenchmarkThread benchmark thread}.
+	 * The empty method is warmed up first, then the median of the samples is the
+	 * overhead.
+	 * 
+	 * @param benchmark The benchmark thread to time the empty method on
+	 * @return The calibration
+	 * @throws ReflectiveOperationException If the empty method can't be compiled
+	 * @throws InterruptedException         If the calling thread is interrupted
+	 *                                      while waiting
+	 */
+	public static Calibration calibrate(BenchmarkThread benchmark) throws ReflectiveOperationException, InterruptedException {
+		Calibration calibration = new Calibration();
+		calibration.granularity = granularity();
+		ExecutionPlan plan = ExecutionPlan.compile(Baseline.class);
+		Measurement measurement = plan.getTimed()[0].measurement(plan.newInstance());
+		long[] samples = new long[SAMPLES];
+		long[] allocations = new long[SAMPLES];
+		long[] cpuTimes = new long[SAMPLES];
+		for (int i = 0; i < SAMPLES; i++) {
+			benchmark.execute(measurement, -1); // Warmup
+		}
+		for (int i = 0; i < SAMPLES; i++) {
+			samples[i] = benchmark.execute(measurement, -1);
+			allocations[i] = Math.max(0, benchmark.getAllocatedBytes());
+			cpuTimes[i] = Math.max(0, benchmark.getCpuTime());
+		}
+		Arrays.sort(samples);
+		Arrays.sort(allocations);
+		Arrays.sort(cpuTimes);
+		calibration.overhead = samples[SAMPLES / 2];
+		calibration.noiseFloor = Math.max(calibration.granularity, samples[SAMPLES * 9 / 10] - calibration.overhead);
+		calibration.allocation = allocations[SAMPLES / 2];
+		calibration.cpuOverhead = cpuTimes[SAMPLES / 2];
+		return calibration;
+	}
+
+	/**
+	 * Measures the smallest non-zero step between two reads of
+	 * {@link java.lang.System#nanoTime() System.nanoTime()}.
+	 * 
+	 * @return The granularity, in nanoseconds
+	 */
+	private static long granularity() {
+		long granularity = Long.MAX_VALUE;
+		for (int i = 0; i < SAMPLES; i++) {
+			long start = System.nanoTime();
+			long next;
+			while ((next = System.nanoTime()) == start) {
+				// Wait for the clock to tick
+			}
+			granularity = Math.min(granularity, next - start);
+		}
+		return granularity;
+	}
+
+	/**
+	 * Takes the {@link Calibration#getOverhead() overhead} out of a sample.
+	 * 
+	 * @param raw The sample, in nanoseconds
+	 * @return The corrected sample, never below 0
+	 */
+	public long correct(long raw) {
+		return Math.max(0, raw - overhead);
+	}
+
+	/**
+	 * Takes the {@link Calibration#getAllocation() allocation} of JTimer itself
+	 * out of the bytes allocated during a sample.
+	 * 
+	 * @param bytes The bytes allocated during the sample
+	 * @return The corrected bytes, never below 0
+	 */
+	public long correctAllocation(long bytes) {
+		return Math.max(0, bytes - allocation);
+	}
+
+	/**
+	 * Takes the {@link Calibration#getCpuOverhead() CPU overhead} out of the CPU
+	 * time of a sample.
+	 * 
+	 * @param cpuTime The CPU time of the sample, in nanoseconds
+	 * @return The corrected CPU time, never below 0
+	 */
+	public long correctCpuTime(long cpuTime) {
+		return Math.max(0, cpuTime - cpuOverhead);
+	}
+
+	/**
+	 * Returns the smallest step that the clock can take.
+	 * 
+	 * @return The granularity, in nanoseconds
+	 */
+	public long getGranularity() {
+		return granularity;
+	}
+
+	/**
+	 * Returns the median time it takes to time an empty method.
+	 * 
+	 * @return The overhead, in nanoseconds
+	 */
+	public long getOverhead() {
+		return overhead;
+	}
+
+	/**
+	 * Returns how large a corrected time has to be in order for it not to be just
+	 * noise. This is either the granularity of the clock or how much the empty
+	 * method's 90th percentile is above its median, whichever is larger.
+	 * 
+	 * @return The noise floor, in nanoseconds
+	 */
+	public long getNoiseFloor() {
+		return noiseFloor;
+	}
+
+	/**
+	 * Returns the median bytes allocated while timing an empty method, which is
+	 * what JTimer allocates by itself.
+	 * 
+	 * @return The allocation, in bytes
+	 */
+	public long getAllocation() {
+		return allocation;
+	}
+
+	/**
+	 * Returns the median CPU time used while timing an empty method.
+	 * 
+	 * @return The CPU overhead, in nanoseconds
+	 */
+	public long getCpuOverhead() {
+		return cpuOverhead;
+	}
+
+	/**
+	 * The class containing the empty method that is timed.
+	 */
+	static class Baseline {
+		/**
+		 * Does nothing, on purpose.
+		 */
+		@Time
+		void baseline() {
+			// Empty body
+		}
+	}
+}
@@ -0,0 +1,390 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Execution;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+
+import org.jtimer.Annotations.Precision;
+import org.jtimer.Collections.LongList;
+import org.jtimer.Execution.BenchmarkThread.Measurement;
+import org.jtimer.Misc.TimingMode;
+import org.jtimer.Statistics.Confidence;
+import org.jtimer.Statistics.SteadyState;
+
+/**
+ * Times all the methods of an {@link org.jtimer.Execution.ExecutionPlan
+ * execution plan} and hands the samples to a
+ * {@link org.jtimer.Execution.SampleListener sample listener}. This doesn't
+ * know anything about the {@link org.jtimer.Grapher grapher}, so that it can be
+ * used in a {@link org.jtimer.Execution.ForkedJVM forked JVM} just as well as
+ * by the {@link org.jtimer.Runner runner}.
+ * 
+ * @author MagneticZero
+ */
+public class ClassExecutor {
+
+	/**
+	 * The {@link org.jtimer.Execution.BenchmarkThread benchmark thread} that the
+	 * methods are executed on.
+	 */
+	private BenchmarkThread benchmark;
+	/**
+	 * Where the samples go.
+	 */
+	private SampleListener listener;
+	/**
+	 * The repetitions done so far, for the progress.
+	 */
+	private long times;
+
+	/**
+	 * Creates a class executor.
+	 * 
+	 * @param benchmark The {@link org.jtimer.Execution.BenchmarkThread benchmark
+	 *                  thread} to execute the methods on
+	 * @param listener  Where the samples go
+	 */
+	public ClassExecutor(BenchmarkThread benchmark, SampleListener listener) {
+		this.benchmark = benchmark;
+		this.listener = listener;
+	}
+
+	/**
+	 * Times a class. If the class has a
+	 * {@link org.jtimer.Annotations.Warmup @Warmup} then all methods with the
+	 * {@link org.jtimer.Annotations.Time @Time} will be executed a predefined
+	 * amount of times first. The order of operations is anything with a
+	 * {@link org.jtimer.Annotations.BeforeClass @BeforeClass} which is only once.
+	 * Then {@link org.jtimer.Annotations.Before @Before} is executed before each
+	 * {@link org.jtimer.Annotations.Time @Time}, just like JUnit
+	 * {@link org.jtimer.Annotations.Time @Time} will execute followed by
+	 * {@link org.jtimer.Annotations.After @After}. Lastly
+	 * {@link org.jtimer.Annotations.AfterClass @AfterClass} is executed after all
+	 * {@link org.jtimer.Annotations.Time @Time} have been executed. If the class
+	 * has a {@link org.jtimer.Annotations.Param @Param} then all of that happens
+	 * once for each of its values, on a new instance every time, and the x of
+	 * each sample is the value instead of the repetition.
+	 * 
+	 * @param plan The plan of the class to time
+	 * @throws ReflectiveOperationException If the class can't be instantiated, or
+	 *                                      an {@link java.lang.reflect.InvocationTargetException
+	 *                                      InvocationTargetException} if one of
+	 *                                      the methods around the timed methods
+	 *                                      throws an exception
+	 * @throws InterruptedException         If the calling thread is interrupted
+	 *                                      while waiting
+	 */
+	public void execute(ExecutionPlan plan) throws ReflectiveOperationException, InterruptedException {
+		Object warmupObject = plan.newInstance(); // So instance variables are left default
+		if (plan.hasParameter()) {
+			plan.setParameter(warmupObject, plan.getParameterValues()[0]);
+		}
+		warmup(plan, warmupObject);
+		times = 0;
+		if (!plan.hasParameter()) {
+			execute(plan, plan.newInstance(), 0);
+			return;
+		}
+		for (long value : plan.getParameterValues()) {
+			Object object = plan.newInstance();
+			plan.setParameter(object, value);
+			execute(plan, object, value);
+		}
+	}
+
+	/**
+	 * Times all the methods of a class once on an object, from the
+	 * {@link org.jtimer.Annotations.BeforeClass @BeforeClass} to the
+	 * {@link org.jtimer.Annotations.AfterClass @AfterClass}.
+	 * 
+	 * @param plan      The plan of the class to time
+	 * @param object    The object to time the methods on
+	 * @param parameter The value of the {@link org.jtimer.Annotations.Param
+	 *                  @Param}, which is used as the x of the samples. It's
+	 *                  ignored if the plan doesn't have one, since any long,
+	 *                  even a negative one, can be a value
+	 * @throws InvocationTargetException If one of the methods around the timed
+	 *                                   methods throws an exception
+	 * @throws InterruptedException      If the calling thread is interrupted while
+	 *                                   waiting
+	 */
+	private void execute(ExecutionPlan plan, Object object, long parameter) throws InvocationTargetException, InterruptedException {
+		plan.beforeClass(object);
+		for (TimedMethod method : plan.getTimed()) {
+			method.selectBatch(benchmark, object);
+			Measurement measurement = null;
+			PrecisionTarget target = method.getPrecision() != null ? new PrecisionTarget(method.getPrecision()) : null;
+			try {
+				for (int i = 1; i <= method.getRepeat(); i++) {
+					long x = plan.hasParameter() ? parameter : i;
+					measurement = measurement(method, object, measurement);
+					plan.before(object);
+					long nanos = benchmark.execute(measurement, method.getTimeout());
+					if (nanos != BenchmarkThread.FAILED) {
+						if (benchmark.getCompilationTime() > 0) {
+							listener.compiled(method, x, benchmark.getCompilationTime());
+						}
+						if (benchmark.getCollections() > 0) {
+							listener.collected(method, x, benchmark.getCollections(), benchmark.getCollectionTime());
+						}
+						listener.sample(method, x, nanos);
+						if (target != null) {
+							target.add(nanos);
+						}
+						long bytes = benchmark.getAllocatedBytes();
+						long cpuTime = benchmark.getCpuTime();
+						long userTime = benchmark.getUserTime();
+						if (measurement instanceof WorkerGroup) { // The threads do the work, not the benchmark thread
+							WorkerGroup group = (WorkerGroup) measurement;
+							boolean broken = group.isBroken();
+							if (!broken) {
+								listener.latencies(method, x, group.getLatencies());
+							}
+							bytes = !broken ? group.getAllocatedBytes() : -1;
+							cpuTime = !broken ? group.getCpuTime() : -1;
+							userTime = !broken ? group.getUserTime() : -1;
+						}
+						if (method.getMode() != TimingMode.THROUGHPUT) {
+							if (bytes >= 0) {
+								listener.allocated(method, x, bytes);
+							}
+							if (cpuTime >= 0) {
+								listener.cpuTime(method, x, cpuTime, userTime);
+							}
+						}
+					}
+					plan.after(object);
+					plan.setCounter(object, i);
+					times++;
+					boolean done = target != null && target.isReached(i);
+					if (done) {
+						times += method.getRepeat() - i; // The rest of the repetitions aren't needed
+					}
+					listener.progress((double) times / plan.getRepetitions(), false);
+					if (done) {
+						break;
+					}
+				}
+			} finally {
+				close(measurement);
+			}
+		}
+		plan.afterClass(object);
+	}
+
+	/**
+	 * Executed to warmup all the {@link java.lang.reflect.Method methods} and your
+	 * CPU, if you want. The class needs the
+	 * {@link org.jtimer.Annotations.Warmup @Warmup} annotation present in order for
+	 * this to be run. If present, it will run all
+	 * {@link org.jtimer.Annotations.Time @Time} annotated methods the defined
+	 * amount of times, or if the warmup is adaptive until the samples of each
+	 * method are {@link org.jtimer.Statistics.SteadyState steady}, and if it has a
+	 * quiet time until the JIT hasn't compiled anything for that long, or until
+	 * its time limit is up. How long each method took is handed to the
+	 * {@link org.jtimer.Execution.SampleListener#warmedUp(TimedMethod, long, long, boolean, long, boolean)
+	 * listener}. This also handles all the class static variables by keeping
+	 * track of them and resetting them after the warmup has been executed back to
+	 * the initial values. It basically does all the same things
+	 * {@link org.jtimer.Execution.ClassExecutor#execute(ExecutionPlan) execute}
+	 * does.
+	 * 
+	 * @param plan The {@link org.jtimer.Execution.ExecutionPlan plan} of the class
+	 * @param obj  The object to use
+	 * @throws IllegalAccessException    If a {@link java.lang.reflect.Field field}
+	 *                                   is not accessible
+	 * @throws InvocationTargetException If the {@link java.lang.reflect.Method
+	 *                                   method} called throws an exception
+	 * @throws InterruptedException      If the calling thread is interrupted while
+	 *                                   waiting
+	 */
+	private void warmup(ExecutionPlan plan, Object obj) throws IllegalAccessException, InvocationTargetException, InterruptedException {
+		boolean waits = plan.isAdaptiveWarmup() || plan.getWarmupQuiet() > 0; // If the warmup can go on past its iterations
+		if (plan.getWarmupIterations() > 0 || waits) {
+			HashMap<Field, Object> staticFieldValues = new HashMap<>(); // Since static fields are shared, we need to keep track of the values
+			for (Field field : obj.getClass().getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
+					field.setAccessible(true);
+					staticFieldValues.put(field, field.get(null));
+				}
+			}
+			plan.beforeClass(obj);
+			TimedMethod[] timed = plan.getTimed();
+			for (int m = 0; m < timed.length; m++) {
+				TimedMethod method = timed[m];
+				method.selectBatch(benchmark, obj);
+				SteadyState steadyState = new SteadyState(plan.getWarmupWindow(), plan.getWarmupThreshold());
+				Measurement measurement = null;
+				long startTime = System.nanoTime();
+				long elapsed = 0;
+				long quietSince = 0; // The elapsed time at which the JIT last compiled something
+				long compilation = 0;
+				long i = 0;
+				try {
+					while (i < plan.getWarmupIterations() || (waiting(plan, steadyState, elapsed - quietSince) && elapsed < plan.getWarmupTime())) {
+						measurement = measurement(method, obj, measurement);
+						plan.before(obj);
+						plan.setCounter(obj, (int) i);
+						long sample = benchmark.execute(measurement, method.getTimeout());
+						if (sample != BenchmarkThread.FAILED) {
+							steadyState.add(sample);
+						}
+						plan.after(obj);
+						i++;
+						elapsed = System.nanoTime() - startTime;
+						if (benchmark.getCompilationTime() > 0) {
+							compilation += benchmark.getCompilationTime();
+							quietSince = elapsed;
+						}
+						double done = waits ? (double) elapsed / plan.getWarmupTime() : (double) i / plan.getWarmupIterations(); // A warmup that waits can only tell how close it is to its time limit
+						listener.progress((m + Math.min(1, done)) / timed.length, true);
+					}
+				} finally {
+					close(measurement);
+				}
+				listener.warmedUp(method, i, elapsed, steadyState.isSteady(), compilation, plan.getWarmupQuiet() <= 0 || elapsed - quietSince >= plan.getWarmupQuiet());
+			}
+			plan.afterClass(obj);
+			for (Field field : staticFieldValues.keySet()) {
+				field.set(null, staticFieldValues.get(field)); // Reset all static values
+			}
+		}
+	}
+
+	/**
+	 * Tells if the warmup of a method still has to wait on something, which is
+	 * the samples being steady for an adaptive warmup and the JIT being quiet for
+	 * a warmup with a quiet time.
+	 * 
+	 * @param plan        The {@link org.jtimer.Execution.ExecutionPlan plan} of
+	 *                    the class
+	 * @param steadyState The samples of the warmup so far
+	 * @param quiet       How long the JIT hasn't compiled anything, in nanoseconds
+	 * @return If the warmup should keep going
+	 */
+	private static boolean waiting(ExecutionPlan plan, SteadyState steadyState, long quiet) {
+		return (plan.isAdaptiveWarmup() && !steadyState.isSteady()) || quiet < plan.getWarmupQuiet();
+	}
+
+	/**
+	 * Returns what times a single repetition of a method. For most methods this is
+	 * the same {@link BenchmarkThread.Measurement measurement} every time, but a
+	 * {@link org.jtimer.Annotations.Threads @Threads} method gets a new
+	 * {@link org.jtimer.Execution.WorkerGroup worker group} whenever the last one
+	 * broke because it timed out.
+	 * 
+	 * @param method  The method being timed
+	 * @param obj     The object to invoke the method on
+	 * @param current What timed the previous repetition, null if there wasn't one
+	 * @return What times the next repetition
+	 */
+	private static Measurement measurement(TimedMethod method, Object obj, Measurement current) {
+		if (!method.isContended()) {
+			return current != null ? current : method.measurement(obj);
+		}
+		if (current instanceof WorkerGroup && !((WorkerGroup) current).isBroken()) {
+			return current;
+		}
+		close(current);
+		return method.workers(obj);
+	}
+
+	/**
+	 * Tells when a {@link org.jtimer.Annotations.Precision @Precision} method has
+	 * been repeated enough. The confidence interval isn't checked after every
+	 * sample, since that would mean going through all the samples every time,
+	 * but after every twentieth more samples or so.
+	 */
+	private static class PrecisionTarget {
+		/**
+		 * The precision of the method.
+		 */
+		private Precision precision;
+		/**
+		 * The samples so far.
+		 */
+		private LongList samples = new LongList();
+		/**
+		 * When the method started being repeated, from
+		 * {@link java.lang.System#nanoTime() nanoTime}.
+		 */
+		private long startTime = System.nanoTime();
+		/**
+		 * The amount of samples at which the interval is checked next.
+		 */
+		private int nextCheck;
+
+		/**
+		 * Starts tracking the precision of a method.
+		 * 
+		 * @param precision The precision to reach
+		 */
+		PrecisionTarget(Precision precision) {
+			this.precision = precision;
+			this.nextCheck = Math.max(2, precision.min());
+		}
+
+		/**
+		 * Adds a sample.
+		 * 
+		 * @param sample The sample
+		 */
+		void add(long sample) {
+			samples.add(sample);
+		}
+
+		/**
+		 * Tells if the method doesn't need to be repeated anymore, either because the
+		 * confidence interval is narrow enough or because the time budget is used
+		 * up. This is never true before the least amount of repetitions.
+		 * 
+		 * @param repetitions The repetitions so far
+		 * @return If the method has been repeated enough
+		 */
+		boolean isReached(int repetitions) {
+			if (repetitions < precision.min()) {
+				return false;
+			}
+			if (System.nanoTime() - startTime >= precision.budget()) {
+				return true;
+			}
+			if (samples.size() < nextCheck) {
+				return false;
+			}
+			nextCheck = samples.size() + Math.max(1, samples.size() / 20);
+			return Confidence.relativeHalfWidth(samples.toArray(), precision.confidence(), precision.median()) <= precision.value();
+		}
+	}
+
+	/**
+	 * Stops the threads of a {@link org.jtimer.Execution.WorkerGroup worker group},
+	 * anything else is left alone.
+	 * 
+	 * @param measurement What timed the method
+	 */
+	private static void close(Measurement measurement) {
+		if (measurement instanceof WorkerGroup) {
+			((WorkerGroup) measurement).close();
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Execution;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Keeps track of how much the JIT has been compiling, so that samples taken
+ * while the JIT was busy can be told apart and the warmup can wait for it to be
+ * done. The JIT compiles on threads of its own, so this is for the whole JVM.
+ * 
+ * @author MagneticZero
+ */
+final class Compilations {
+
+	/**
+	 * The compilation bean, or null if the JVM doesn't have a JIT or can't tell
+	 * how long it has been compiling.
+	 */
+	private static final CompilationMXBean compiler = compiler();
+
+	/**
+	 * Since everything is static there is no need to be able to instantiate a new
+	 * instance of {@link org.jtimer.Execution.Compilations Compilations}.
+	 */
+	private Compilations() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Gets the compilation bean if it can be used.
+	 * 
+	 * @return The compilation bean, or null
+	 */
+	private static CompilationMXBean compiler() {
+		CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+		return compiler != null && compiler.isCompilationTimeMonitoringSupported() ? compiler : null;
+	}
+
+	/**
+	 * Returns how long the JIT has been compiling since the JVM started. Only the
+	 * difference between two of these means anything.
+	 * 
+	 * @return The compilation time, in milliseconds, or -1 if it isn't known
+	 */
+	static long time() {
+		return compiler != null ? compiler.getTotalCompilationTime() : -1;
+	}
+}
@@ -0,0 +1,566 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Execution;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jtimer.Annotations.After;
+import org.jtimer.Annotations.AfterClass;
+import org.jtimer.Annotations.Before;
+import org.jtimer.Annotations.BeforeClass;
+import org.jtimer.Annotations.Fork;
+import org.jtimer.Annotations.Param;
+import org.jtimer.Annotations.Settings;
+import org.jtimer.Annotations.Threads;
+import org.jtimer.Annotations.Time;
+import org.jtimer.Annotations.Warmup;
+import org.jtimer.Annotations.Handler.AnnotationHandler;
+import org.jtimer.Collections.AnnotationMap;
+import org.jtimer.Misc.Setting;
+
+/**
+ * Everything the {@link org.jtimer.Runner runner} needs to know about a class,
+ * resolved once before anything is timed. All the annotations are read and all
+ * the {@link org.jtimer.Annotations.BeforeClass @BeforeClass},
+ * {@link org.jtimer.Annotations.Before @Before},
+ * {@link org.jtimer.Annotations.Time @Time},
+ * {@link org.jtimer.Annotations.After @After} and
+ * {@link org.jtimer.Annotations.AfterClass @AfterClass} methods are turned into
+ * {@link java.lang.invoke.MethodHandle method handles}, so that the timing loop
+ * doesn't have to do any reflection.
+ * 
+ * @author MagneticZero
+ */
+public class ExecutionPlan {
+
+	/**
+	 * The type that all method handles are adapted to, (Object)void.
+	 */
+	private static final MethodType INVOKER = MethodType.methodType(void.class, Object.class);
+	/**
+	 * The class this plan was compiled for.
+	 */
+	private Class<?> cls;
+	/**
+	 * The no argument constructor of the class.
+	 */
+	private Constructor<?> constructor;
+	/**
+	 * The {@link org.jtimer.Annotations.BeforeClass @BeforeClass} methods.
+	 */
+	private MethodHandle[] beforeClass;
+	/**
+	 * The {@link org.jtimer.Annotations.Before @Before} methods.
+	 */
+	private MethodHandle[] before;
+	/**
+	 * The {@link org.jtimer.Annotations.Time @Time} methods, a method with a
+	 * {@link org.jtimer.Annotations.Threads @Threads} is in here once for each
+	 * amount of threads.
+	 */
+	private TimedMethod[] timed;
+	/**
+	 * The {@link org.jtimer.Annotations.After @After} methods.
+	 */
+	private MethodHandle[] after;
+	/**
+	 * The {@link org.jtimer.Annotations.AfterClass @AfterClass} methods.
+	 */
+	private MethodHandle[] afterClass;
+	/**
+	 * The setter for the counter field, it has the type (Object, int)void. If the
+	 * class doesn't have a counter field then this is null.
+	 */
+	private MethodHandle counter;
+	/**
+	 * The setter for the {@link org.jtimer.Annotations.Param @Param} field, it has
+	 * the type (Object, long)void. If the class doesn't have one then this is null.
+	 */
+	private MethodHandle parameter;
+	/**
+	 * The name of the {@link org.jtimer.Annotations.Param @Param} field.
+	 */
+	private String parameterName;
+	/**
+	 * The values of the {@link org.jtimer.Annotations.Param @Param} field, empty
+	 * if the class doesn't have one.
+	 */
+	private long[] parameterValues = new long[0];
+	/**
+	 * The total amount of repetitions of all {@link org.jtimer.Annotations.Time
+	 * @Time} methods, for every value of the {@link org.jtimer.Annotations.Param
+	 * @Param}.
+	 */
+	private long repetitions;
+	/**
+	 * The iterations of the {@link org.jtimer.Annotations.Warmup @Warmup}, or 0 if
+	 * the class doesn't have one.
+	 */
+	private int warmupIterations;
+	/**
+	 * If the {@link org.jtimer.Annotations.Warmup @Warmup} keeps going until the
+	 * samples are steady.
+	 */
+	private boolean adaptiveWarmup;
+	/**
+	 * The amount of samples that have to be steady for the warmup to be.
+	 */
+	private int warmupWindow = 20;
+	/**
+	 * The largest variation and trend that count as steady.
+	 */
+	private double warmupThreshold = 0.05;
+	/**
+	 * The longest an adaptive warmup will take per method, in nanoseconds.
+	 */
+	private long warmupTime;
+	/**
+	 * How long the JIT has to be quiet for the warmup of a method to be over, in
+	 * nanoseconds, 0 if it isn't waited on.
+	 */
+	private long warmupQuiet;
+	/**
+	 * The {@link org.jtimer.Misc.Setting settings} of the class.
+	 */
+	private Setting[] settings;
+	/**
+	 * The amount of {@link org.jtimer.Annotations.Fork forks} of the class, or -1
+	 * if the class doesn't have a {@link org.jtimer.Annotations.Fork @Fork}.
+	 */
+	private int forks;
+	/**
+	 * The arguments given to each {@link org.jtimer.Annotations.Fork fork}.
+	 */
+	private String[] jvmArgs;
+
+	/**
+	 * Plans should be created through
+	 * {@link org.jtimer.Execution.ExecutionPlan#compile(Class) compile}.
+	 */
+	private ExecutionPlan() {
+	}
+
+	/**
+	 * Compiles the plan for a class by resolving all of its annotated methods.
+	 * 
+	 * @param cls The class to compile
+	 * @return The plan for the class
+	 * @throws ReflectiveOperationException If the class doesn't have a no argument
+	 *                                      constructor or something can't be
+	 *                                      accessed
+	 * @throws IllegalArgumentException     If the class has more than one
+	 *                                      {@link org.jtimer.Annotations.Param
+	 *                                      @Param}, it's on something that isn't
+	 *                                      an int or a long, or it has a value
+	 *                                      that doesn't fit in its field, or if
+	 *                                      the class has a counter that can't
+	 *                                      hold an int
+	 */
+	public static ExecutionPlan compile(Class<?> cls) throws ReflectiveOperationException {
+		ExecutionPlan plan = new ExecutionPlan();
+		plan.cls = cls;
+		plan.constructor = cls.getDeclaredConstructor(); // This is to access any protected classes
+		plan.constructor.setAccessible(true);            //
+		AnnotationMap<Method> methods = new AnnotationMap<>();
+		List<TimedMethod> timed = new ArrayList<>();
+		for (Method method : cls.getDeclaredMethods()) {
+			AnnotationHandler handler = new AnnotationHandler(method);
+			methods.put(handler.getAnnotations(), method);
+			if (handler.isAnnotationPresent(Time.class)) {
+				int[] threads = handler.isAnnotationPresent(Threads.class) ? handler.getAnnotation(Threads.class).value() : new int[] { 1 };
+				for (int amount : threads) { // Each amount of threads is timed like a method of its own
+					TimedMethod timedMethod = new TimedMethod(method, handler, amount);
+					timed.add(timedMethod);
+					plan.repetitions += timedMethod.getRepeat();
+				}
+			}
+		}
+		plan.beforeClass = unreflect(methods.get(BeforeClass.class));
+		plan.before = unreflect(methods.get(Before.class));
+		plan.timed = timed.toArray(new TimedMethod[timed.size()]);
+		plan.after = unreflect(methods.get(After.class));
+		plan.afterClass = unreflect(methods.get(AfterClass.class));
+		if (Arrays.stream(cls.getDeclaredFields()).anyMatch(field -> field.getName().equals("counter"))) {
+			Field counter = cls.getDeclaredField("counter");
+			counter.setAccessible(true);
+			MethodHandle setter = MethodHandles.lookup().unreflectSetter(counter);
+			if (Modifier.isStatic(counter.getModifiers())) {
+				setter = MethodHandles.dropArguments(setter, 0, Object.class);
+			}
+			try { // The same conversions as Field.set with an int, so an Integer or a long counter is fine but a byte isn't
+				plan.counter = setter.asType(MethodType.methodType(void.class, Object.class, int.class));
+			} catch (WrongMethodTypeException e) {
+				throw new IllegalArgumentException("The counter of " + cls.getName() + " can't hold an int, it's a " + counter.getType().getSimpleName());
+			}
+		}
+		for (Field field : cls.getDeclaredFields()) {
+			if (field.isAnnotationPresent(Param.class)) {
+				if (plan.parameter != null) {
+					throw new IllegalArgumentException(cls.getName() + " has more than one @Param, only one is supported");
+				}
+				if (field.getType() != int.class && field.getType() != long.class) {
+					throw new IllegalArgumentException("@Param " + field.getName() + " has to be an int or a long");
+				}
+				field.setAccessible(true);
+				MethodHandle setter = MethodHandles.lookup().unreflectSetter(field);
+				if (Modifier.isStatic(field.getModifiers())) {
+					setter = MethodHandles.dropArguments(setter, 0, Object.class);
+				}
+				plan.parameter = MethodHandles.explicitCastArguments(setter, MethodType.methodType(void.class, Object.class, long.class));
+				plan.parameterName = field.getName();
+				plan.parameterValues = values(field.getAnnotation(Param.class));
+				if (field.getType() == int.class && Arrays.stream(plan.parameterValues).anyMatch(value -> value != (int) value)) { // The setter would cut them down without saying anything
+					throw new IllegalArgumentException("@Param " + field.getName() + " is an int, but has values that don't fit in one");
+				}
+				plan.repetitions *= plan.parameterValues.length;
+			}
+		}
+		AnnotationHandler clsHandler = new AnnotationHandler(cls);
+		plan.warmupIterations = clsHandler.isAnnotationPresent(Warmup.class) ? clsHandler.getAnnotation(Warmup.class).iterations() : 0;
+		if (clsHandler.isAnnotationPresent(Warmup.class)) {
+			Warmup warmup = clsHandler.getAnnotation(Warmup.class);
+			plan.adaptiveWarmup = warmup.adaptive();
+			plan.warmupWindow = warmup.window();
+			plan.warmupThreshold = warmup.threshold();
+			plan.warmupTime = warmup.maxTime();
+			plan.warmupQuiet = warmup.quiet();
+		}
+		plan.settings = clsHandler.isAnnotationPresent(Settings.class) ? clsHandler.getAnnotation(Settings.class).value() : new Setting[0];
+		plan.forks = clsHandler.isAnnotationPresent(Fork.class) ? clsHandler.getAnnotation(Fork.class).value() : -1;
+		plan.jvmArgs = clsHandler.isAnnotationPresent(Fork.class) ? clsHandler.getAnnotation(Fork.class).jvmArgs() : new String[0];
+		return plan;
+	}
+
+	/**
+	 * Returns the values of a {@link org.jtimer.Annotations.Param @Param}, which
+	 * are either the ones it has or the range it describes.
+	 * 
+	 * @param param The annotation
+	 * @return The values
+	 * @throws IllegalArgumentException If the range would never end or is empty
+	 */
+	static long[] values(Param param) {
+		if (param.value().length > 0) {
+			return param.value().clone();
+		}
+		if (param.from() < 1 || param.factor() <= 1 || param.to() < param.from()) {
+			throw new IllegalArgumentException("@Param needs from >= 1, to >= from and factor > 1, or explicit values");
+		}
+		List<Long> values = new ArrayList<>();
+		for (long value = param.from(); value <= param.to(); value = Math.max(value + 1, Math.round(value * param.factor()))) { // A small factor still has to move on
+			values.add(value);
+			if (value == Long.MAX_VALUE) { // There's nothing after it, and the next one would wrap around
+				break;
+			}
+		}
+		return values.stream().mapToLong(Long::longValue).toArray();
+	}
+
+	/**
+	 * Creates a {@link java.lang.invoke.MethodHandle handle} of the type
+	 * (Object)void for a method, regardless of what it returns or if it is static.
+	 * 
+	 * @param method The method
+	 * @return The method handle
+	 * @throws IllegalAccessException If the method cannot be accessed
+	 */
+	static MethodHandle unreflect(Method method) throws IllegalAccessException {
+		method.setAccessible(true);
+		MethodHandle handle = MethodHandles.lookup().unreflect(method);
+		if (Modifier.isStatic(method.getModifiers())) {
+			handle = MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+		return handle.asType(INVOKER);
+	}
+
+	/**
+	 * Creates {@link java.lang.invoke.MethodHandle handles} for a list of methods.
+	 * 
+	 * @param methods The methods
+	 * @return The method handles
+	 * @throws IllegalAccessException If a method cannot be accessed
+	 */
+	private static MethodHandle[] unreflect(List<Method> methods) throws IllegalAccessException {
+		MethodHandle[] handles = new MethodHandle[methods.size()];
+		for (int i = 0; i < handles.length; i++) {
+			handles[i] = unreflect(methods.get(i));
+		}
+		return handles;
+	}
+
+	/**
+	 * Invokes all handles on an object. If one of the methods throws anything it
+	 * will be wrapped in an {@link java.lang.reflect.InvocationTargetException
+	 * InvocationTargetException}, just like reflection would.
+	 * 
+	 * @param handles The handles to invoke
+	 * @param obj     The object to invoke them on
+	 * @throws InvocationTargetException If a method throws an exception
+	 */
+	private static void invoke(MethodHandle[] handles, Object obj) throws InvocationTargetException {
+		for (MethodHandle handle : handles) {
+			try {
+				handle.invokeExact(obj);
+			} catch (Throwable e) {
+				throw new InvocationTargetException(e);
+			}
+		}
+	}
+
+	/**
+	 * Creates a new instance of the class.
+	 * 
+	 * @return The new instance
+	 * @throws ReflectiveOperationException If the class can't be instantiated
+	 */
+	public Object newInstance() throws ReflectiveOperationException {
+		return constructor.newInstance();
+	}
+
+	/**
+	 * Invokes all {@link org.jtimer.Annotations.BeforeClass @BeforeClass}
+	 * methods.
+	 * 
+	 * @param obj The object to invoke them on
+	 * @throws InvocationTargetException If a method throws an exception
+	 */
+	public void beforeClass(Object obj) throws InvocationTargetException {
+		invoke(beforeClass, obj);
+	}
+
+	/**
+	 * Invokes all {@link org.jtimer.Annotations.Before @Before} methods.
+	 * 
+	 * @param obj The object to invoke them on
+	 * @throws InvocationTargetException If a method throws an exception
+	 */
+	public void before(Object obj) throws InvocationTargetException {
+		invoke(before, obj);
+	}
+
+	/**
+	 * Invokes all {@link org.jtimer.Annotations.After @After} methods.
+	 * 
+	 * @param obj The object to invoke them on
+	 * @throws InvocationTargetException If a method throws an exception
+	 */
+	public void after(Object obj) throws InvocationTargetException {
+		invoke(after, obj);
+	}
+
+	/**
+	 * Invokes all {@link org.jtimer.Annotations.AfterClass @AfterClass} methods.
+	 * 
+	 * @param obj The object to invoke them on
+	 * @throws InvocationTargetException If a method throws an exception
+	 */
+	public void afterClass(Object obj) throws InvocationTargetException {
+		invoke(afterClass, obj);
+	}
+
+	/**
+	 * Sets the counter field of an object, if the class has one.
+	 * 
+	 * @param obj   The object to set the counter of
+	 * @param value The value of the counter
+	 */
+	public void setCounter(Object obj, int value) {
+		if (counter != null) {
+			try {
+				counter.invokeExact(obj, value);
+			} catch (Throwable e) {
+				// Setting a field doesn't throw anything
+			}
+		}
+	}
+
+	/**
+	 * Sets the {@link org.jtimer.Annotations.Param @Param} field of an object, if
+	 * the class has one.
+	 * 
+	 * @param obj   The object to set the field of
+	 * @param value The value of the field
+	 */
+	public void setParameter(Object obj, long value) {
+		if (parameter != null) {
+			try {
+				parameter.invokeExact(obj, value);
+			} catch (Throwable e) {
+				// Setting a field doesn't throw anything
+			}
+		}
+	}
+
+	/**
+	 * Tells if the class has a {@link org.jtimer.Annotations.Param @Param} field.
+	 * 
+	 * @return Whether or not the class has a parameter
+	 */
+	public boolean hasParameter() {
+		return parameter != null;
+	}
+
+	/**
+	 * Returns the name of the {@link org.jtimer.Annotations.Param @Param} field.
+	 * 
+	 * @return The name of the field, null if there isn't one
+	 */
+	public String getParameterName() {
+		return parameterName;
+	}
+
+	/**
+	 * Returns the values the {@link org.jtimer.Annotations.Param @Param} field is
+	 * set to, in the order they're timed in.
+	 * 
+	 * @return The values, empty if there isn't a parameter
+	 */
+	public long[] getParameterValues() {
+		return parameterValues;
+	}
+
+	/**
+	 * Returns the class this plan was compiled for.
+	 * 
+	 * @return The class
+	 */
+	public Class<?> getPlannedClass() {
+		return cls;
+	}
+
+	/**
+	 * Returns the {@link org.jtimer.Annotations.Time @Time} methods of the class.
+	 * 
+	 * @return The timed methods
+	 */
+	public TimedMethod[] getTimed() {
+		return timed;
+	}
+
+	/**
+	 * Returns the total amount of repetitions of all
+	 * {@link org.jtimer.Annotations.Time @Time} methods.
+	 * 
+	 * @return The total repetitions
+	 */
+	public long getRepetitions() {
+		return repetitions;
+	}
+
+	/**
+	 * Returns the iterations of the {@link org.jtimer.Annotations.Warmup @Warmup}.
+	 * 
+	 * @return The warmup iterations, 0 if there is no warmup
+	 */
+	public int getWarmupIterations() {
+		return warmupIterations;
+	}
+
+	/**
+	 * Tells if the {@link org.jtimer.Annotations.Warmup @Warmup} keeps going until
+	 * the samples are steady, in which case the
+	 * {@link ExecutionPlan#getWarmupIterations() iterations} are the least amount.
+	 * 
+	 * @return If the warmup is adaptive
+	 */
+	public boolean isAdaptiveWarmup() {
+		return adaptiveWarmup;
+	}
+
+	/**
+	 * Returns the amount of most recent samples that have to be steady for the
+	 * warmup to be.
+	 * 
+	 * @return The size of the window
+	 */
+	public int getWarmupWindow() {
+		return warmupWindow;
+	}
+
+	/**
+	 * Returns the largest coefficient of variation and relative trend that count
+	 * as steady.
+	 * 
+	 * @return The threshold
+	 */
+	public double getWarmupThreshold() {
+		return warmupThreshold;
+	}
+
+	/**
+	 * Returns the longest an adaptive warmup will take per method.
+	 * 
+	 * @return The time limit, in nanoseconds
+	 */
+	public long getWarmupTime() {
+		return warmupTime;
+	}
+
+	/**
+	 * Returns how long the JIT has to have not compiled anything for the warmup
+	 * of a method to be over.
+	 * 
+	 * @return The quiet time, in nanoseconds, 0 if the JIT isn't waited on
+	 */
+	public long getWarmupQuiet() {
+		return warmupQuiet;
+	}
+
+	/**
+	 * Returns the amount of JVMs the class should be timed in.
+	 * 
+	 * @return The amount of {@link org.jtimer.Annotations.Fork forks}, or -1 if
+	 *         the class doesn't have a {@link org.jtimer.Annotations.Fork @Fork}
+	 */
+	public int getForks() {
+		return forks;
+	}
+
+	/**
+	 * Returns the arguments given to each JVM the class is timed in.
+	 * 
+	 * @return The JVM arguments
+	 */
+	public String[] getJvmArgs() {
+		return jvmArgs;
+	}
+
+	/**
+	 * Tells if the class has a {@link org.jtimer.Misc.Setting setting} in its
+	 * {@link org.jtimer.Annotations.Settings @Settings}.
+	 * 
+	 * @param setting The setting to check for
+	 * @return Whether or not the setting is present
+	 */
+	public boolean hasSetting(Setting setting) {
+		return Arrays.stream(settings).anyMatch(x -> x.equals(setting));
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Execution;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.ProcessBuilder.Redirect;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Times a class in a JVM of its own. The {@link org.jtimer.Runner runner} calls
+ * {@link org.jtimer.Execution.ForkedJVM#fork(ExecutionPlan, String[], SampleListener)
+ * fork}, which starts a new JVM with this class as its main class. That JVM
+ * times the class with a {@link org.jtimer.Execution.ClassExecutor class
+ * executor} and writes everything it measures to its standard output, one line
+ * at a time, which is read back and handed to a
+ * {@link org.jtimer.Execution.SampleListener sample listener}. Anything the
+ * class itself prints goes to the standard error instead, which is shared with
+ * this JVM.
+ * 
+ * @author MagneticZero
+ */
+public class ForkedJVM {
+
+	/**
+	 * Classpath entries that forked JVMs should see before the classpath of this
+	 * JVM.
+	 */
+	private static List<String> classpath = new LinkedList<>();
+
+	/**
+	 * Since everything is static there is no need to be able to instantiate a new
+	 * instance of {@link org.jtimer.Execution.ForkedJVM ForkedJVM}.
+	 */
+	private ForkedJVM() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Adds an entry to the front of the classpath of forked JVMs. This is needed
+	 * for classes that were changed after they were compiled, since a forked JVM
+	 * loads classes from the classpath and not from this JVM.
+	 * 
+	 * @param path The directory or jar to add
+	 */
+	public static void addClasspath(String path) {
+		classpath.add(0, path);
+	}
+
+	/**
+	 * Times the class of a plan in a new JVM and waits for it to finish. The
+	 * methods of the plan are used to know which method each sample belongs to.
+	 * 
+	 * @param plan     The plan of the class to time
+	 * @param jvmArgs  The arguments given to the new JVM
+	 * @param listener Where the samples of the new JVM go
+	 * @throws IOException          If the JVM couldn't be started, or didn't
+	 *                              finish properly
+	 * @throws InterruptedException If the calling thread is interrupted while
+	 *                              waiting
+	 */
+	public static void fork(ExecutionPlan plan, String[] jvmArgs, SampleListener listener) throws IOException, InterruptedException {
+		TimedMethod[] methods = plan.getTimed(); // Samples refer to methods by their index, since a method can be timed with several amounts of threads
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(Arrays.asList(jvmArgs));
+		command.add("-cp");
+		command.add(String.join(File.pathSeparator, classpath) + File.pathSeparator + System.getProperty("java.class.path"));
+		command.add(ForkedJVM.class.getName());
+		command.add(plan.getPlannedClass().getName());
+		Process process = new ProcessBuilder(command).redirectError(Redirect.INHERIT).start();
+		int exit;
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] parts = line.split(" ");
+				switch (parts[0]) {
+				case "calibration":
+					listener.calibrated(new Calibration(Long.parseLong(parts[1]), Long.parseLong(parts[2]), Long.parseLong(parts[3]), Long.parseLong(parts[4]), Long.parseLong(parts[5])));
+					break;
+				case "jit":
+					listener.compiled(methods[Integer.parseInt(parts[1])], Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+					break;
+				case "gc":
+					listener.collected(methods[Integer.parseInt(parts[1])], Long.parseLong(parts[2]), Long.parseLong(parts[3]), Long.parseLong(parts[4]));
+					break;
+				case "sample":
+					TimedMethod method = methods[Integer.parseInt(parts[1])];
+					method.setOperations(Integer.parseInt(parts[4]));
+					listener.sample(method, Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+					break;
+				case "latencies":
+					long[] latencies = new long[parts.length - 3];
+					for (int i = 0; i < latencies.length; i++) {
+						latencies[i] = Long.parseLong(parts[i + 3]);
+					}
+					listener.latencies(methods[Integer.parseInt(parts[1])], Long.parseLong(parts[2]), latencies);
+					break;
+				case "allocated":
+					listener.allocated(methods[Integer.parseInt(parts[1])], Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+					break;
+				case "cpu":
+					listener.cpuTime(methods[Integer.parseInt(parts[1])], Long.parseLong(parts[2]), Long.parseLong(parts[3]), Long.parseLong(parts[4]));
+					break;
+				case "warmup":
+					listener.warmedUp(methods[Integer.parseInt(parts[1])], Long.parseLong(parts[2]), Long.parseLong(parts[3]), Boolean.parseBoolean(parts[4]), Long.parseLong(parts[5]), Boolean.parseBoolean(parts[6]));
+					break;
+				case "progress":
+					listener.progress(Double.parseDouble(parts[1]), Boolean.parseBoolean(parts[2]));
+					break;
+				default:
+					break; // Unknown lines are ignored
+				}
+			}
+			exit = process.waitFor();
+		} finally {
+			if (process.isAlive()) { // Something went wrong before it could exit by itself
+				process.destroyForcibly();
+			}
+		}
+		if (exit != 0) {
+			throw new IOException("The forked JVM timing " + plan.getPlannedClass().getName() + " exited with code " + exit);
+		}
+	}
+
+	/**
+	 * The main method of a forked JVM. This times the class given as the only
+	 * argument and writes the results to the standard output.
+	 * 
+	 * @param args The name of the class to time
+	 * @throws IOException If the standard output can't be written to
+	 */
+	public static void main(String[] args) throws IOException {
+		PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)), false, "UTF-8");
+		System.setOut(System.err); // So that anything the class prints isn't mistaken for a sample
+		BenchmarkThread benchmark = new BenchmarkThread(e -> e.printStackTrace());
+		int exit = 0;
+		try {
+			ExecutionPlan plan = ExecutionPlan.compile(Class.forName(args[0]));
+			List<TimedMethod> methods = Arrays.asList(plan.getTimed());
+			Calibration calibration = Calibration.calibrate(benchmark);
+			out.println("calibration " + calibration.getGranularity() + " " + calibration.getOverhead() + " " + calibration.getNoiseFloor() + " " + calibration.getAllocation() + " " + calibration.getCpuOverhead());
+			new ClassExecutor(benchmark, new SampleListener() {
+				private double reported = -1;
+
+				@Override
+				public void compiled(TimedMethod method, long x, long millis) {
+					out.println("jit " + methods.indexOf(method) + " " + x + " " + millis);
+				}
+
+				@Override
+				public void collected(TimedMethod method, long x, long collections, long millis) {
+					out.println("gc " + methods.indexOf(method) + " " + x + " " + collections + " " + millis);
+				}
+
+				@Override
+				public void sample(TimedMethod method, long x, long nanos) {
+					out.println("sample " + methods.indexOf(method) + " " + x + " " + nanos + " " + method.getOperations());
+				}
+
+				@Override
+				public void latencies(TimedMethod method, long x, long[] latencies) {
+					StringBuilder line = new StringBuilder("latencies " + methods.indexOf(method) + " " + x);
+					for (long latency : latencies) {
+						line.append(' ').append(latency);
+					}
+					out.println(line);
+				}
+
+				@Override
+				public void allocated(TimedMethod method, long x, long bytes) {
+					out.println("allocated " + methods.indexOf(method) + " " + x + " " + bytes);
+				}
+
+				@Override
+				public void cpuTime(TimedMethod method, long x, long cpuTime, long userTime) {
+					out.println("cpu " + methods.indexOf(method) + " " + x + " " + cpuTime + " " + userTime);
+				}
+
+				@Override
+				public void warmedUp(TimedMethod method, long iterations, long nanos, boolean steady, long compilation, boolean quiet) {
+					out.println("warmup " + methods.indexOf(method) + " " + iterations + " " + nanos + " " + steady + " " + compilation + " " + quiet);
+				}
+
+				@Override
+				public void progress(double progress, boolean warmup) {
+					if (Math.abs(progress - reported) >= 0.001 || progress >= 1) { // No need to send every single repetition
+						reported = progress;
+						out.println("progress " + progress + " " + warmup);
+						out.flush();
+					}
+				}
+			}).execute(plan);
+		} catch (InvocationTargetException e) {
+			e.getCause().printStackTrace();
+			exit = 1;
+		} catch (Exception e) {
+			e.printStackTrace();
+			exit = 1;
+		} finally {
+			benchmark.shutdown();
+			out.flush();
+		}
+		System.exit(exit);
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Execution;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Counts the garbage collections of the whole JVM, so that a sample can tell
+ * if a collection happened while it was being taken. The counts of the
+ * {@link java.lang.management.GarbageCollectorMXBean collector beans} are
+ * updated as soon as a collection is over, unlike their notifications which
+ * are sent a while later from another thread, so reading them before and after
+ * a sample is exact.
+ * 
+ * @author MagneticZero
+ */
+final class GarbageCollections {
+
+	/**
+	 * The beans of every collector in the JVM.
+	 */
+	private static final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+	/**
+	 * Since everything is static there is no need to be able to instantiate a new
+	 * instance of {@link org.jtimer.Execution.GarbageCollections
+	 * GarbageCollections}.
+	 */
+	private GarbageCollections() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Returns how many collections there have been since the JVM started, by all
+	 * collectors together.
+	 * 
+	 * @return The amount of collections
+	 */
+	static long count() {
+		long count = 0;
+		for (GarbageCollectorMXBean collector : collectors) {
+			count += Math.max(0, collector.getCollectionCount()); // -1 if the collector doesn't know
+		}
+		return count;
+	}
+
+	/**
+	 * Returns how long all collections have taken since the JVM started, by all
+	 * collectors together.
+	 * 
+	 * @return The time of the collections, in milliseconds
+	 */
+	static long time() {
+		long time = 0;
+		for (GarbageCollectorMXBean collector : collectors) {
+			time += Math.max(0, collector.getCollectionTime());
+		}
+		return time;
+	}
+}
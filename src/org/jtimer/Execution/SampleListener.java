@@ -0,0 +1,230 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Execution;
+
+/**
+ * Receives everything a {@link org.jtimer.Execution.ClassExecutor class
+ * executor} measures. This is how samples get from wherever a class was timed,
+ * whether that's this JVM or a {@link org.jtimer.Execution.ForkedJVM forked}
+ * one, to the {@link org.jtimer.Grapher grapher} and the
+ * {@link org.jtimer.Results.ResultSink result sinks}.
+ * 
+ * @author MagneticZero
+ */
+public interface SampleListener {
+	/**
+	 * Called with the {@link org.jtimer.Execution.Calibration calibration} of the
+	 * JVM that the following samples were taken in.
+	 * 
+	 * @param calibration The calibration
+	 */
+	public default void calibrated(Calibration calibration) {
+		// Nothing by default
+	}
+
+	/**
+	 * Called for every sample of a {@link org.jtimer.Execution.TimedMethod
+	 * method}, not including the warmup.
+	 * 
+	 * @param method The method that was timed
+	 * @param x      The repetition of the sample
+	 * @param nanos  The raw time of the sample, in nanoseconds. If the method has
+	 *               a {@link org.jtimer.Annotations.Batch @Batch} then this is
+	 *               the time of the whole batch, and if it is timed in
+	 *               {@link org.jtimer.Misc.TimingMode#THROUGHPUT THROUGHPUT}
+	 *               mode then this is the invocations per second of a window
+	 */
+	public void sample(TimedMethod method, long x, long nanos);
+
+	/**
+	 * Called right before a {@link SampleListener#sample(TimedMethod, long, long)
+	 * sample} if the JIT finished compiling something since the sample before it,
+	 * which means that the code being timed may have changed along the way.
+	 * 
+	 * @param method The method that was timed
+	 * @param x      The repetition of the sample
+	 * @param millis How long the JIT was compiling, in milliseconds
+	 */
+	public default void compiled(TimedMethod method, long x, long millis) {
+		// Nothing by default
+	}
+
+	/**
+	 * Called right before a {@link SampleListener#sample(TimedMethod, long, long)
+	 * sample} if there was a garbage collection while it was being taken, which
+	 * probably made it slower than the rest.
+	 * 
+	 * @param method      The method that was timed
+	 * @param x           The repetition of the sample
+	 * @param collections The amount of collections
+	 * @param millis      How long the collections took, in milliseconds
+	 */
+	public default void collected(TimedMethod method, long x, long collections, long millis) {
+		// Nothing by default
+	}
+
+	/**
+	 * Called after a sample of a {@link org.jtimer.Annotations.Threads @Threads}
+	 * method with the time each thread took on its own. The sample itself is the
+	 * time until the last thread was done.
+	 * 
+	 * @param method    The method that was timed
+	 * @param x         The repetition of the sample
+	 * @param latencies The raw time of each thread, in nanoseconds
+	 */
+	public default void latencies(TimedMethod method, long x, long[] latencies) {
+		// Nothing by default
+	}
+
+	/**
+	 * Called after a sample with the bytes that were allocated while taking it.
+	 * This isn't called for {@link org.jtimer.Misc.TimingMode#THROUGHPUT
+	 * THROUGHPUT} methods, or if the JVM can't count allocations.
+	 * 
+	 * @param method The method that was timed
+	 * @param x      The repetition of the sample
+	 * @param bytes  The raw bytes allocated during the sample, by all threads if
+	 *               the method has {@link org.jtimer.Annotations.Threads
+	 *               @Threads} and for the whole batch if it has a
+	 *               {@link org.jtimer.Annotations.Batch @Batch}
+	 */
+	public default void allocated(TimedMethod method, long x, long bytes) {
+		// Nothing by default
+	}
+
+	/**
+	 * Called after a sample with the CPU time that was used while taking it, the
+	 * rest of the time of the sample was spent waiting. This isn't called for
+	 * {@link org.jtimer.Misc.TimingMode#THROUGHPUT THROUGHPUT} methods, or if the
+	 * JVM can't measure CPU time.
+	 * 
+	 * @param method   The method that was timed
+	 * @param x        The repetition of the sample
+	 * @param cpuTime  The raw CPU time of the sample in user mode and system mode
+	 *                 together, in nanoseconds, of all threads if the method has
+	 *                 {@link org.jtimer.Annotations.Threads @Threads}
+	 * @param userTime The part of the CPU time spent in user mode, in nanoseconds
+	 */
+	public default void cpuTime(TimedMethod method, long x, long cpuTime, long userTime) {
+		// Nothing by default
+	}
+
+	/**
+	 * Called once the {@link org.jtimer.Annotations.Warmup @Warmup} of a method
+	 * is over.
+	 * 
+	 * @param method      The method that was warmed up
+	 * @param iterations  The amount of iterations of the warmup
+	 * @param nanos       How long the warmup took, in nanoseconds
+	 * @param steady      If the samples were steady by the end of the warmup
+	 * @param compilation How long the JIT was compiling during the warmup, in
+	 *                    milliseconds
+	 * @param quiet       If the JIT had been quiet for long enough by the end of
+	 *                    the warmup, always true if the warmup doesn't wait on the
+	 *                    JIT
+	 */
+	public default void warmedUp(TimedMethod method, long iterations, long nanos, boolean steady, long compilation, boolean quiet) {
+		// Nothing by default
+	}
+
+	/**
+	 * Called after every repetition, including the warmup.
+	 * 
+	 * @param progress The progress that has been completed, between 0 and 1
+	 * @param warmup   If this is the progress of the warmup
+	 */
+	public void progress(double progress, boolean warmup);
+
+	/**
+	 * Creates a listener that hands everything it receives to each of the given
+	 * listeners, in order. This is how the samples of a class get to the
+	 * {@link org.jtimer.Results.ResultSink result sinks} as well as the
+	 * {@link org.jtimer.Grapher grapher}.
+	 * 
+	 * @param listeners The listeners
+	 * @return The listener
+	 */
+	public static SampleListener of(SampleListener... listeners) {
+		return new SampleListener() {
+			@Override
+			public void calibrated(Calibration calibration) {
+				for (SampleListener listener : listeners) {
+					listener.calibrated(calibration);
+				}
+			}
+
+			@Override
+			public void sample(TimedMethod method, long x, long nanos) {
+				for (SampleListener listener : listeners) {
+					listener.sample(method, x, nanos);
+				}
+			}
+
+			@Override
+			public void compiled(TimedMethod method, long x, long millis) {
+				for (SampleListener listener : listeners) {
+					listener.compiled(method, x, millis);
+				}
+			}
+
+			@Override
+			public void collected(TimedMethod method, long x, long collections, long millis) {
+				for (SampleListener listener : listeners) {
+					listener.collected(method, x, collections, millis);
+				}
+			}
+
+			@Override
+			public void latencies(TimedMethod method, long x, long[] latencies) {
+				for (SampleListener listener : listeners) {
+					listener.latencies(method, x, latencies);
+				}
+			}
+
+			@Override
+			public void allocated(TimedMethod method, long x, long bytes) {
+				for (SampleListener listener : listeners) {
+					listener.allocated(method, x, bytes);
+				}
+			}
+
+			@Override
+			public void cpuTime(TimedMethod method, long x, long cpuTime, long userTime) {
+				for (SampleListener listener : listeners) {
+					listener.cpuTime(method, x, cpuTime, userTime);
+				}
+			}
+
+			@Override
+			public void warmedUp(TimedMethod method, long iterations, long nanos, boolean steady, long compilation, boolean quiet) {
+				for (SampleListener listener : listeners) {
+					listener.warmedUp(method, iterations, nanos, steady, compilation, quiet);
+				}
+			}
+
+			@Override
+			public void progress(double progress, boolean warmup) {
+				for (SampleListener listener : listeners) {
+					listener.progress(progress, warmup);
+				}
+			}
+		};
+	}
+}
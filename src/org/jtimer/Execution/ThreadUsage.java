@@ -0,0 +1,123 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Execution;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads what a thread has used so far, straight from the JVM. Counting the
+ * allocated bytes needs the {@link com.sun.management.ThreadMXBean
+ * ThreadMXBean} of HotSpot, and the CPU time needs a JVM and OS that can
+ * measure it, anything the JVM can't do here is just -1.
+ * 
+ * @author MagneticZero
+ */
+final class ThreadUsage {
+
+	/**
+	 * The thread bean.
+	 */
+	private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+	/**
+	 * If the JVM can count the bytes a thread allocated.
+	 */
+	private static final boolean allocation = enableAllocation();
+	/**
+	 * If the JVM can measure the CPU time of the current thread.
+	 */
+	private static final boolean cpu = enableCpuTime();
+
+	/**
+	 * Since everything is static there is no need to be able to instantiate a new
+	 * instance of {@link org.jtimer.Execution.ThreadUsage ThreadUsage}.
+	 */
+	private ThreadUsage() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Turns on the allocation counting, which some JVMs have off by default.
+	 * 
+	 * @return If allocations can be counted
+	 */
+	private static boolean enableAllocation() {
+		if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+			return false;
+		}
+		try {
+			com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+			if (hotspot.isThreadAllocatedMemorySupported()) {
+				hotspot.setThreadAllocatedMemoryEnabled(true);
+				return true;
+			}
+		} catch (UnsupportedOperationException | SecurityException e) {
+			// Can't be counted then
+		}
+		return false;
+	}
+
+	/**
+	 * Turns on the CPU time measurement, which some JVMs have off by default.
+	 * 
+	 * @return If the CPU time of the current thread can be measured
+	 */
+	private static boolean enableCpuTime() {
+		try {
+			if (threads.isCurrentThreadCpuTimeSupported()) {
+				threads.setThreadCpuTimeEnabled(true);
+				return true;
+			}
+		} catch (UnsupportedOperationException | SecurityException e) {
+			// Can't be measured then
+		}
+		return false;
+	}
+
+	/**
+	 * Returns how many bytes the current thread has allocated since it started.
+	 * Only the difference between two of these means anything.
+	 * 
+	 * @return The allocated bytes, or -1 if they can't be counted
+	 */
+	static long allocatedBytes() {
+		return allocation ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+	}
+
+	/**
+	 * Returns the CPU time the current thread has used, in user mode and system
+	 * mode together. Only the difference between two of these means anything.
+	 * 
+	 * @return The CPU time, in nanoseconds, or -1 if it can't be measured
+	 */
+	static long cpuTime() {
+		return cpu ? threads.getCurrentThreadCpuTime() : -1;
+	}
+
+	/**
+	 * Returns the CPU time the current thread has used in user mode. Only the
+	 * difference between two of these means anything.
+	 * 
+	 * @return The user time, in nanoseconds, or -1 if it can't be measured
+	 */
+	static long userTime() {
+		return cpu ? threads.getCurrentThreadUserTime() : -1;
+	}
+}
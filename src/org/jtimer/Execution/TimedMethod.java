@@ -0,0 +1,496 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Execution;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.jtimer.Annotations.Batch;
+import org.jtimer.Annotations.DisplayName;
+import org.jtimer.Annotations.Mode;
+import org.jtimer.Annotations.Precision;
+import org.jtimer.Annotations.Threads;
+import org.jtimer.Annotations.Time;
+import org.jtimer.Annotations.Handler.AnnotationHandler;
+import org.jtimer.Execution.BenchmarkThread.Measurement;
+import org.jtimer.Misc.Blackhole;
+import org.jtimer.Misc.TimingMode;
+
+/**
+ * A {@link org.jtimer.Annotations.Time @Time} method that has been resolved
+ * once by an {@link org.jtimer.Execution.ExecutionPlan execution plan}, so that
+ * nothing has to be looked up while the method is being timed. Whatever the
+ * method returns goes into a {@link org.jtimer.Misc.Blackhole blackhole}, and
+ * if the method takes a blackhole it gets the same one.
+ * 
+ * @author MagneticZero
+ */
+public class TimedMethod {
+
+	/**
+	 * The largest batch that will be picked automatically.
+	 */
+	private static final int MAX_BATCH = 1 << 24;
+	/**
+	 * The {@link java.lang.reflect.Method method} this was resolved from.
+	 */
+	private Method method;
+	/**
+	 * The name used in the legend of the graph.
+	 */
+	private String name;
+	/**
+	 * The {@link org.jtimer.Annotations.DisplayName @DisplayName} of the method,
+	 * or its capitalized name.
+	 */
+	private String displayName;
+	/**
+	 * The type of {@link TimedMethod#sink sink}, (Object, Blackhole)void.
+	 */
+	private static final MethodType SINK = MethodType.methodType(void.class, Object.class, Blackhole.class);
+	/**
+	 * The {@link java.lang.invoke.MethodHandle handle} that invokes the method
+	 * and consumes what it returns, this has the type (Object, Blackhole)void.
+	 */
+	private MethodHandle sink;
+	/**
+	 * The {@link TimedMethod#sink sink} bound to a
+	 * {@link org.jtimer.Misc.Blackhole blackhole} of its own, this has the type
+	 * (Object)void.
+	 */
+	private MethodHandle handle;
+	/**
+	 * The amount of times that the method will be repeated, or the most it will
+	 * be repeated if it has a {@link org.jtimer.Annotations.Precision @Precision}.
+	 */
+	private int repeat;
+	/**
+	 * The {@link org.jtimer.Annotations.Precision @Precision} of the method, null
+	 * if it doesn't have one.
+	 */
+	private Precision precision;
+	/**
+	 * The timeout in nanoseconds, negative if there is none.
+	 */
+	private long timeout;
+	/**
+	 * The amount of invocations per sample, 1 unless the method has a
+	 * {@link org.jtimer.Annotations.Batch @Batch}, and 0 while an automatic batch
+	 * hasn't been picked yet.
+	 */
+	private int operations = 1;
+	/**
+	 * How long, in nanoseconds, an automatically sized batch should take.
+	 */
+	private long target;
+	/**
+	 * If the batch is sized automatically, in which case it's picked again for
+	 * every value of a {@link org.jtimer.Annotations.Param @Param}.
+	 */
+	private boolean automatic;
+	/**
+	 * The amount of threads that invoke the method at once.
+	 */
+	private int threads = 1;
+	/**
+	 * If the method has a {@link org.jtimer.Annotations.Threads @Threads}, in
+	 * which case it is always invoked by a
+	 * {@link org.jtimer.Execution.WorkerGroup worker group}.
+	 */
+	private boolean contended;
+	/**
+	 * How the method is timed.
+	 */
+	private TimingMode mode = TimingMode.SAMPLE;
+	/**
+	 * The length of a window in {@link org.jtimer.Misc.TimingMode#THROUGHPUT
+	 * THROUGHPUT} mode, in nanoseconds.
+	 */
+	private long window;
+
+	/**
+	 * Resolves a {@link org.jtimer.Annotations.Time @Time} method.
+	 * 
+	 * @param method  The {@link java.lang.reflect.Method method} to resolve
+	 * @param handler The {@link org.jtimer.Annotations.Handler.AnnotationHandler
+	 *                annotation handler} of the method
+	 * @param threads The amount of threads that invoke the method at once, this
+	 *                is ignored if the method doesn't have a
+	 *                {@link org.jtimer.Annotations.Threads @Threads}
+	 * @throws ReflectiveOperationException If the method cannot be accessed
+	 * @throws IllegalArgumentException     If the method takes anything other
+	 *                                      than a
+	 *                                      {@link org.jtimer.Misc.Blackhole
+	 *                                      blackhole}
+	 */
+	TimedMethod(Method method, AnnotationHandler handler, int threads) throws ReflectiveOperationException {
+		this.method = method;
+		if (handler.isAnnotationPresent(DisplayName.class)) {
+			displayName = handler.getAnnotation(DisplayName.class).value();
+		} else {
+			displayName = method.getName().substring(0, 1).toUpperCase() + method.getName().substring(1);
+		}
+		name = displayName;
+		if (handler.isAnnotationPresent(Threads.class)) {
+			this.threads = Math.max(1, threads);
+			contended = true;
+			name += " (" + this.threads + (this.threads == 1 ? " thread)" : " threads)");
+		}
+		sink = sink(method);
+		handle = bind(new Blackhole());
+		repeat = handler.getAnnotation(Time.class).repeat();
+		timeout = handler.getAnnotation(Time.class).timeout();
+		if (handler.isAnnotationPresent(Precision.class)) {
+			precision = handler.getAnnotation(Precision.class);
+			repeat = Math.max(precision.min(), precision.max());
+		}
+		if (handler.isAnnotationPresent(Mode.class) && !contended) {
+			mode = handler.getAnnotation(Mode.class).value();
+			window = handler.getAnnotation(Mode.class).window();
+		}
+		if (handler.isAnnotationPresent(Batch.class)) {
+			operations = Math.max(0, handler.getAnnotation(Batch.class).value());
+			target = handler.getAnnotation(Batch.class).target();
+		} else if (mode == TimingMode.THROUGHPUT) { // Reading the clock after every invocation would slow down fast methods
+			operations = 0;
+			target = window / 100;
+		}
+		automatic = operations == 0;
+	}
+
+	/**
+	 * Creates the {@link java.lang.invoke.MethodHandle handle} of the type
+	 * (Object, Blackhole)void that invokes a method and hands whatever it returns
+	 * to the {@link org.jtimer.Misc.Blackhole blackhole}. The blackhole is also
+	 * passed to the method if it takes one.
+	 * 
+	 * @param method The method
+	 * @return The method handle
+	 * @throws ReflectiveOperationException If the method cannot be accessed
+	 * @throws IllegalArgumentException     If the method takes anything other
+	 *                                      than a blackhole
+	 */
+	private static MethodHandle sink(Method method) throws ReflectiveOperationException {
+		Class<?>[] parameters = method.getParameterTypes();
+		if (parameters.length > 1 || (parameters.length == 1 && parameters[0] != Blackhole.class)) {
+			throw new IllegalArgumentException("@Time method " + method.getName() + " can't take anything other than a Blackhole");
+		}
+		method.setAccessible(true);
+		MethodHandle handle = MethodHandles.lookup().unreflect(method);
+		if (Modifier.isStatic(method.getModifiers())) {
+			handle = MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+		if (parameters.length == 0) {
+			handle = MethodHandles.dropArguments(handle, 1, Blackhole.class);
+		}
+		Class<?> returned = method.getReturnType();
+		if (returned == void.class) {
+			return handle.asType(SINK);
+		}
+		Class<?> consumed = !returned.isPrimitive() ? Object.class : returned == byte.class || returned == short.class || returned == char.class ? int.class : returned;
+		MethodHandle consume = MethodHandles.lookup().findVirtual(Blackhole.class, "consume", MethodType.methodType(void.class, consumed));
+		consume = consume.asType(MethodType.methodType(void.class, Blackhole.class, returned));
+		handle = MethodHandles.collectArguments(consume, 1, handle.asType(SINK.changeReturnType(returned))); // (Blackhole, Object, Blackhole)void
+		return MethodHandles.permuteArguments(handle, SINK, 1, 0, 1);
+	}
+
+	/**
+	 * Binds the {@link TimedMethod#sink sink} to a blackhole, which gives a
+	 * {@link java.lang.invoke.MethodHandle handle} of the type (Object)void.
+	 * 
+	 * @param blackhole The blackhole
+	 * @return The method handle
+	 */
+	private MethodHandle bind(Blackhole blackhole) {
+		return MethodHandles.insertArguments(sink, 1, blackhole);
+	}
+
+	/**
+	 * Picks the size of an automatic {@link org.jtimer.Annotations.Batch @Batch}
+	 * by doubling it until a batch takes at least the target duration. This does
+	 * nothing if the method has a fixed batch size, an automatic one is picked
+	 * again every time since the method can get slower with the input size.
+	 * 
+	 * @param benchmark The {@link org.jtimer.Execution.BenchmarkThread benchmark
+	 *                  thread} to run the batches on
+	 * @param obj       The object to invoke the method on
+	 * @throws InterruptedException If the calling thread is interrupted while
+	 *                              waiting
+	 */
+	public void selectBatch(BenchmarkThread benchmark, Object obj) throws InterruptedException {
+		if (automatic) {
+			MethodHandle handle = this.handle;
+			benchmark.execute(() -> time(handle, obj, 1), timeout); // The first invocation links the handle, which can take longer than the target
+			int batch = 1;
+			while (batch < MAX_BATCH) {
+				int size = batch;
+				long elapsed = benchmark.execute(() -> time(handle, obj, size), timeout);
+				if (elapsed == BenchmarkThread.FAILED || elapsed >= target) {
+					break;
+				}
+				batch *= 2;
+			}
+			operations = batch;
+		}
+	}
+
+	/**
+	 * Creates the {@link BenchmarkThread.Measurement measurement} that times a
+	 * single sample of this method on the given object. If the method has a
+	 * {@link org.jtimer.Annotations.Batch @Batch} the sample is a whole batch, use
+	 * {@link TimedMethod#perOperation(long) perOperation} to get the time per
+	 * invocation. In {@link org.jtimer.Misc.TimingMode#THROUGHPUT THROUGHPUT}
+	 * mode the sample is the invocations per second of a whole window instead.
+	 * The measurement is meant to be created once and reused for every
+	 * repetition.
+	 * 
+	 * @param obj The object to invoke the method on
+	 * @return The measurement
+	 */
+	public Measurement measurement(Object obj) {
+		MethodHandle handle = this.handle;
+		if (mode == TimingMode.THROUGHPUT) {
+			return () -> throughput(handle, obj, operations, window);
+		}
+		return () -> time(handle, obj, operations);
+	}
+
+	/**
+	 * Creates the {@link org.jtimer.Execution.WorkerGroup worker group} that
+	 * invokes this method from all of its threads at once. Just like a
+	 * {@link TimedMethod#measurement(Object) measurement} it is meant to be
+	 * created once and reused for every repetition, and it has to be
+	 * {@link org.jtimer.Execution.WorkerGroup#close() closed} afterwards. Each
+	 * thread gets a {@link org.jtimer.Misc.Blackhole blackhole} of its own, so
+	 * that they aren't contending for it.
+	 * 
+	 * @param obj The object to invoke the method on
+	 * @return The worker group
+	 */
+	public WorkerGroup workers(Object obj) {
+		MethodHandle[] handles = new MethodHandle[threads];
+		for (int i = 0; i < threads; i++) {
+			handles[i] = bind(new Blackhole());
+		}
+		return new WorkerGroup(handles, obj, operations);
+	}
+
+	/**
+	 * Converts the time of a sample into the time per invocation.
+	 * 
+	 * @param nanos The time of the sample, in nanoseconds
+	 * @return The time per invocation, in nanoseconds
+	 */
+	public long perOperation(long nanos) {
+		return perOperation(nanos, operations);
+	}
+
+	/**
+	 * Converts the time of a sample into the time per invocation.
+	 * 
+	 * @param nanos      The time of the sample, in nanoseconds
+	 * @param operations The invocations per sample
+	 * @return The time per invocation, in nanoseconds
+	 */
+	public static long perOperation(long nanos, int operations) {
+		if (operations <= 1) {
+			return nanos;
+		}
+		return (nanos + operations / 2) / operations;
+	}
+
+	/**
+	 * Times a batch of invocations. Anything thrown by the method is ignored and
+	 * results in {@link BenchmarkThread#FAILED FAILED}.
+	 * 
+	 * @param handle     The handle of the method
+	 * @param obj        The object to invoke the method on
+	 * @param operations The amount of invocations
+	 * @return The time all invocations took, in nanoseconds
+	 */
+	static long time(MethodHandle handle, Object obj, int operations) {
+		try {
+			long startTime = System.nanoTime();
+			for (int i = 0; i < operations; i++) {
+				handle.invokeExact(obj);
+			}
+			return System.nanoTime() - startTime;
+		} catch (Throwable e) {
+			return BenchmarkThread.FAILED;
+		}
+	}
+
+	/**
+	 * Invokes a method in batches until a window of time has passed. The window
+	 * usually runs over by a bit since the clock is only read between batches,
+	 * but that doesn't matter since the throughput is taken from how long it
+	 * actually took. Anything thrown by the method is ignored and results in
+	 * {@link BenchmarkThread#FAILED FAILED}.
+	 * 
+	 * @param handle     The handle of the method
+	 * @param obj        The object to invoke the method on
+	 * @param operations The invocations per batch
+	 * @param window     The window, in nanoseconds
+	 * @return The invocations per second
+	 */
+	private static long throughput(MethodHandle handle, Object obj, int operations, long window) {
+		try {
+			long invocations = 0;
+			long elapsed;
+			long startTime = System.nanoTime();
+			do {
+				for (int i = 0; i < operations; i++) {
+					handle.invokeExact(obj);
+				}
+				invocations += operations;
+				elapsed = System.nanoTime() - startTime;
+			} while (elapsed < window);
+			return Math.round(invocations * 1e9 / elapsed);
+		} catch (Throwable e) {
+			return BenchmarkThread.FAILED;
+		}
+	}
+
+	/**
+	 * Returns the {@link java.lang.reflect.Method method} this was resolved from.
+	 * 
+	 * @return The method
+	 */
+	public Method getMethod() {
+		return method;
+	}
+
+	/**
+	 * Returns the name used in the legend of the graph, this is the
+	 * {@link TimedMethod#getDisplayName() display name} followed by the amount of
+	 * threads if the method has a {@link org.jtimer.Annotations.Threads @Threads}.
+	 * 
+	 * @return The name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns either the {@link org.jtimer.Annotations.DisplayName @DisplayName}
+	 * or the capitalized method name.
+	 * 
+	 * @return The display name
+	 */
+	public String getDisplayName() {
+		return displayName;
+	}
+
+	/**
+	 * Returns the amount of times that the method will be repeated. If the
+	 * method has a {@link org.jtimer.Annotations.Precision @Precision} then this
+	 * is the most it will be repeated.
+	 * 
+	 * @return The repetitions
+	 */
+	public int getRepeat() {
+		return repeat;
+	}
+
+	/**
+	 * Returns the {@link org.jtimer.Annotations.Precision @Precision} that decides
+	 * when the method has been repeated enough.
+	 * 
+	 * @return The precision, null if the method is repeated a fixed amount of
+	 *         times
+	 */
+	public Precision getPrecision() {
+		return precision;
+	}
+
+	/**
+	 * Returns the amount of invocations per sample, this is 1 unless the method
+	 * has a {@link org.jtimer.Annotations.Batch @Batch}.
+	 * 
+	 * @return The invocations per sample, 0 if an automatic batch hasn't been
+	 *         picked yet
+	 */
+	public int getOperations() {
+		return operations;
+	}
+
+	/**
+	 * Sets the amount of invocations per sample, this is used when the batch was
+	 * picked in a {@link org.jtimer.Execution.ForkedJVM forked JVM}.
+	 * 
+	 * @param operations The invocations per sample
+	 */
+	void setOperations(int operations) {
+		this.operations = operations;
+	}
+
+	/**
+	 * Returns the amount of threads that invoke the method at once.
+	 * 
+	 * @return The amount of threads, 1 unless the method has a
+	 *         {@link org.jtimer.Annotations.Threads @Threads}
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Tells if the method has a {@link org.jtimer.Annotations.Threads @Threads},
+	 * in which case it has to be timed with a
+	 * {@link org.jtimer.Execution.WorkerGroup worker group} instead of a
+	 * {@link TimedMethod#measurement(Object) measurement}.
+	 * 
+	 * @return If the method is invoked by several threads
+	 */
+	public boolean isContended() {
+		return contended;
+	}
+
+	/**
+	 * Returns how the method is timed.
+	 * 
+	 * @return The {@link org.jtimer.Misc.TimingMode mode}
+	 */
+	public TimingMode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Returns the length of a window in
+	 * {@link org.jtimer.Misc.TimingMode#THROUGHPUT THROUGHPUT} mode.
+	 * 
+	 * @return The window, in nanoseconds
+	 */
+	public long getWindow() {
+		return window;
+	}
+
+	/**
+	 * Returns the timeout of the method.
+	 * 
+	 * @return The timeout, in nanoseconds, negative if there is none
+	 */
+	public long getTimeout() {
+		return timeout;
+	}
+}
@@ -0,0 +1,234 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Execution;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+import org.jtimer.Execution.BenchmarkThread.Measurement;
+
+/**
+ * The threads that invoke a {@link org.jtimer.Annotations.Threads @Threads}
+ * method at once. The threads are started when the group is created and wait
+ * at a barrier until the group is {@link WorkerGroup#measure() measured},
+ * which releases all of them together and waits until the last one is done.
+ * Each thread times itself, so besides the time of the whole group the
+ * {@link WorkerGroup#getLatencies() latency} of every thread is known. The
+ * time of the whole group is also taken from the threads, from the first one
+ * starting to the last one finishing, since the thread measuring the group can
+ * be woken up by the barrier a lot later than the threads are.
+ * <br>
+ * A group is a {@link BenchmarkThread.Measurement measurement} so that it can
+ * be run on a {@link org.jtimer.Execution.BenchmarkThread benchmark thread}
+ * and get the same timeout as everything else. If the timeout is reached the
+ * barrier breaks, the threads stop as soon as the method lets them, and the
+ * group is {@link WorkerGroup#isBroken() broken} and has to be replaced.
+ * 
+ * @author MagneticZero
+ */
+public class WorkerGroup implements Measurement {
+
+	/**
+	 * The threads of the group.
+	 */
+	private Thread[] workers;
+	/**
+	 * The barrier that releases the threads, the thread measuring the group is
+	 * one of its parties.
+	 */
+	private CyclicBarrier start;
+	/**
+	 * The barrier that the threads reach once they're done, the thread measuring
+	 * the group is one of its parties.
+	 */
+	private CyclicBarrier end;
+	/**
+	 * When each thread started during the last measurement, from
+	 * {@link java.lang.System#nanoTime() nanoTime}.
+	 */
+	private long[] starts;
+	/**
+	 * The latency of each thread during the last measurement, in nanoseconds.
+	 */
+	private long[] latencies;
+	/**
+	 * The bytes each thread allocated during the last measurement, -1 if they
+	 * can't be counted.
+	 */
+	private long[] allocated;
+	/**
+	 * The CPU time each thread used during the last measurement, -1 if it can't
+	 * be measured.
+	 */
+	private long[] cpuTimes;
+	/**
+	 * The user time each thread used during the last measurement, -1 if it can't
+	 * be measured.
+	 */
+	private long[] userTimes;
+
+	/**
+	 * Creates and starts the threads of a group.
+	 * 
+	 * @param handles    The handle of the method to invoke for each thread, there
+	 *                   are as many threads as handles
+	 * @param obj        The object to invoke the method on
+	 * @param operations The invocations per thread each time the group is
+	 *                   measured
+	 */
+	WorkerGroup(MethodHandle[] handles, Object obj, int operations) {
+		int threads = handles.length;
+		workers = new Thread[threads];
+		start = new CyclicBarrier(threads + 1);
+		end = new CyclicBarrier(threads + 1);
+		starts = new long[threads];
+		latencies = new long[threads];
+		allocated = new long[threads];
+		cpuTimes = new long[threads];
+		userTimes = new long[threads];
+		for (int i = 0; i < threads; i++) {
+			int index = i;
+			MethodHandle handle = handles[i];
+			workers[i] = new Thread(() -> {
+				try {
+					while (true) {
+						start.await();
+						long allocatedBefore = ThreadUsage.allocatedBytes();
+						long userBefore = ThreadUsage.userTime();
+						long cpuBefore = ThreadUsage.cpuTime();
+						starts[index] = System.nanoTime();
+						latencies[index] = TimedMethod.time(handle, obj, operations);
+						cpuTimes[index] = cpuBefore >= 0 ? ThreadUsage.cpuTime() - cpuBefore : -1;
+						userTimes[index] = userBefore >= 0 ? ThreadUsage.userTime() - userBefore : -1;
+						allocated[index] = allocatedBefore >= 0 ? ThreadUsage.allocatedBytes() - allocatedBefore : -1;
+						end.await();
+					}
+				} catch (InterruptedException | BrokenBarrierException e) {
+					// The group was closed or timed out
+				}
+			}, "JTimer Worker " + (i + 1));
+			workers[i].setDaemon(true);
+			workers[i].start();
+		}
+	}
+
+	/**
+	 * Releases all threads and waits for them to finish.
+	 * 
+	 * @return The time from the first thread starting until the last one was
+	 *         done, in nanoseconds, or {@link BenchmarkThread#FAILED FAILED} if the
+	 *         method threw an exception on any of the threads
+	 * @throws InterruptedException   If the timeout was reached
+	 * @throws BrokenBarrierException If the group is broken
+	 */
+	@Override
+	public long measure() throws InterruptedException, BrokenBarrierException {
+		start.await();
+		end.await();
+		long first = Long.MAX_VALUE;
+		long last = Long.MIN_VALUE;
+		for (int i = 0; i < latencies.length; i++) {
+			if (latencies[i] == BenchmarkThread.FAILED) {
+				return BenchmarkThread.FAILED;
+			}
+			first = Math.min(first, starts[i]);
+			last = Math.max(last, starts[i] + latencies[i]);
+		}
+		return last - first;
+	}
+
+	/**
+	 * Returns the latency of each thread during the last measurement. These are
+	 * the times of a whole {@link org.jtimer.Annotations.Batch @Batch} if the
+	 * method has one.
+	 * 
+	 * @return A copy of the latencies, in nanoseconds
+	 */
+	public long[] getLatencies() {
+		return latencies.clone();
+	}
+
+	/**
+	 * Returns the bytes all threads together allocated during the last
+	 * measurement.
+	 * 
+	 * @return The allocated bytes, or -1 if they can't be counted
+	 */
+	public long getAllocatedBytes() {
+		return sum(allocated);
+	}
+
+	/**
+	 * Returns the CPU time all threads together used during the last measurement.
+	 * 
+	 * @return The CPU time, in nanoseconds, or -1 if it can't be measured
+	 */
+	public long getCpuTime() {
+		return sum(cpuTimes);
+	}
+
+	/**
+	 * Returns the user time all threads together used during the last
+	 * measurement.
+	 * 
+	 * @return The user time, in nanoseconds, or -1 if it can't be measured
+	 */
+	public long getUserTime() {
+		return sum(userTimes);
+	}
+
+	/**
+	 * Adds up what each thread measured.
+	 * 
+	 * @param values The value of each thread
+	 * @return The sum, or -1 if any of the threads couldn't measure it
+	 */
+	private static long sum(long[] values) {
+		long total = 0;
+		for (long value : values) {
+			if (value < 0) {
+				return -1;
+			}
+			total += value;
+		}
+		return total;
+	}
+
+	/**
+	 * Tells if the group can't be measured anymore, because it timed out or was
+	 * closed.
+	 * 
+	 * @return If the group is broken
+	 */
+	public boolean isBroken() {
+		return start.isBroken() || end.isBroken();
+	}
+
+	/**
+	 * Stops all threads of the group. Threads that are still inside the method
+	 * stop once it returns.
+	 */
+	public void close() {
+		for (Thread worker : workers) {
+			worker.interrupt();
+		}
+	}
+}
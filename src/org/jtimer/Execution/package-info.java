@@ -0,0 +1,6 @@
+/**
+ * The package containing the machinery that the {@link org.jtimer.Runner
+ * runner} uses to actually execute methods, such as the threads that timed
+ * methods run on.
+ */
+package org.jtimer.Execution;
\ No newline at end of file
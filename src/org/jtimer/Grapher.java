@@ -24,35 +24,55 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 
 import javax.imageio.ImageIO;
 
 import org.jtimer.Collections.MultiMap;
+import org.jtimer.Collections.Pyramid;
+import org.jtimer.Collections.RingBuffer;
 import org.jtimer.Readability.If;
 import org.jtimer.Regression.FunctionalFit;
 import org.jtimer.Regression.PolynomialFit;
 import org.jtimer.Regression.Regression;
+import org.jtimer.Results.StoredSamples;
+import org.jtimer.Statistics.Histogram;
+import org.jtimer.Statistics.RunningStatistics;
 
 import com.sun.javafx.charts.Legend;
 import com.sun.javafx.charts.Legend.LegendItem;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.event.Event;
+import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
 import javafx.scene.Cursor;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.chart.Axis;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.ScatterChart;
 import javafx.scene.chart.XYChart.Data;
 import javafx.scene.chart.XYChart.Series;
+import javafx.scene.effect.BlurType;
+import javafx.scene.effect.DropShadow;
 import javafx.scene.effect.Light.Point;
 import javafx.scene.image.WritableImage;
 import javafx.scene.input.KeyCode;
@@ -105,7 +125,6 @@ public class Grapher extends Application {
 	 * The maximum Y for the {@link org.jtimer.Grapher graph}. By default this is
 	 * {@link java.lang.Double#POSITIVE_INFINITY infinity}.
 	 */
-	@SuppressWarnings("unused") // Used through reflection
 	private double max = Double.POSITIVE_INFINITY;
 	/**
 	 * Max standard deviations shown in {@link org.jtimer.Grapher graph} by default
@@ -113,6 +132,16 @@ public class Grapher extends Application {
 	 * be shown.
 	 */
 	private double maxDeviations = 2;
+	/**
+	 * The percentile of the samples at the bottom of the view, or NaN if the view
+	 * is limited by the {@link org.jtimer.Grapher#maxDeviations max deviations}
+	 * instead, which is the default.
+	 */
+	private double lowPercentile = Double.NaN;
+	/**
+	 * The percentile of the samples at the top of the view.
+	 */
+	private double highPercentile = Double.NaN;
 	/**
 	 * If the {@link org.jtimer.Runner} is still going.
 	 */
@@ -123,6 +152,22 @@ public class Grapher extends Application {
 	 * By default this is CTRL + S.
 	 */
 	private KeyCombination save = new KeyCodeCombination(KeyCode.S, KeyCombination.CONTROL_DOWN);
+	/**
+	 * Keybind to hide or show the {@link org.jtimer.Grapher#flagged flagged}
+	 * samples.
+	 * <br>
+	 * By default this is CTRL + G.
+	 */
+	private KeyCombination hide = new KeyCodeCombination(KeyCode.G, KeyCombination.CONTROL_DOWN);
+	/**
+	 * The samples that were taken while something else was going on, like a
+	 * garbage collection, which are highlighted on the graph.
+	 */
+	private Set<Data<Number, Number>> flagged = new HashSet<>();
+	/**
+	 * If the {@link org.jtimer.Grapher#flagged flagged} samples are hidden.
+	 */
+	private boolean hideFlagged = false;
 	/**
 	 * The main {@link javafx.scene.chart.ScatterChart scatter chart}, this is where
 	 * all timed data will go.
@@ -133,6 +178,14 @@ public class Grapher extends Application {
 	 * for the {@link org.jtimer.Grapher#lineOfBestFit() line of best fit}.
 	 */
 	private ScatterChart<Number, Number> bestFitPlot = null;
+	/**
+	 * Any other {@link javafx.scene.chart.ScatterChart scatter charts}, by their
+	 * title. These are for things that aren't graphed against the repetitions,
+	 * like the throughput of a {@link org.jtimer.Annotations.Threads @Threads}
+	 * method against the amount of threads, and are only created once something
+	 * is graphed on them.
+	 */
+	private LinkedHashMap<String, ScatterChart<Number, Number>> secondaryPlots = new LinkedHashMap<>();
 	/**
 	 * The {@link javafx.scene.layout.Pane pane} that houses the
 	 * {@link org.jtimer.Grapher#plot ScatterChart} and in the case where a
@@ -153,6 +206,260 @@ public class Grapher extends Application {
 	 * fit graph if it is applied too early.
 	 */
 	private Color themeColor = null;
+	/**
+	 * The samples that haven't been graphed yet. The thread that is timing writes
+	 * a record of the {@link Grapher#targets target}, x, y and flag of every
+	 * sample to it, and the JavaFX thread {@link Grapher#drain() drains} it once
+	 * every frame, so that graphing a sample doesn't take any more than writing
+	 * four longs no matter how fast the samples come in.
+	 */
+	private RingBuffer samples = new RingBuffer(1 << 16, 4);
+	/**
+	 * Everything that samples are graphed on, in the order they were first
+	 * graphed, which is what the records of the {@link Grapher#samples samples}
+	 * point to. It's only added to before publishing a record that points to what
+	 * was added, and hardly ever, so the JavaFX thread can read it without locking.
+	 */
+	private List<Target> targets = new CopyOnWriteArrayList<>();
+	/**
+	 * The index of the {@link Grapher#targets target} of each series, only used
+	 * while {@link Grapher#graph(String, String, String, Series, String, double,
+	 * double, Color) queueing}.
+	 */
+	private IdentityHashMap<Series<Number, Number>, Integer> targetIndices = new IdentityHashMap<>();
+	/**
+	 * The targets that got samples in the drain going on, only used by the
+	 * JavaFX thread.
+	 */
+	private Set<Target> drained = new LinkedHashSet<>();
+	/**
+	 * The target of every series that's been graphed, only used by the JavaFX
+	 * thread.
+	 */
+	private IdentityHashMap<Series<Number, Number>, Target> shown = new IdentityHashMap<>();
+	/**
+	 * The targets that have to be {@link Grapher#render(Target) rendered} again,
+	 * because they got more samples than they can draw or their chart was zoomed.
+	 */
+	private Set<Target> stale = new LinkedHashSet<>();
+	/**
+	 * If the {@link Grapher#stale stale} targets have to be rendered on the next
+	 * frame, instead of once a second like they are while the samples come in.
+	 */
+	private boolean urgent = false;
+	/**
+	 * When the {@link Grapher#stale stale} targets were last rendered, in
+	 * nanoseconds.
+	 */
+	private long rendered = 0;
+	/**
+	 * About how many samples of a series are drawn at once at most. A series that
+	 * has more samples in view than this is drawn as the lowest and highest
+	 * sample of each part of it, which is picked again every time the chart is
+	 * zoomed.
+	 */
+	private int detail = 2000;
+	/**
+	 * If samples are drawn straight onto a {@link javafx.scene.canvas.Canvas
+	 * canvas} over each chart instead of as nodes of the chart. By default this is
+	 * the jtimer.canvas system property.
+	 */
+	private boolean canvas = Boolean.getBoolean("jtimer.canvas");
+	/**
+	 * The {@link javafx.scene.canvas.Canvas canvas} over the plot area of each
+	 * chart, when {@link Grapher#canvas drawing onto canvases}.
+	 */
+	private LinkedHashMap<ScatterChart<Number, Number>, Canvas> canvases = new LinkedHashMap<>();
+	/**
+	 * If the {@link Grapher#canvases canvases} have to be painted again.
+	 */
+	private boolean repaint = false;
+	/**
+	 * The colors that series are given by default, in order, so that samples
+	 * painted on a {@link Grapher#canvases canvas} match the legend.
+	 */
+	private static final Color[] seriesColors = { Color.web("#f3622d"), Color.web("#fba71b"), Color.web("#57b757"), Color.web("#41a9c9"), Color.web("#4258c9"), Color.web("#9a42c8"), Color.web("#c84164"), Color.web("#888888") };
+	/**
+	 * Reads the records of the {@link Grapher#samples samples} into their target.
+	 */
+	private RingBuffer.Reader reader = (values, offset) -> {
+		Target target = targets.get((int) values[offset]);
+		double x = Double.longBitsToDouble(values[offset + 1]);
+		double y = Double.longBitsToDouble(values[offset + 2]);
+		if (target.chart == null && y >= max) { // The maximum is only for the main plot
+			return;
+		}
+		Color flag = values[offset + 3] == 0 ? null : color(values[offset + 3]);
+		target.add(x, y, flag);
+		if (target.complete && !canvas) { // Nothing has to be left out yet, so it's just added on
+			Data<Number, Number> data = new Data<>(x, y);
+			target.batch.add(data);
+			if (flag != null) {
+				target.flags.put(data, flag);
+			}
+		}
+		drained.add(target);
+	};
+	/**
+	 * The latest progress, written by the thread that is timing and shown by the
+	 * JavaFX thread every frame.
+	 */
+	private volatile double progress = -1;
+	/**
+	 * If the latest {@link Grapher#progress progress} is of the warmup.
+	 */
+	private volatile boolean warmupProgress = false;
+	/**
+	 * The progress that is shown in the title, only used by the JavaFX thread.
+	 */
+	private double shownProgress = -1;
+	/**
+	 * How many samples were dropped because the {@link Grapher#samples queue} was
+	 * full, which only happens if the JavaFX thread is stuck. It's only written
+	 * by the thread that is timing, so it can be counted up without a lock.
+	 */
+	private volatile long dropped = 0;
+	/**
+	 * The amount of {@link Grapher#dropped dropped} samples that is shown in the
+	 * title, only used by the JavaFX thread.
+	 */
+	private long shownDropped = 0;
+
+	/**
+	 * A series that samples are graphed on, and the chart it goes on.
+	 */
+	private static class Target {
+		/**
+		 * The title of the {@link Grapher#getSecondaryPlot(String, String, String)
+		 * secondary chart}, or null for the main plot.
+		 */
+		private String chart;
+		/**
+		 * The label of the x-axis of the chart.
+		 */
+		private String xDesc;
+		/**
+		 * The label of the y-axis of the chart.
+		 */
+		private String yDesc;
+		/**
+		 * The series.
+		 */
+		private Series<Number, Number> series;
+		/**
+		 * The name of the series.
+		 */
+		private String name;
+		/**
+		 * Every sample of the series that isn't flagged.
+		 */
+		private Pyramid samples = new Pyramid();
+		/**
+		 * Every sample of the series that is flagged.
+		 */
+		private Pyramid flaggedSamples = new Pyramid();
+		/**
+		 * The color of each of the {@link Target#flaggedSamples flagged samples}.
+		 */
+		private List<Color> colors = new ArrayList<>();
+		/**
+		 * The statistics of the ys of the samples that aren't flagged, kept as they
+		 * come in so that the view can be limited without going over them again.
+		 */
+		private RunningStatistics statistics = new RunningStatistics();
+		/**
+		 * The statistics of the ys of the flagged samples.
+		 */
+		private RunningStatistics flaggedStatistics = new RunningStatistics();
+		/**
+		 * The ys of the samples that aren't flagged, times the
+		 * {@link Target#resolution resolution}, for the percentiles of the view.
+		 */
+		private Histogram histogram = new Histogram();
+		/**
+		 * The ys of the flagged samples, times the {@link Target#resolution
+		 * resolution}.
+		 */
+		private Histogram flaggedHistogram = new Histogram();
+		/**
+		 * What the ys are multiplied by before they go in the
+		 * {@link Target#histogram histograms}, which only take whole numbers, so
+		 * that charts of small numbers like operations per second still have
+		 * percentiles.
+		 */
+		private static final double resolution = 1000;
+		/**
+		 * If the series draws every one of its samples, in which case new samples
+		 * are just added on until there are too many.
+		 */
+		private boolean complete = true;
+		/**
+		 * If the series was hidden by clicking on it in the legend.
+		 */
+		private boolean hidden = false;
+		/**
+		 * The samples drained for the series that haven't been added to it yet,
+		 * while it's {@link Target#complete complete}.
+		 */
+		private List<Data<Number, Number>> batch = new ArrayList<>();
+		/**
+		 * The color of the samples in the {@link Target#batch batch} that are
+		 * flagged.
+		 */
+		private HashMap<Data<Number, Number>, Color> flags = new HashMap<>();
+
+		/**
+		 * Creates a target.
+		 * 
+		 * @param chart  The title of the secondary chart, or null for the main plot
+		 * @param xDesc  The label of the x-axis of the chart
+		 * @param yDesc  The label of the y-axis of the chart
+		 * @param series The series
+		 * @param name   The name of the series
+		 */
+		Target(String chart, String xDesc, String yDesc, Series<Number, Number> series, String name) {
+			this.chart = chart;
+			this.xDesc = xDesc;
+			this.yDesc = yDesc;
+			this.series = series;
+			this.name = name;
+		}
+
+		/**
+		 * Adds a sample to the series.
+		 * 
+		 * @param x    The x of the sample
+		 * @param y    The y of the sample
+		 * @param flag The color the sample is flagged with, or null if it isn't
+		 */
+		void add(double x, double y, Color flag) {
+			if (flag == null) {
+				samples.add(x, y);
+				statistics.add(y);
+				histogram.add((long) (y * resolution));
+			} else {
+				flaggedSamples.add(x, y);
+				colors.add(flag);
+				flaggedStatistics.add(y);
+				flaggedHistogram.add((long) (y * resolution));
+			}
+		}
+
+		/**
+		 * Forgets every sample of the series and shows it again.
+		 */
+		void clear() {
+			samples.clear();
+			flaggedSamples.clear();
+			colors.clear();
+			statistics.clear();
+			flaggedStatistics.clear();
+			histogram.clear();
+			flaggedHistogram.clear();
+			complete = true;
+			hidden = false;
+		}
+	}
 
 	/**
 	 * Starts the {@link org.jtimer.Grapher grapher} by setting up the essential
@@ -176,9 +483,12 @@ public class Grapher extends Application {
 		plot.prefHeightProperty().bind(pane.heightProperty());
 		plot.prefWidthProperty().bind(pane.widthProperty());
 		pane.getChildren().add(plot);
+		watch(plot);
 
-		scene.setOnKeyPressed(e -> { // This is the key listener for CTRL + S
-			if (save.match(e)) {
+		scene.setOnKeyPressed(e -> { // This is the key listener for CTRL + S and CTRL + G
+			if (hide.match(e)) {
+				setHideFlagged(!hideFlagged);
+			} else if (save.match(e)) {
 				FileChooser chooser = new FileChooser();
 				chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Image (*.png)", "*.png"));
 				chooser.setTitle("Select where to save the graph...");
@@ -190,13 +500,341 @@ public class Grapher extends Application {
 						ImageIO.write(SwingFXUtils.fromFXImage(image, null), "png", output);
 					}
 				} catch (IOException ex) {
-					Runner.exceptionCatcher.writeError(ex);
+					Runner.writeError(ex);
 				}
 			}
 		});
 
 		stage.setScene(scene);
 		stage.show();
+
+		new AnimationTimer() { // Graphs everything that came in since the last frame
+			@Override
+			public void handle(long now) {
+				drain();
+				if (canvas) {
+					paint();
+				}
+				if (!stale.isEmpty() && (urgent || !isRunning || now - rendered > 1000000000L)) {
+					for (Target target : stale) {
+						render(target);
+					}
+					stale.clear();
+					urgent = false;
+					rendered = now;
+				}
+			}
+		}.start();
+	}
+
+	/**
+	 * Queues a sample to be graphed on the next frame. The queue only has one
+	 * writer, which is the thread that is timing, so this must never be called
+	 * from more than one thread at once. If the JavaFX thread is so far behind
+	 * that the queue is full the sample is dropped right away, since waiting
+	 * would hold up the timing, and the amount that were dropped is shown in the
+	 * title.
+	 * 
+	 * @param chart  The title of the {@link Grapher#getSecondaryPlot(String,
+	 *               String, String) secondary chart} to graph on, or null for the
+	 *               main plot
+	 * @param xDesc  The label of the x-axis of the secondary chart
+	 * @param yDesc  The label of the y-axis of the secondary chart
+	 * @param series The series to add the sample to
+	 * @param name   The name of the series
+	 * @param x      The x component
+	 * @param y      The y component
+	 * @param flag   The color to {@link Grapher#flag(Data, Color) flag} the
+	 *               sample with, or null if it isn't flagged
+	 */
+	void graph(String chart, String xDesc, String yDesc, Series<Number, Number> series, String name, double x, double y, Color flag) {
+		Integer target = targetIndices.get(series);
+		if (target == null) {
+			target = targets.size();
+			targets.add(new Target(chart, xDesc, yDesc, series, name));
+			targetIndices.put(series, target);
+		}
+		int offset = samples.claim();
+		if (offset < 0) {
+			dropped++; // Only this thread writes it
+			return;
+		}
+		samples.set(offset, target);
+		samples.set(offset + 1, Double.doubleToRawLongBits(x));
+		samples.set(offset + 2, Double.doubleToRawLongBits(y));
+		samples.set(offset + 3, flag == null ? 0 : 1L << 32 | (long) (flag.getOpacity() * 255) << 24 | (long) (flag.getRed() * 255) << 16 | (long) (flag.getGreen() * 255) << 8 | (long) (flag.getBlue() * 255));
+		samples.publish();
+	}
+
+	/**
+	 * Graphs every sample that is {@link Grapher#samples queued}, adding the
+	 * samples of each series all at once, and shows the latest progress and how
+	 * many samples were {@link Grapher#dropped dropped} in the title. This has to
+	 * be called on the JavaFX thread.
+	 */
+	private void drain() {
+		samples.drain(reader, samples.capacity());
+		double latest = progress;
+		long lost = dropped;
+		if (latest != shownProgress || lost != shownDropped) {
+			shownProgress = latest;
+			shownDropped = lost;
+			plot.setTitle(graphTitle + new If<String>(warmupProgress).Then(" Warmup ").Else("") + String.format("%3.2f", latest * 100) + "%" + new If<String>(lost > 0).Then(String.format(" (%d samples dropped, the graph couldn't keep up)", lost)).Else(""));
+		}
+		for (Target target : drained) {
+			shown.put(target.series, target);
+			target.series.setName(target.name);
+			if (canvas) {
+				render(target);
+			} else if (target.complete && target.series.getData().size() + target.batch.size() <= detail) {
+				ScatterChart<Number, Number> chart = chart(target);
+				target.series.getData().addAll(target.batch);
+				if (!chart.getData().contains(target.series) && !target.series.getData().isEmpty()) {
+					chart.getData().add(target.series);
+				}
+				shrink(target.batch);
+				for (Map.Entry<Data<Number, Number>, Color> flag : target.flags.entrySet()) {
+					flag(flag.getKey(), flag.getValue());
+				}
+			} else if (!chart(target).getData().contains(target.series)) { // Drawn right away so that it's in the legend
+				render(target);
+			} else { // Too many to draw them all, so it's downsampled from now on
+				target.complete = false;
+				stale.add(target);
+			}
+			target.batch.clear();
+			target.flags.clear();
+		}
+		drained.clear();
+	}
+
+	/**
+	 * Draws the samples of a target that are in the range of the x-axis of its
+	 * chart, {@link org.jtimer.Collections.Pyramid#query(double, double, int,
+	 * java.util.function.IntConsumer) downsampled} to about
+	 * {@link Grapher#detail detail} samples if there are more. This has to be
+	 * called on the JavaFX thread.
+	 * 
+	 * @param target The target to draw
+	 */
+	private void render(Target target) {
+		ScatterChart<Number, Number> chart = chart(target);
+		if (canvas) { // The series is only there for the legend
+			target.complete = false;
+			flagged.removeAll(target.series.getData());
+			target.series.getData().clear();
+			if (!chart.getData().contains(target.series)) {
+				chart.getData().add(target.series);
+			}
+			repaint = true;
+			return;
+		}
+		NumberAxis axis = (NumberAxis) chart.getXAxis();
+		double low = axis.isAutoRanging() ? Double.NEGATIVE_INFINITY : axis.getLowerBound();
+		double high = axis.isAutoRanging() ? Double.POSITIVE_INFINITY : axis.getUpperBound();
+		List<Data<Number, Number>> data = new ArrayList<>();
+		List<Data<Number, Number>> flags = new ArrayList<>();
+		List<Color> colors = new ArrayList<>();
+		if (!target.hidden) {
+			target.samples.query(low, high, detail, i -> data.add(new Data<>(target.samples.getX(i), target.samples.getY(i))));
+			if (!hideFlagged) {
+				target.flaggedSamples.query(low, high, detail, i -> {
+					flags.add(new Data<>(target.flaggedSamples.getX(i), target.flaggedSamples.getY(i)));
+					colors.add(target.colors.get(i));
+				});
+			}
+		}
+		data.addAll(flags);
+		target.complete = axis.isAutoRanging() && data.size() == target.samples.size() + target.flaggedSamples.size();
+		flagged.removeAll(target.series.getData());
+		target.series.getData().setAll(data);
+		if (!chart.getData().contains(target.series) && !target.series.getData().isEmpty()) {
+			chart.getData().add(target.series);
+		}
+		shrink(data);
+		for (int i = 0; i < flags.size(); i++) {
+			flag(flags.get(i), colors.get(i));
+		}
+	}
+
+	/**
+	 * Makes the nodes of some data points a bit smaller, since they're too big by
+	 * default. It's done once when they're added to a chart, so that nothing has
+	 * to go over every point that's drawn again later on.
+	 * 
+	 * @param points The data points, which have to be on a chart already
+	 */
+	private static void shrink(List<Data<Number, Number>> points) {
+		for (Data<Number, Number> point : points) {
+			if (point.getNode() != null) {
+				point.getNode().setScaleX(0.7);
+				point.getNode().setScaleY(0.7);
+			}
+		}
+	}
+
+	/**
+	 * Returns the chart of a target, creating it if it's a secondary chart that
+	 * doesn't exist yet. This has to be called on the JavaFX thread.
+	 * 
+	 * @param target The target
+	 * @return The chart
+	 */
+	private ScatterChart<Number, Number> chart(Target target) {
+		return target.chart == null ? plot : getSecondaryPlot(target.chart, target.xDesc, target.yDesc);
+	}
+
+	/**
+	 * Draws the series of a chart again whenever the range of its x-axis is set,
+	 * so that zooming in shows the samples that were left out.
+	 * 
+	 * @param chart The chart to watch
+	 */
+	private void watch(ScatterChart<Number, Number> chart) {
+		NumberAxis axis = (NumberAxis) chart.getXAxis();
+		ChangeListener<Number> zoomed = (observable, old, bound) -> {
+			repaint = true;
+			if (!axis.isAutoRanging()) { // Otherwise the bounds just follow the samples
+				for (Target target : shown.values()) {
+					if (chart(target) == chart) {
+						stale.add(target);
+					}
+				}
+				urgent = true;
+			}
+		};
+		axis.lowerBoundProperty().addListener(zoomed);
+		axis.upperBoundProperty().addListener(zoomed);
+		((NumberAxis) chart.getYAxis()).lowerBoundProperty().addListener((observable, old, bound) -> repaint = true);
+		((NumberAxis) chart.getYAxis()).upperBoundProperty().addListener((observable, old, bound) -> repaint = true);
+	}
+
+	/**
+	 * Paints the samples of every chart onto the {@link Grapher#canvases canvas}
+	 * over its plot area, straight from the
+	 * {@link org.jtimer.Collections.Pyramid pyramids} of its series, so that no
+	 * matter how many samples there are no nodes are made for them. About two
+	 * samples are painted for every pixel across, the lowest and the highest, so
+	 * the canvas looks the same as if every sample was painted. While the samples
+	 * come in, the axes follow them, since there's nothing in the charts for them
+	 * to range over. This has to be called on the JavaFX thread.
+	 */
+	private void paint() {
+		for (ScatterChart<Number, Number> chart : charts()) {
+			if (chart == null || chart == bestFitPlot) { // The line of best fit is only a few nodes
+				continue;
+			}
+			Canvas canvas = canvases.get(chart);
+			if (canvas == null) {
+				canvas = new Canvas();
+				canvas.setMouseTransparent(true); // So that zooming and the legend still work
+				canvases.put(chart, canvas);
+				pane.getChildren().add(canvas);
+			}
+			if (isRunning) {
+				follow(chart);
+			}
+			Node background = chart.lookup(".chart-plot-background");
+			if (background != null) {
+				Bounds area = pane.sceneToLocal(background.localToScene(background.getBoundsInLocal()));
+				if (canvas.getLayoutX() != area.getMinX() || canvas.getLayoutY() != area.getMinY() || canvas.getWidth() != area.getWidth() || canvas.getHeight() != area.getHeight()) {
+					canvas.relocate(area.getMinX(), area.getMinY());
+					canvas.setWidth(area.getWidth());
+					canvas.setHeight(area.getHeight());
+					repaint = true;
+				}
+			}
+		}
+		if (!repaint) {
+			return;
+		}
+		repaint = false;
+		for (Map.Entry<ScatterChart<Number, Number>, Canvas> entry : canvases.entrySet()) {
+			ScatterChart<Number, Number> chart = entry.getKey();
+			Canvas canvas = entry.getValue();
+			GraphicsContext graphics = canvas.getGraphicsContext2D();
+			graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+			NumberAxis axisX = (NumberAxis) chart.getXAxis();
+			NumberAxis axisY = (NumberAxis) chart.getYAxis();
+			double low = axisX.getLowerBound();
+			double high = axisX.getUpperBound();
+			double left = canvas.sceneToLocal(axisX.localToScene(axisX.getDisplayPosition(low), 0)).getX();
+			double right = canvas.sceneToLocal(axisX.localToScene(axisX.getDisplayPosition(high), 0)).getX();
+			double bottom = canvas.sceneToLocal(axisY.localToScene(0, axisY.getDisplayPosition(axisY.getLowerBound()))).getY();
+			double top = canvas.sceneToLocal(axisY.localToScene(0, axisY.getDisplayPosition(axisY.getUpperBound()))).getY();
+			double scaleX = (right - left) / (high - low);
+			double scaleY = (top - bottom) / (axisY.getUpperBound() - axisY.getLowerBound());
+			double lowest = axisY.getLowerBound();
+			int points = (int) canvas.getWidth() * 2;
+			for (int i = 0; i < chart.getData().size(); i++) {
+				Target target = shown.get(chart.getData().get(i));
+				if (target == null || target.hidden) {
+					continue;
+				}
+				Color color = seriesColors[i % seriesColors.length];
+				graphics.setFill(color);
+				target.samples.query(low, high, points, j -> graphics.fillRect(left + (target.samples.getX(j) - low) * scaleX - 1.5, bottom + (target.samples.getY(j) - lowest) * scaleY - 1.5, 3, 3));
+				if (!hideFlagged) {
+					target.flaggedSamples.query(low, high, points, j -> { // Flagged samples have a border of the color they're flagged with
+						double x = left + (target.flaggedSamples.getX(j) - low) * scaleX;
+						double y = bottom + (target.flaggedSamples.getY(j) - lowest) * scaleY;
+						graphics.setFill(target.colors.get(j));
+						graphics.fillRect(x - 3, y - 3, 6, 6);
+						graphics.setFill(color);
+						graphics.fillRect(x - 1.5, y - 1.5, 3, 3);
+					});
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets the axes of a chart to fit every sample in it, which is what
+	 * {@link javafx.scene.chart.NumberAxis#setAutoRanging(boolean) auto ranging}
+	 * would do if the samples were in the chart.
+	 * 
+	 * @param chart The chart
+	 */
+	private void follow(ScatterChart<Number, Number> chart) {
+		double minX = 0;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double minY = 0;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (Series<Number, Number> series : chart.getData()) {
+			Target target = shown.get(series);
+			if (target != null) {
+				for (Pyramid samples : new Pyramid[] { target.samples, target.flaggedSamples }) {
+					if (samples.size() != 0) {
+						minX = Math.min(minX, samples.getMinX());
+						maxX = Math.max(maxX, samples.getMaxX());
+						minY = Math.min(minY, samples.getMinY());
+						maxY = Math.max(maxY, samples.getMaxY());
+					}
+				}
+			}
+		}
+		if (maxX == Double.NEGATIVE_INFINITY) {
+			return;
+		}
+		for (NumberAxis axis : new NumberAxis[] { (NumberAxis) chart.getXAxis(), (NumberAxis) chart.getYAxis() }) {
+			double lower = axis == chart.getXAxis() ? minX : minY;
+			double upper = Math.max(axis == chart.getXAxis() ? maxX : maxY, lower + 1);
+			axis.setAutoRanging(false);
+			axis.setLowerBound(lower);
+			axis.setUpperBound(upper);
+			axis.setTickUnit((upper - lower) / 10);
+		}
+	}
+
+	/**
+	 * Turns the flag of a {@link Grapher#samples queued} sample back into a
+	 * color.
+	 * 
+	 * @param flag The flag, which has the color in its lower 32 bits
+	 * @return The color
+	 */
+	private static Color color(long flag) {
+		return Color.rgb((int) (flag >> 16) & 0xFF, (int) (flag >> 8) & 0xFF, (int) flag & 0xFF, ((flag >> 24) & 0xFF) / 255d);
 	}
 
 	/**
@@ -204,9 +842,8 @@ public class Grapher extends Application {
 	 * scatter chart}. By default, the Control key must be pressed in order to zoom
 	 * into a graph.
 	 */
-	@SuppressWarnings("unchecked")
 	private void addZoomer() {
-		for (ScatterChart<Number, Number> chart : new ScatterChart[] { plot, bestFitPlot }) {
+		for (ScatterChart<Number, Number> chart : charts()) {
 			if (chart != null) {
 				Rectangle selectionVisual = new Rectangle(); // This is for visuals
 				Point selection = new Point();
@@ -293,7 +930,8 @@ public class Grapher extends Application {
 	 *                 warmup}
 	 */
 	public void setProgress(Double progress, boolean warmup) {
-		Platform.runLater(() -> plot.setTitle(graphTitle + new If<String>(warmup).Then(" Warmup ").Else("") + String.format("%3.2f", progress * 100) + "%"));
+		warmupProgress = warmup;
+		this.progress = progress; // Shown on the next frame, so that the progress of every repetition isn't a task of its own
 	}
 
 	/**
@@ -329,6 +967,16 @@ public class Grapher extends Application {
 		this.max = max;
 	}
 
+	/**
+	 * Returns the {@link org.jtimer.Grapher#max maximum} value that the
+	 * {@link org.jtimer.Grapher graph} will graph.
+	 * 
+	 * @return The maximum value
+	 */
+	double getMax() {
+		return max;
+	}
+
 	/**
 	 * Maximum amount of {@link org.jtimer.Grapher#maxDeviations deviations} the
 	 * {@link org.jtimer.Grapher graph} will show.
@@ -343,6 +991,117 @@ public class Grapher extends Application {
 		this.maxDeviations = maxDeviations;
 	}
 
+	/**
+	 * Limits the view to the samples between two percentiles instead of to within
+	 * the {@link org.jtimer.Grapher#setMaxDeviations(double) max deviations} of
+	 * the mean. Timings are skewed with a long tail, so the standard deviation is
+	 * mostly the tail's doing, while percentiles show where the samples really
+	 * are no matter how far out the outliers go. The percentiles are to within
+	 * 1% or so.
+	 * <br>
+	 * By default the max deviations are used, which setting the percentiles to NaN
+	 * goes back to.
+	 * 
+	 * @param low  The percentile at the bottom of the view, like 1
+	 * @param high The percentile at the top of the view, like 99
+	 */
+	public void setViewPercentiles(double low, double high) {
+		this.lowPercentile = low;
+		this.highPercentile = high;
+	}
+
+	/**
+	 * Sets about how many samples of a series are drawn at once at most. When
+	 * there are more samples in view than this, only the lowest and highest
+	 * sample of each part of the series are drawn, and zooming in draws the ones
+	 * in between.
+	 * <br>
+	 * By default this is 2000, since every sample that is drawn is a node of its
+	 * own and charts get slow with a lot more than that.
+	 * 
+	 * @param detail About how many samples to draw at most
+	 */
+	public void setDetail(int detail) {
+		Platform.runLater(() -> {
+			this.detail = Math.max(2, detail);
+			stale.addAll(shown.values());
+			urgent = true;
+		});
+	}
+
+	/**
+	 * Sets if samples are drawn straight onto a {@link javafx.scene.canvas.Canvas
+	 * canvas} over each chart instead of as nodes of the chart. A chart with a
+	 * node for every sample gets slow with a few thousand of them, even with the
+	 * samples {@link Grapher#setDetail(int) downsampled}, but a canvas can show
+	 * millions of them smoothly. The legend, zooming, themes and saving work the
+	 * same either way.
+	 * <br>
+	 * By default this is the jtimer.canvas system property.
+	 * 
+	 * @param canvas If the samples should be drawn onto a canvas
+	 */
+	public void setCanvas(boolean canvas) {
+		Platform.runLater(() -> {
+			this.canvas = canvas;
+			if (!canvas) {
+				pane.getChildren().removeAll(canvases.values());
+				canvases.clear();
+				for (ScatterChart<Number, Number> chart : charts()) {
+					if (chart != null && isRunning) { // The axes were following the samples
+						chart.getXAxis().setAutoRanging(true);
+						chart.getYAxis().setAutoRanging(true);
+					}
+				}
+			}
+			for (Target target : shown.values()) {
+				target.complete = true; // Drawn from scratch
+				render(target);
+			}
+		});
+	}
+
+	/**
+	 * Hides or shows the samples that were flagged, for example because there was
+	 * a garbage collection while they were being taken. Hidden samples aren't
+	 * part of the view or the line of best fit.
+	 * <br>
+	 * This can also be toggled with CTRL + G.
+	 * 
+	 * @param hideFlagged If the flagged samples should be hidden
+	 */
+	public void setHideFlagged(boolean hideFlagged) {
+		Platform.runLater(() -> {
+			this.hideFlagged = hideFlagged;
+			for (Data<Number, Number> data : flagged) {
+				if (data.getNode() != null) {
+					data.getNode().setVisible(!hideFlagged);
+				}
+			}
+			stale.addAll(shown.values()); // The hidden samples aren't part of the downsampling either
+			urgent = true;
+			if (!isRunning) {
+				prettifyView();
+			}
+		});
+	}
+
+	/**
+	 * Flags a sample that was taken while something else was going on, which
+	 * highlights it with a glow of the given color. This has to be called on the
+	 * JavaFX thread after the sample was added to its chart.
+	 * 
+	 * @param data  The sample
+	 * @param color The color of the highlight
+	 */
+	void flag(Data<Number, Number> data, Color color) {
+		flagged.add(data);
+		if (data.getNode() != null) {
+			data.getNode().setEffect(new DropShadow(BlurType.GAUSSIAN, color, 8, 0.6, 0, 0));
+			data.getNode().setVisible(!hideFlagged);
+		}
+	}
+
 	/**
 	 * This sets the grapher for the Singleton {@link org.jtimer.Grapher grapher}
 	 * class.
@@ -372,7 +1131,7 @@ public class Grapher extends Application {
 		try {
 			latch.await();
 		} catch (InterruptedException e) {
-			Runner.exceptionCatcher.writeError(e);
+			Runner.writeError(e);
 		}
 		return grapher;
 	}
@@ -407,7 +1166,7 @@ public class Grapher extends Application {
 			} else {
 				setTextColor(Color.WHITE);
 			}
-			for (ScatterChart<?, ?> chart : new ScatterChart[] { plot, bestFitPlot }) {
+			for (ScatterChart<?, ?> chart : charts()) {
 				if (chart != null) {
 					if (!color.darker().darker().equals(color)) {
 						chart.lookup(".chart-legend").setStyle("-fx-background-color: " + color.darker().darker().toString().replace("0x", "#") + ";");
@@ -428,7 +1187,7 @@ public class Grapher extends Application {
 	 */
 	public void setTextColor(Color color) {
 		Platform.runLater(() -> {
-			for (ScatterChart<?, ?> chart : new ScatterChart[] { plot, bestFitPlot }) {
+			for (ScatterChart<?, ?> chart : charts()) {
 				if (chart != null) {
 					String hexValue = color.toString().replace("0x", "#");
 					for (Axis<?> axis : new Axis[] { chart.getXAxis(), chart.getYAxis() }) {
@@ -463,14 +1222,58 @@ public class Grapher extends Application {
 	 */
 	public void clearData() {
 		Platform.runLater(() -> {
+			drain();
 			plot.getData().clear();
+			flagged.clear();
+			for (Target target : shown.values()) {
+				target.clear();
+			}
+			shown.clear();
+			stale.clear();
+			pane.getChildren().removeAll(canvases.values());
+			canvases.clear();
 			if (bestFitPlot != null) {
 				bestFitPlot.getData().clear();
 				pane.getChildren().remove(bestFitPlot);
-				plot.prefHeightProperty().bind(pane.heightProperty());
-				plot.prefWidthProperty().bind(pane.widthProperty());
 				bestFitPlot = null;
 			}
+			pane.getChildren().removeAll(secondaryPlots.values());
+			secondaryPlots.clear();
+			layoutPlots();
+		});
+	}
+
+	/**
+	 * Graphs samples that were {@link org.jtimer.Results.SampleStore stored} in
+	 * a file, with a series for each method. Only about the given amount of
+	 * samples are read, spread evenly over the file, since a file can have a lot
+	 * more samples than fit in memory, and of those only about
+	 * {@link Grapher#setDetail(int) detail} per series are drawn at once. The
+	 * samples are read on the thread that calls this, and graphed raw.
+	 * 
+	 * @param samples The stored samples
+	 * @param points  About how many samples to graph
+	 * @throws IOException If the samples can't be read
+	 */
+	public void graph(StoredSamples samples, int points) throws IOException {
+		String[] methods = samples.getMethods();
+		List<Target> stored = new ArrayList<>();
+		for (int i = 0; i < methods.length; i++) {
+			stored.add(new Target(null, null, null, new Series<>(), methods[i]));
+		}
+		long size = samples.size();
+		long step = Math.max(1, size / Math.max(1, points));
+		for (long i = 0; i < size; i += step) {
+			stored.get(samples.getMethod(i)).add(samples.getX(i), samples.getNanos(i), null);
+		}
+		Platform.runLater(() -> {
+			for (Target target : stored) {
+				if (target.samples.size() != 0) {
+					target.series.setName(target.name);
+					shown.put(target.series, target);
+					render(target);
+				}
+			}
 		});
 	}
 
@@ -486,9 +1289,66 @@ public class Grapher extends Application {
 		if (bestFitPlot != null) {
 			plots.add(bestFitPlot);
 		}
+		plots.addAll(secondaryPlots.values());
 		return Collections.unmodifiableList(plots);
 	}
 
+	/**
+	 * Returns a secondary {@link javafx.scene.chart.ScatterChart scatter chart},
+	 * creating it underneath the others if it doesn't exist yet. This has to be
+	 * called on the JavaFX thread.
+	 * 
+	 * @param title The title of the chart, which is also how it's told apart
+	 * @param xDesc The label of the x-axis
+	 * @param yDesc The label of the y-axis
+	 * @return The chart
+	 */
+	ScatterChart<Number, Number> getSecondaryPlot(String title, String xDesc, String yDesc) {
+		ScatterChart<Number, Number> chart = secondaryPlots.get(title);
+		if (chart == null) {
+			NumberAxis secondaryXAxis = new NumberAxis();
+			NumberAxis secondaryYAxis = new NumberAxis();
+			secondaryXAxis.setLabel(xDesc);
+			secondaryYAxis.setLabel(yDesc);
+			secondaryXAxis.setAnimated(false);
+			secondaryYAxis.setAnimated(false);
+			chart = new ScatterChart<>(secondaryXAxis, secondaryYAxis);
+			chart.setTitle(title);
+			secondaryPlots.put(title, chart);
+			pane.getChildren().add(chart);
+			watch(chart);
+			layoutPlots();
+		}
+		return chart;
+	}
+
+	/**
+	 * Returns every chart, including the {@link org.jtimer.Grapher#bestFitPlot
+	 * best fit plot} even if it is null.
+	 * 
+	 * @return The charts
+	 */
+	private List<ScatterChart<Number, Number>> charts() {
+		List<ScatterChart<Number, Number>> charts = new ArrayList<>();
+		charts.add(plot);
+		charts.add(bestFitPlot);
+		charts.addAll(secondaryPlots.values());
+		return charts;
+	}
+
+	/**
+	 * Stacks all the charts on top of each other, each taking an equal share of
+	 * the height of the {@link org.jtimer.Grapher#pane pane}.
+	 */
+	private void layoutPlots() {
+		List<ScatterChart<Number, Number>> plots = getPlots();
+		for (int i = 0; i < plots.size(); i++) {
+			plots.get(i).prefWidthProperty().bind(pane.widthProperty());
+			plots.get(i).prefHeightProperty().bind(pane.heightProperty().divide(plots.size()));
+			plots.get(i).layoutYProperty().bind(pane.heightProperty().multiply(i).divide(plots.size()));
+		}
+	}
+
 	/**
 	 * Finishes a {@link org.jtimer.Grapher graph} by:
 	 * <ul>
@@ -504,21 +1364,22 @@ public class Grapher extends Application {
 	 *                {@link org.jtimer.Grapher#lineOfBestFit() best fit} should be
 	 *                calculated
 	 */
-	@SuppressWarnings({ "unused", "unchecked" }) // Used through reflection
+	@SuppressWarnings("unused") // Used through reflection
 	private void finish(boolean bestFit) {
 		Platform.runLater(() -> {
+			drain(); // Everything has to be graphed before it can be finished
 			MultiMap<String, LegendItem> legendMap = new MultiMap<>();
 			isRunning = false;
 			plot.setTitle(plot.getTitle().split(" - ")[0]);
 			if (bestFit) {
 				lineOfBestFit();
-				if (themeColor != null) {
-					setTheme(themeColor);
-				}
+			}
+			if (themeColor != null) { // So that charts created after the theme was set get it too
+				setTheme(themeColor);
 			}
 			prettifyView();
 			addZoomer();
-			for (ScatterChart<Number, Number> chart : new ScatterChart[] { plot, bestFitPlot }) {
+			for (ScatterChart<Number, Number> chart : charts()) {
 				if (chart != null) {
 					for (Node node : chart.getChildrenUnmodifiable()) {
 						if (node instanceof Legend) {
@@ -530,10 +1391,17 @@ public class Grapher extends Application {
 										item.getSymbol().setCursor(Cursor.HAND);
 										item.getSymbol().setOnMouseClicked(e -> {
 											if (e.getButton() == MouseButton.PRIMARY) {
-												for (Data<Number, Number> data : series.getData()) {
-													if (data.getNode() != null) {
-														data.getNode().setVisible(!data.getNode().isVisible());
-														item.getSymbol().setOpacity(If(data.getNode().isVisible()).Then(1d).Else(0.25));
+												Target target = shown.get(series);
+												if (target != null) { // Its samples aren't all drawn, so it's drawn again without them
+													target.hidden = !target.hidden;
+													item.getSymbol().setOpacity(If(target.hidden).Then(0.25).Else(1d));
+													render(target);
+												} else {
+													for (Data<Number, Number> data : series.getData()) {
+														if (data.getNode() != null) {
+															data.getNode().setVisible(!data.getNode().isVisible());
+															item.getSymbol().setOpacity(If(data.getNode().isVisible()).Then(1d).Else(0.25));
+														}
 													}
 												}
 												prettifyView(chart);
@@ -562,15 +1430,12 @@ public class Grapher extends Application {
 	/**
 	 * "Prettifies" all {@link org.jtimer.Grapher graphs} by limiting the view of it
 	 * to within {@link org.jtimer.Grapher#maxDeviations the max deviations setting}
-	 * standard deviations. Also makes the data points on the
-	 * {@link org.jtimer.Grapher graphs} a bit smaller since they're too big by
-	 * default.
+	 * standard deviations.
 	 * 
 	 * @see org.jtimer.Grapher#prettifyView(ScatterChart)
 	 */
-	@SuppressWarnings("unchecked")
 	private void prettifyView() {
-		for (ScatterChart<Number, Number> chart : new ScatterChart[] { plot, bestFitPlot }) {
+		for (ScatterChart<Number, Number> chart : charts()) {
 			prettifyView(chart);
 		}
 	}
@@ -578,45 +1443,49 @@ public class Grapher extends Application {
 	/**
 	 * "Prettifies" a {@link org.jtimer.Grapher graph} by limiting the view of it to
 	 * within {@link org.jtimer.Grapher#maxDeviations the max deviations setting}
-	 * standard deviations. Also makes the data points on the
-	 * {@link org.jtimer.Grapher graph} a bit smaller since they're too big by
-	 * default.
+	 * standard deviations. This only goes over the statistics of each series,
+	 * not the points that are drawn, other than the few of the line of best fit.
 	 * 
 	 * @param graph the graph to "prettify"
 	 */
 	private void prettifyView(ScatterChart<Number, Number> graph) {
 		if (graph != null) {
-			double total = 0;
+			RunningStatistics statistics = new RunningStatistics();
+			Histogram histogram = new Histogram();
 			double maxX = 0;
-			int points = 0;
 			for (Series<Number, Number> dataPoint : graph.getData()) {
-				for (Data<Number, Number> data : dataPoint.getData()) {
-					data.getNode().setScaleX(0.7);
-					data.getNode().setScaleY(0.7);
-					if (data.getNode().isVisible()) {
-						total += data.getYValue().doubleValue();
-						points++;
-						if (maxX < data.getXValue().doubleValue()) {
-							maxX = data.getXValue().doubleValue();
+				Target target = shown.get(dataPoint);
+				if (target == null) { // Only the line of best fit, which is just a few nodes
+					for (Data<Number, Number> data : dataPoint.getData()) {
+						if (data.getNode().isVisible()) {
+							statistics.add(data.getYValue().doubleValue());
+							histogram.add((long) (data.getYValue().doubleValue() * Target.resolution));
+							maxX = Math.max(maxX, data.getXValue().doubleValue());
 						}
 					}
-				}
-			}
-			double mean = total / points;
-			total = 0;
-			for (Series<Number, Number> dataPoint : graph.getData()) {
-				for (Data<Number, Number> data : dataPoint.getData()) {
-					if (data.getNode().isVisible()) {
-						total += Math.pow(data.getYValue().doubleValue() - mean, 2);
+				} else if (!target.hidden) { // Every sample, not just the ones that are drawn, without going over them
+					statistics.add(target.statistics);
+					histogram.add(target.histogram);
+					maxX = Math.max(maxX, If(target.samples.size() == 0).Then(0d).Else(target.samples.getMaxX()));
+					if (!hideFlagged) {
+						statistics.add(target.flaggedStatistics);
+						histogram.add(target.flaggedHistogram);
+						maxX = Math.max(maxX, If(target.flaggedSamples.size() == 0).Then(0d).Else(target.flaggedSamples.getMaxX()));
 					}
 				}
 			}
-			double deviation = Math.sqrt(total / points);
+			double mean = statistics.getMean();
+			double deviation = statistics.getStandardDeviation();
 			NumberAxis axisX = (NumberAxis) graph.getXAxis();
 			NumberAxis axisY = (NumberAxis) graph.getYAxis();
 			axisY.setAutoRanging(false);
-			axisY.setLowerBound(Math.round(If((mean - maxDeviations * deviation < 0) || (deviation == 0)).Then(0d).Else(mean - maxDeviations * deviation)));
-			axisY.setUpperBound(Math.round(If(deviation != 0).Then(mean + maxDeviations * deviation).Else(2 * mean)));
+			if (Double.isNaN(lowPercentile)) {
+				axisY.setLowerBound(Math.round(If((mean - maxDeviations * deviation < 0) || (deviation == 0)).Then(0d).Else(mean - maxDeviations * deviation)));
+				axisY.setUpperBound(Math.round(If(deviation != 0).Then(mean + maxDeviations * deviation).Else(2 * mean)));
+			} else {
+				axisY.setLowerBound(Math.round(histogram.percentile(lowPercentile) / Target.resolution));
+				axisY.setUpperBound(Math.round(histogram.percentile(highPercentile) / Target.resolution));
+			}
 			axisY.setTickUnit(Math.round((axisY.getUpperBound() - axisY.getLowerBound()) / 10));
 			axisX.setAutoRanging(false);
 			axisX.setLowerBound(0);
@@ -650,32 +1519,53 @@ public class Grapher extends Application {
 			));
 			Series<Number, Number> dataSeries = new Series<>();
 			dataSeries.setName(series.getName());
-			for (int i = 0; i <= data[0].length; i++) {
-				double fx = regressions.first().calculate(i);
-				dataSeries.getData().add(new Data<Number, Number>(i, If(fx < 0 || !Double.isFinite(fx)).Then(0d).Else(fx)));
+			double maxX = Arrays.stream(data[0]).max().orElse(0);
+			for (int i = 0; i <= data[0].length; i++) { // The fit is drawn over the xs that were timed, which are input sizes with a @Param
+				double x = maxX * i / Math.max(1, data[0].length);
+				double fx = regressions.first().calculate(x);
+				dataSeries.getData().add(new Data<Number, Number>(x, If(fx < 0 || !Double.isFinite(fx)).Then(0d).Else(fx)));
 			}
 			bestFitPlot.getData().add(dataSeries);
+			shrink(dataSeries.getData());
 		}
 		pane.getChildren().add(bestFitPlot);
-		plot.prefHeightProperty().bind(pane.heightProperty().divide(2));
-		bestFitPlot.prefWidthProperty().bind(pane.widthProperty());
-		bestFitPlot.prefHeightProperty().bind(pane.heightProperty().divide(2));
-		bestFitPlot.layoutYProperty().bind(pane.heightProperty().divide(2));
+		layoutPlots();
 	}
 
 	/**
 	 * Gets the X's and Y's of a {@link javafx.scene.chart.XYChart.Series series}.
-	 * this is used by {@link org.jtimer.Grapher#lineOfBestFit() lineOfBestFit()}
+	 * this is used by {@link org.jtimer.Grapher#lineOfBestFit() lineOfBestFit()}.
+	 * {@link org.jtimer.Grapher#flagged Flagged} samples are left out if they're
+	 * hidden.
 	 * 
 	 * @param series The series to get the data of.
 	 * @return A double[][] of xs and ys
 	 */
 	private double[][] getData(Series<Number, Number> series) {
-		double[] xs = new double[series.getData().size()];
+		Target target = shown.get(series);
+		if (target != null) { // Not every sample is drawn
+			int flaggedSamples = hideFlagged ? 0 : target.flaggedSamples.size();
+			double[] xs = new double[target.samples.size() + flaggedSamples];
+			double[] ys = new double[xs.length];
+			for (int i = 0; i < target.samples.size(); i++) {
+				xs[i] = target.samples.getX(i);
+				ys[i] = target.samples.getY(i);
+			}
+			for (int i = 0; i < flaggedSamples; i++) {
+				xs[target.samples.size() + i] = target.flaggedSamples.getX(i);
+				ys[target.samples.size() + i] = target.flaggedSamples.getY(i);
+			}
+			return new double[][] { xs, ys };
+		}
+		List<Data<Number, Number>> points = new ArrayList<>(series.getData());
+		if (hideFlagged) {
+			points.removeAll(flagged);
+		}
+		double[] xs = new double[points.size()];
 		double[] ys = new double[xs.length];
 		for (int i = 0; i < xs.length; i++) {
-			xs[i] = series.getData().get(i).getXValue().doubleValue();
-			ys[i] = series.getData().get(i).getYValue().doubleValue();
+			xs[i] = points.get(i).getXValue().doubleValue();
+			ys[i] = points.get(i).getYValue().doubleValue();
 		}
 		return new double[][] { xs, ys };
 	}
@@ -0,0 +1,156 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Misc;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Somewhere to put values so that the JIT can't tell that nobody uses them. If
+ * a {@link org.jtimer.Annotations.Time @Time} method computes something and
+ * then throws it away, once the method is compiled the JIT is free to not
+ * compute it at all, and the method ends up looking a lot faster than it is.
+ * Whatever a {@link org.jtimer.Annotations.Time @Time} method returns is
+ * already consumed by one of these, and if a method wants to keep more than one
+ * value alive it can take a Blackhole as its only parameter and
+ * {@link Blackhole#consume(Object) consume} them itself, like this:
+ * 
+ * <pre>
+ * &#64;Time
+ * public void put(Blackhole blackhole) {
+ * 	blackhole.consume(map.put("a", "b"));
+ * 	blackhole.consume(map.size());
+ * }
+ * </pre>
+ * 
+ * Primitives are compared against volatile fields that are never equal to each
+ * other, so the comparison can never be true but the JIT has to do it anyways.
+ * Objects can't be compared like that without also reading them, so instead
+ * every now and then one of them is actually kept, getting rarer the more are
+ * consumed. It's kept through a {@link java.lang.ref.WeakReference weak
+ * reference} so that it doesn't stay around any longer than it would have.
+ * 
+ * @author MagneticZero
+ */
+public final class Blackhole {
+
+	/**
+	 * Two ints that are never equal to each other.
+	 */
+	private volatile int i1 = 1, i2 = 2;
+	/**
+	 * Two longs that are never equal to each other.
+	 */
+	private volatile long l1 = 1, l2 = 2;
+	/**
+	 * Two floats that are never equal to each other.
+	 */
+	private volatile float f1 = 1, f2 = 2;
+	/**
+	 * Two doubles that are never equal to each other.
+	 */
+	private volatile double d1 = 1, d2 = 2;
+	/**
+	 * Two booleans that are never equal to each other.
+	 */
+	private volatile boolean b1 = false, b2 = true;
+	/**
+	 * A cheap pseudo random number, used to decide when an object gets kept.
+	 */
+	private int random = (int) System.nanoTime();
+	/**
+	 * An object is kept whenever none of the bits of this are set in the
+	 * {@link Blackhole#random random number}, every time one is kept another bit
+	 * is added.
+	 */
+	private int mask = 1;
+	/**
+	 * The last object that was kept.
+	 */
+	@SuppressWarnings("unused") // Only written, which is the point
+	private WeakReference<Object> kept;
+
+	/**
+	 * Consumes an object.
+	 * 
+	 * @param obj The object
+	 */
+	public void consume(Object obj) {
+		int random = this.random = this.random * 1664525 + 1013904223; // The same linear congruential generator as Numerical Recipes
+		if ((random & mask) == 0) {
+			kept = new WeakReference<>(obj);
+			mask = (mask << 1) + 1;
+		}
+	}
+
+	/**
+	 * Consumes an int, bytes, shorts and chars end up here too.
+	 * 
+	 * @param i The int
+	 */
+	public void consume(int i) {
+		if (i == i1 & i == i2) {
+			throw new IllegalStateException("Blackhole " + i1 + " and " + i2 + " should never be equal");
+		}
+	}
+
+	/**
+	 * Consumes a long.
+	 * 
+	 * @param l The long
+	 */
+	public void consume(long l) {
+		if (l == l1 & l == l2) {
+			throw new IllegalStateException("Blackhole " + l1 + " and " + l2 + " should never be equal");
+		}
+	}
+
+	/**
+	 * Consumes a float.
+	 * 
+	 * @param f The float
+	 */
+	public void consume(float f) {
+		if (f == f1 & f == f2) {
+			throw new IllegalStateException("Blackhole " + f1 + " and " + f2 + " should never be equal");
+		}
+	}
+
+	/**
+	 * Consumes a double.
+	 * 
+	 * @param d The double
+	 */
+	public void consume(double d) {
+		if (d == d1 & d == d2) {
+			throw new IllegalStateException("Blackhole " + d1 + " and " + d2 + " should never be equal");
+		}
+	}
+
+	/**
+	 * Consumes a boolean.
+	 * 
+	 * @param b The boolean
+	 */
+	public void consume(boolean b) {
+		if (b == b1 & b == b2) {
+			throw new IllegalStateException("Blackhole " + b1 + " and " + b2 + " should never be equal");
+		}
+	}
+}
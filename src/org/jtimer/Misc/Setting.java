@@ -29,10 +29,30 @@ package org.jtimer.Misc;
  * <br>
  * {@link org.jtimer.Misc.Setting#AVERAGE_TIME AVERAGE_TIME} currently does not
  * do anything until implemented...
+ * <br>
+ * {@link org.jtimer.Misc.Setting#RAW_TIME RAW_TIME} will graph the times as they
+ * were measured, instead of with the overhead of JTimer taken out of them.
+ * <br>
+ * {@link org.jtimer.Misc.Setting#CPU_TIME CPU_TIME} will graph the CPU time of
+ * each method instead of the wall time, so that time spent waiting on I/O or
+ * locks doesn't show up.
+ * <br>
+ * {@link org.jtimer.Misc.Setting#CPU_TIME_CHART CPU_TIME_CHART} will graph the
+ * CPU time of each method on a chart of its own, next to the wall time on the
+ * main plot.
+ * <br>
+ * {@link org.jtimer.Misc.Setting#ALLOCATION_CHART ALLOCATION_CHART} will graph
+ * the bytes each method allocated per invocation on a chart of its own. They're
+ * always in the report, but the chart takes room away from the main plot so
+ * it's only there if you ask for it.
+ * <br>
+ * {@link org.jtimer.Misc.Setting#PERCENTILE_CHART PERCENTILE_CHART} will graph
+ * the latency percentiles of each method on a chart of its own once everything
+ * has been timed, so that the tail can be seen along with the median.
  * 
  * @author MagneticZero
  *
  */
 public enum Setting {
-	BEST_FIT, AVERAGE_TIME
+	BEST_FIT, AVERAGE_TIME, RAW_TIME, CPU_TIME, CPU_TIME_CHART, ALLOCATION_CHART, PERCENTILE_CHART
 }
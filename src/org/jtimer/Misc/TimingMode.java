@@ -0,0 +1,38 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Misc;
+
+/**
+ * This enum contains the ways a method can be timed, used by the
+ * {@link org.jtimer.Annotations.Mode @Mode} annotation.
+ * <br>
+ * {@link org.jtimer.Misc.TimingMode#SAMPLE SAMPLE} times every repetition on
+ * its own and graphs how long each one took, this is the default.
+ * <br>
+ * {@link org.jtimer.Misc.TimingMode#THROUGHPUT THROUGHPUT} invokes the method
+ * over and over for a fixed window of time and graphs how many invocations per
+ * second each window managed.
+ * 
+ * @author MagneticZero
+ *
+ */
+public enum TimingMode {
+	SAMPLE, THROUGHPUT
+}
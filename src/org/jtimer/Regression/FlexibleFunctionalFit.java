@@ -56,16 +56,16 @@ public class FlexibleFunctionalFit extends Regression {
 		Matrix xsMatrix = new Matrix(xs.length, functions.length + 1);
 		for (int i = 0; i < xs.length; i++) {
 			for (int j = 0; j <= functions.length; j++) {
-				xsMatrix.toArray()[i][j] = j == 0 ? 1 : functions[j - 1].calc(xs[i]);
+				xsMatrix.set(i, j, j == 0 ? 1 : functions[j - 1].calc(xs[i]));
 			}
 		}
 		Matrix ysMatrix = new Matrix(ys.length, 1);
 		for (int i = 0; i < ys.length; i++) {
-			ysMatrix.toArray()[i][0] = ys[i];
+			ysMatrix.set(i, 0, ys[i]);
 		}
-		Matrix solutionMatrix = xsMatrix.transpose().multiply(xsMatrix).inverse().multiply(xsMatrix.transpose().multiply(ysMatrix));
+		Matrix solutionMatrix = xsMatrix.transposeMultiply(xsMatrix).inverse().multiply(xsMatrix.transposeMultiply(ysMatrix));
 		for (int i = 0; i <= functions.length; i++) {
-			coefficients[i] = solutionMatrix.toArray()[i][0];
+			coefficients[i] = solutionMatrix.get(i, 0);
 		}
 		error(xs, ys);
 	}
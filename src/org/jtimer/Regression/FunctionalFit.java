@@ -69,16 +69,16 @@ public class FunctionalFit extends Regression {
 		Matrix xsMatrix = new Matrix(xs.length, terms);
 		for (int i = 0; i < xs.length; i++) {
 			for (int j = 0; j < terms; j++) {
-				xsMatrix.toArray()[i][j] = Math.pow(function.calc(xs[i]), j);
+				xsMatrix.set(i, j, Math.pow(function.calc(xs[i]), j));
 			}
 		}
 		Matrix ysMatrix = new Matrix(ys.length, 1);
 		for (int i = 0; i < ys.length; i++) {
-			ysMatrix.toArray()[i][0] = ys[i];
+			ysMatrix.set(i, 0, ys[i]);
 		}
-		Matrix solutionMatrix = xsMatrix.transpose().multiply(xsMatrix).inverse().multiply(xsMatrix.transpose().multiply(ysMatrix));
+		Matrix solutionMatrix = xsMatrix.transposeMultiply(xsMatrix).inverse().multiply(xsMatrix.transposeMultiply(ysMatrix));
 		for (int i = 0; i < terms; i++) {
-			coefficients[i] = solutionMatrix.toArray()[i][0];
+			coefficients[i] = solutionMatrix.get(i, 0);
 		}
 		error(xs, ys);
 	}
@@ -24,16 +24,26 @@ import java.util.Arrays;
 import org.jtimer.Exceptions.DimensionsInvalidException;
 
 /**
- * A custom matrix class I use to make things easier.
+ * A custom matrix class I use to make things easier. The elements are kept in
+ * one primitive array, a row after another, so a matrix of a lot of samples
+ * doesn't box every one of them.
  * 
  * @author MagneticZero
  */
 public class Matrix {
 
 	/**
-	 * The internal data structure.
+	 * The internal data structure, the elements row by row.
 	 */
-	private Double[][] matrix;
+	private double[] matrix;
+	/**
+	 * The number of rows.
+	 */
+	private int rows;
+	/**
+	 * The number of columns.
+	 */
+	private int columns;
 
 	/**
 	 * Creates an {@link org.jtimer.Regression.Matrix matrix} of size <i>i</i> x
@@ -43,12 +53,27 @@ public class Matrix {
 	 * @param j The number of columns
 	 */
 	public Matrix(int i, int j) {
-		matrix = new Double[i][j];
-		for (int iX = 0; iX < i; iX++) {
-			for (int jY = 0; jY < j; jY++) {
-				matrix[iX][jY] = 0d;
-			}
+		this(i, j, new double[i * j]);
+	}
+
+	/**
+	 * Creates an {@link org.jtimer.Regression.Matrix matrix} of size <i>i</i> x
+	 * <i>j</i> around an array of its elements, row by row. The array isn't
+	 * copied, so changing it changes the matrix.
+	 * 
+	 * @param i      The number of rows
+	 * @param j      The number of columns
+	 * @param matrix The elements, row by row
+	 * @throws DimensionsInvalidException If there aren't <i>i</i> x <i>j</i>
+	 *                                    elements
+	 */
+	public Matrix(int i, int j, double[] matrix) throws DimensionsInvalidException {
+		if (matrix.length != i * j) {
+			throw new DimensionsInvalidException();
 		}
+		this.matrix = matrix;
+		this.rows = i;
+		this.columns = j;
 	}
 
 	/**
@@ -59,13 +84,26 @@ public class Matrix {
 	 */
 	public Matrix(Number[][] matrix) {
 		this(matrix.length, matrix[0].length);
-		for (int i = 0; i < matrix.length; i++) {
-			for (int j = 0; j < matrix[0].length; j++) {
-				this.matrix[i][j] = matrix[i][j].doubleValue();
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < columns; j++) {
+				this.matrix[i * columns + j] = matrix[i][j].doubleValue();
 			}
 		}
 	}
 
+	/**
+	 * Creates a {@link org.jtimer.Regression.Matrix matrix} using a specified
+	 * double[][], without boxing any of it.
+	 * 
+	 * @param matrix The double[][] to transform into a matrix
+	 */
+	public Matrix(double[][] matrix) {
+		this(matrix.length, matrix[0].length);
+		for (int i = 0; i < rows; i++) {
+			System.arraycopy(matrix[i], 0, this.matrix, i * columns, columns);
+		}
+	}
+
 	/**
 	 * Adds 2 {@link org.jtimer.Regression.Matrix matrices} and returns the result
 	 * as a {@link org.jtimer.Regression.Matrix matrix}.
@@ -77,16 +115,14 @@ public class Matrix {
 	 *                                    matrices} do not have the same dimensions
 	 */
 	public Matrix add(Matrix other) throws DimensionsInvalidException {
-		if (matrix.length != other.matrix.length || matrix[0].length != other.matrix[0].length) {
+		if (rows != other.rows || columns != other.columns) {
 			throw new DimensionsInvalidException();
 		}
-		Double[][] result = new Double[matrix.length][other.matrix[0].length];
+		double[] result = new double[matrix.length];
 		for (int i = 0; i < matrix.length; i++) {
-			for (int j = 0; j < matrix[0].length; j++) {
-				result[i][j] = matrix[i][j] + other.matrix[i][j];
-			}
+			result[i] = matrix[i] + other.matrix[i];
 		}
-		return new Matrix(result);
+		return new Matrix(rows, columns, result);
 	}
 
 	/**
@@ -100,16 +136,14 @@ public class Matrix {
 	 *                                    matrices} do not have the same dimensions
 	 */
 	public Matrix subtract(Matrix other) throws DimensionsInvalidException {
-		if (matrix.length != other.matrix.length || matrix[0].length != other.matrix[0].length) {
+		if (rows != other.rows || columns != other.columns) {
 			throw new DimensionsInvalidException();
 		}
-		Double[][] result = new Double[matrix.length][other.matrix[0].length];
+		double[] result = new double[matrix.length];
 		for (int i = 0; i < matrix.length; i++) {
-			for (int j = 0; j < matrix[0].length; j++) {
-				result[i][j] = matrix[i][j] - other.matrix[i][j];
-			}
+			result[i] = matrix[i] - other.matrix[i];
 		}
-		return new Matrix(result);
+		return new Matrix(rows, columns, result);
 	}
 
 	/**
@@ -120,13 +154,12 @@ public class Matrix {
 	 * @return The result
 	 */
 	public Matrix scalarMultiply(Double other) {
-		Double[][] result = new Matrix(matrix.length, matrix[0].length).toArray();
+		double scalar = other;
+		double[] result = new double[matrix.length];
 		for (int i = 0; i < matrix.length; i++) {
-			for (int j = 0; j < matrix[0].length; j++) {
-				result[i][j] = other * matrix[i][j];
-			}
+			result[i] = scalar * matrix[i];
 		}
-		return new Matrix(result);
+		return new Matrix(rows, columns, result);
 	}
 
 	/**
@@ -145,19 +178,53 @@ public class Matrix {
 	 *                                    dimensions
 	 */
 	public Matrix multiply(Matrix other) throws DimensionsInvalidException {
-		if (this.matrix[0].length != other.matrix.length) {
+		if (columns != other.rows) {
 			throw new DimensionsInvalidException();
 		} else {
-			Double[][] result = new Matrix(matrix.length, other.matrix[0].length).toArray();
-			for (int i = 0; i < matrix.length; i++) {
-				for (int j = 0; j < other.matrix[0].length; j++) {
-					for (int k = 0; k < matrix[0].length; k++) {
-						result[i][j] += matrix[i][k] * other.matrix[k][j];
+			double[] result = new double[rows * other.columns];
+			for (int i = 0; i < rows; i++) {
+				for (int k = 0; k < columns; k++) { // Going along the rows of both, which is how they're laid out
+					double element = matrix[i * columns + k];
+					for (int j = 0; j < other.columns; j++) {
+						result[i * other.columns + j] += element * other.matrix[k * other.columns + j];
 					}
 				}
 			}
-			return new Matrix(result);
+			return new Matrix(rows, other.columns, result);
+		}
+	}
+
+	/**
+	 * Multiplies the transpose of this {@link org.jtimer.Regression.Matrix
+	 * matrix} by another one and returns the result as a
+	 * {@link org.jtimer.Regression.Matrix matrix}, without making the transpose.
+	 * This is what regressions do with their tall matrices of samples, so it's
+	 * better to not copy all of them.
+	 * <br>
+	 * Note: The sizes need to be <i>j</i> x <i>i</i> and <i>j</i> x <i>f</i>.
+	 * The result will be an <i>i</i> x <i>f</i> matrix.
+	 * 
+	 * @param other The {@link org.jtimer.Regression.Matrix matrix} to multiply
+	 * @return The result
+	 * @throws DimensionsInvalidException If the 2
+	 *                                    {@link org.jtimer.Regression.Matrix
+	 *                                    matrices} do not have compatible
+	 *                                    dimensions
+	 */
+	public Matrix transposeMultiply(Matrix other) throws DimensionsInvalidException {
+		if (rows != other.rows) {
+			throw new DimensionsInvalidException();
+		}
+		double[] result = new double[columns * other.columns];
+		for (int k = 0; k < rows; k++) { // A row of each at a time, so both are read straight through
+			for (int i = 0; i < columns; i++) {
+				double element = matrix[k * columns + i];
+				for (int j = 0; j < other.columns; j++) {
+					result[i * other.columns + j] += element * other.matrix[k * other.columns + j];
+				}
+			}
 		}
+		return new Matrix(columns, other.columns, result);
 	}
 
 	/**
@@ -167,13 +234,13 @@ public class Matrix {
 	 * @return The transposed matrix
 	 */
 	public Matrix transpose() {
-		Double[][] result = new Matrix(matrix[0].length, matrix.length).toArray();
-		for (int i = 0; i < matrix.length; i++) {
-			for (int j = 0; j < matrix[0].length; j++) {
-				result[j][i] = matrix[i][j];
+		double[] result = new double[matrix.length];
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < columns; j++) {
+				result[j * rows + i] = matrix[i * columns + j];
 			}
 		}
-		return new Matrix(result);
+		return new Matrix(columns, rows, result);
 	}
 
 	/**
@@ -187,24 +254,24 @@ public class Matrix {
 	 *                                    matrix}
 	 */
 	public Matrix inverse() throws DimensionsInvalidException {
-		if (matrix.length != matrix[0].length) {
+		if (rows != columns) {
 			throw new DimensionsInvalidException();
 		} else {
-			Double[][] result = new Matrix(matrix.length, matrix.length).toArray();
-			for (int i = 0; i < matrix.length; i++) {
-				for (int j = 0; j < matrix.length; j++) {
-					result[i][j] = Math.pow(-1, i + j) * minorMatrix(i, j).determinant();
+			double[] result = new double[matrix.length];
+			for (int i = 0; i < rows; i++) {
+				for (int j = 0; j < rows; j++) {
+					result[i * rows + j] = Math.pow(-1, i + j) * minorMatrix(i, j).cofactorExpansion();
 				}
 			}
-			double num = 1.0 / determinant();
-			for (int i = 0; i < matrix.length; i++) {
+			double num = 1.0 / cofactorExpansion();
+			for (int i = 0; i < rows; i++) {
 				for (int j = 0; j <= i; j++) {
-					double temp = result[i][j];
-					result[i][j] = result[j][i] * num;
-					result[j][i] = temp * num;
+					double temp = result[i * rows + j];
+					result[i * rows + j] = result[j * rows + i] * num;
+					result[j * rows + i] = temp * num;
 				}
 			}
-			return new Matrix(result);
+			return new Matrix(rows, rows, result);
 		}
 	}
 
@@ -219,21 +286,31 @@ public class Matrix {
 	 *                                    matrix}
 	 */
 	public Double determinant() {
-		if (matrix.length != matrix[0].length) {
+		if (rows != columns) {
 			throw new DimensionsInvalidException();
 		} else {
-			if (matrix.length == 1) {
-				return matrix[0][0];
-			} else {
-				Double determinant = 0d;
-				for (int i = 0; i < matrix.length; i++) {
-					determinant += Math.pow(-1, i) * matrix[0][i] * minorMatrix(0, i).determinant();
-				}
-				return determinant;
-			}
+			return cofactorExpansion();
 		}
 	}
 
+	/**
+	 * Calculates the determinant of a square {@link org.jtimer.Regression.Matrix
+	 * matrix} by expanding it along its first row, without boxing it at every
+	 * level.
+	 * 
+	 * @return The determinant
+	 */
+	private double cofactorExpansion() {
+		if (rows == 1) {
+			return matrix[0];
+		}
+		double determinant = 0d;
+		for (int i = 0; i < rows; i++) {
+			determinant += Math.pow(-1, i) * matrix[i] * minorMatrix(0, i).cofactorExpansion();
+		}
+		return determinant;
+	}
+
 	/**
 	 * Used to get a smaller {@link org.jtimer.Regression.Matrix sub-matrix} by
 	 * eliminating a row and column number.
@@ -243,15 +320,16 @@ public class Matrix {
 	 * @return The submatrix
 	 */
 	public Matrix minorMatrix(int row, int col) {
-		Double[][] result = new Matrix(matrix.length - 1, matrix.length - 1).toArray();
-		for (int i = 0; i < matrix.length; i++) {
-			for (int j = 0; i != row && j < matrix.length; j++) {
+		int size = rows - 1;
+		double[] result = new double[size * size];
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; i != row && j < rows; j++) {
 				if (j != col) {
-					result[i < row ? i : i - 1][j < col ? j : j - 1] = matrix[i][j];
+					result[(i < row ? i : i - 1) * size + (j < col ? j : j - 1)] = matrix[i * columns + j];
 				}
 			}
 		}
-		return new Matrix(result);
+		return new Matrix(size, size, result);
 	}
 
 	/**
@@ -266,11 +344,76 @@ public class Matrix {
 	 * @return Returns the newly created identity matrix.
 	 */
 	public static Matrix identity(int size) {
-		Double[][] result = new Matrix(size, size).toArray();
-		for (int i = 0; i < result.length; i++) {
-			result[i][i] = 1d;
+		Matrix result = new Matrix(size, size);
+		for (int i = 0; i < size; i++) {
+			result.set(i, i, 1);
 		}
-		return new Matrix(result);
+		return result;
+	}
+
+	/**
+	 * Returns an element of the {@link org.jtimer.Regression.Matrix matrix}.
+	 * 
+	 * @param i The row of the element
+	 * @param j The column of the element
+	 * @return The element
+	 */
+	public double get(int i, int j) {
+		return matrix[i * columns + j];
+	}
+
+	/**
+	 * Sets an element of the {@link org.jtimer.Regression.Matrix matrix}.
+	 * 
+	 * @param i     The row of the element
+	 * @param j     The column of the element
+	 * @param value The value to set it to
+	 */
+	public void set(int i, int j, double value) {
+		matrix[i * columns + j] = value;
+	}
+
+	/**
+	 * Sets a whole row of the {@link org.jtimer.Regression.Matrix matrix} at
+	 * once.
+	 * 
+	 * @param i   The row
+	 * @param row The values of the row, which there has to be one of for every
+	 *            column
+	 */
+	public void setRow(int i, double... row) {
+		System.arraycopy(row, 0, matrix, i * columns, columns);
+	}
+
+	/**
+	 * Returns the number of rows.
+	 * 
+	 * @return The number of rows
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * Returns the number of columns.
+	 * 
+	 * @return The number of columns
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Returns the internal array that the {@link org.jtimer.Regression.Matrix
+	 * matrix} is using, with the elements row by row, so that a lot of elements
+	 * can be read or written at once. Element <i>i</i>, <i>j</i> is at
+	 * <i>i</i> * {@link org.jtimer.Regression.Matrix#getColumns() columns} +
+	 * <i>j</i>.
+	 * 
+	 * @return The elements of the {@link org.jtimer.Regression.Matrix matrix}
+	 */
+	public double[] getValues() {
+		return matrix;
 	}
 
 	/**
@@ -279,20 +422,29 @@ public class Matrix {
 	 */
 	public String toString() {
 		StringBuilder string = new StringBuilder();
-		for (Double[] arr : matrix) {
-			string.append(Arrays.toString(arr) + "\n");
+		for (int i = 0; i < rows; i++) {
+			string.append(Arrays.toString(Arrays.copyOfRange(matrix, i * columns, (i + 1) * columns)) + "\n");
 		}
 		return string.toString();
 	}
 
 	/**
-	 * Returns the internal array that the {@link org.jtimer.Regression.Matrix
-	 * matrix} is using.
+	 * Returns a copy of the {@link org.jtimer.Regression.Matrix matrix} as a
+	 * Double[][]. Changing it doesn't change the
+	 * {@link org.jtimer.Regression.Matrix matrix}, use
+	 * {@link org.jtimer.Regression.Matrix#set(int, int, double) set} or
+	 * {@link org.jtimer.Regression.Matrix#getValues() getValues} for that.
 	 * 
 	 * @return The Double[][] representing the {@link org.jtimer.Regression.Matrix
 	 *         matrix}
 	 */
 	public Double[][] toArray() {
-		return matrix.clone();
+		Double[][] result = new Double[rows][columns];
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < columns; j++) {
+				result[i][j] = matrix[i * columns + j];
+			}
+		}
+		return result;
 	}
 }
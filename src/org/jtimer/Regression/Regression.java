@@ -64,11 +64,12 @@ public abstract class Regression implements Comparable<Regression> {
 	}
 
 	/**
-	 * Comapres one regression to another by using the error.
+	 * Comapres one regression to another by using the error. A fit that couldn't
+	 * be calculated has an error of NaN, which comes after everything else.
 	 */
 	@Override
 	public int compareTo(Regression reg) {
-		return (int) Math.round((error - reg.error) * 100);
+		return Double.compare(error, reg.error);
 	}
 
 	/**
@@ -0,0 +1,224 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Results;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Properties;
+
+import org.jtimer.Statistics.Descriptive;
+import org.jtimer.Statistics.MannWhitney;
+
+/**
+ * Remembers the samples of every method between runs, so that each run can be
+ * compared to the one before it. Each class gets a file in the directory of
+ * the history, named after the class with .history at the end, which has the
+ * corrected samples of the last run of each method, and of each value of the
+ * {@link org.jtimer.Annotations.Param @Param} if it has one. The samples of a
+ * run are compared to the ones in the file with a
+ * {@link org.jtimer.Statistics.MannWhitney Mann-Whitney U test}, and the
+ * report gets whether the method got significantly slower or faster. Once
+ * everything has been compared the samples of the run replace the ones in the
+ * file, so they're what the next run is compared to.
+ * 
+ * @see org.jtimer.Runner#setHistory(History)
+ * 
+ * @author MagneticZero
+ */
+public class History {
+
+	/**
+	 * The directory the files go in.
+	 */
+	private Path directory;
+	/**
+	 * The largest p-value that counts as significant.
+	 */
+	private double significance;
+	/**
+	 * The smallest effect size that is reported as a change.
+	 */
+	private double effectSize;
+	/**
+	 * The class whose file is {@link History#baseline loaded}.
+	 */
+	private Class<?> loaded;
+	/**
+	 * The contents of the file of the {@link History#loaded loaded} class.
+	 */
+	private Properties baseline = new Properties();
+
+	/**
+	 * Creates a history in a directory, which reports a change if its p-value is
+	 * at most 0.01 and its effect size is at least 0.15, which is a small effect.
+	 * 
+	 * @param directory The directory, which has to exist
+	 */
+	public History(Path directory) {
+		this(directory, 0.01, 0.15);
+	}
+
+	/**
+	 * Creates a history in a directory.
+	 * 
+	 * @param directory    The directory, which has to exist
+	 * @param significance The largest p-value that counts as significant
+	 * @param effectSize   The smallest {@link MannWhitney#getEffectSize() effect
+	 *                     size} that is reported as a change
+	 */
+	public History(Path directory, double significance, double effectSize) {
+		this.directory = directory;
+		this.significance = significance;
+		this.effectSize = effectSize;
+	}
+
+	/**
+	 * Returns the file that the history of a class is kept in.
+	 * 
+	 * @param cls The class
+	 * @return The file
+	 */
+	public Path getFile(Class<?> cls) {
+		return directory.resolve(cls.getName() + ".history");
+	}
+
+	/**
+	 * Compares the samples of a method to the last run of it, if there was one,
+	 * and adds how it changed to the report. A significant slowdown is added as a
+	 * warning. The samples then become the baseline of the method once the class
+	 * is {@link History#save(Class) saved}.
+	 * 
+	 * @param cls        The class of the method
+	 * @param method     The name of the method
+	 * @param parameter  The name and value of the
+	 *                   {@link org.jtimer.Annotations.Param @Param}, like n = 10,
+	 *                   or null if there isn't one
+	 * @param samples    The corrected samples of the run
+	 * @param throughput If the samples are a throughput, which means higher is
+	 *                   faster rather than slower
+	 * @param report     The report to add to
+	 * @param prefix     What goes in front of the line
+	 * @throws IOException If the file of the class can't be read
+	 */
+	public void compare(Class<?> cls, String method, String parameter, long[] samples, boolean throughput, Report report, String prefix) throws IOException {
+		load(cls);
+		String key = parameter == null ? method : method + " [" + parameter + "]";
+		String stored = baseline.getProperty(key + ".samples");
+		baseline.setProperty(key + ".samples", join(samples));
+		String time = baseline.getProperty(key + ".time");
+		baseline.setProperty(key + ".time", Long.toString(System.currentTimeMillis()));
+		if (stored == null || samples.length == 0) {
+			return;
+		}
+		long[] previous = split(stored);
+		if (previous.length == 0) {
+			return;
+		}
+		MannWhitney test = new MannWhitney(previous, samples);
+		long before = Descriptive.median(previous);
+		double change = before != 0 ? 100d * (Descriptive.median(samples) - before) / before : 0;
+		DateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+		String since = time != null ? " of " + format.format(new Date(Long.parseLong(time))) : "";
+		if (!test.differs(significance, effectSize)) {
+			report.add(method, prefix + String.format("History: no significant change from the run%s (%+.1f%% median, p = %.3f)", since, change, test.getP()));
+			return;
+		}
+		boolean slower = throughput ? test.getEffectSize() < 0 : test.getEffectSize() > 0;
+		String line = String.format("History: %s than the run%s (%+.1f%% median, p = %.3g, effect size %.2f)", slower ? "slower" : "faster", since, change, test.getP(), Math.abs(test.getEffectSize()));
+		if (slower) {
+			report.warn(method, prefix + line);
+		} else {
+			report.add(method, prefix + line);
+		}
+	}
+
+	/**
+	 * Writes the samples that were {@link History#compare compared} to the file
+	 * of a class, so that they're the baseline of the next run.
+	 * 
+	 * @param cls The class
+	 * @throws IOException If the file can't be written
+	 */
+	public void save(Class<?> cls) throws IOException {
+		load(cls);
+		try (Writer out = Files.newBufferedWriter(getFile(cls), StandardCharsets.UTF_8)) {
+			baseline.store(out, "JTimer history of " + cls.getName());
+		}
+	}
+
+	/**
+	 * Loads the file of a class, unless it's already loaded.
+	 * 
+	 * @param cls The class
+	 * @throws IOException If the file can't be read
+	 */
+	private void load(Class<?> cls) throws IOException {
+		if (cls == loaded) {
+			return;
+		}
+		baseline = new Properties();
+		Path file = getFile(cls);
+		if (Files.exists(file)) {
+			try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+				baseline.load(in);
+			}
+		}
+		loaded = cls;
+	}
+
+	/**
+	 * Turns samples into a comma separated list.
+	 * 
+	 * @param samples The samples
+	 * @return The list
+	 */
+	private static String join(long[] samples) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < samples.length; i++) {
+			sb.append(i > 0 ? "," : "").append(samples[i]);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Turns a comma separated list back into samples.
+	 * 
+	 * @param list The list
+	 * @return The samples
+	 */
+	private static long[] split(String list) {
+		if (list.isEmpty()) {
+			return new long[0];
+		}
+		String[] parts = list.split(",");
+		long[] samples = new long[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			samples[i] = Long.parseLong(parts[i].trim());
+		}
+		return samples;
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Results;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+
+/**
+ * A textual summary of a timed class. Each method gets its own section of
+ * lines, and warnings are kept with the method they are about so that they
+ * don't get lost. This is printed once all methods of the class have been
+ * timed.
+ * 
+ * @author MagneticZero
+ */
+public class Report {
+
+	/**
+	 * The title of the report, usually the name of the class.
+	 */
+	private String title;
+	/**
+	 * The lines of each method, in the order that the methods were added.
+	 */
+	private LinkedHashMap<String, List<String>> lines = new LinkedHashMap<>();
+	/**
+	 * The amount of warnings in the report.
+	 */
+	private int warnings = 0;
+
+	/**
+	 * Creates an empty report.
+	 * 
+	 * @param title The title of the report
+	 */
+	public Report(String title) {
+		this.title = title;
+	}
+
+	/**
+	 * Adds a line to the section of a method.
+	 * 
+	 * @param method The name of the method
+	 * @param line   The line to add
+	 */
+	public void add(String method, String line) {
+		lines.computeIfAbsent(method, key -> new ArrayList<>()).add(line);
+	}
+
+	/**
+	 * Adds a warning to the section of a method.
+	 * 
+	 * @param method  The name of the method
+	 * @param warning The warning to add
+	 */
+	public void warn(String method, String warning) {
+		add(method, "WARNING: " + warning);
+		warnings++;
+	}
+
+	/**
+	 * Returns the lines of a method.
+	 * 
+	 * @param method The name of the method
+	 * @return The lines of the method, empty if there are none
+	 */
+	public List<String> get(String method) {
+		return lines.getOrDefault(method, new ArrayList<>());
+	}
+
+	/**
+	 * Returns the amount of warnings in the report.
+	 * 
+	 * @return The amount of warnings
+	 */
+	public int getWarnings() {
+		return warnings;
+	}
+
+	/**
+	 * Prints the report.
+	 * 
+	 * @param out The stream to print the report to
+	 */
+	public void print(PrintStream out) {
+		out.print(toString());
+	}
+
+	/**
+	 * Formats the report, with the lines of each method indented below its name.
+	 * 
+	 * @return The formatted report
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(title).append(System.lineSeparator());
+		for (Entry<String, List<String>> method : lines.entrySet()) {
+			sb.append("  ").append(method.getKey()).append(System.lineSeparator());
+			for (String line : method.getValue()) {
+				sb.append("    ").append(line).append(System.lineSeparator());
+			}
+		}
+		return sb.toString();
+	}
+}
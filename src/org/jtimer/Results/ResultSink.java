@@ -0,0 +1,83 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Results;
+
+import org.jtimer.Execution.ExecutionPlan;
+import org.jtimer.Execution.SampleListener;
+import org.jtimer.Execution.TimedMethod;
+
+/**
+ * Somewhere for the results of a run to go besides the
+ * {@link org.jtimer.Grapher grapher}. A sink gets every sample of a class as
+ * it's taken, since it's a {@link org.jtimer.Execution.SampleListener sample
+ * listener}, and the {@link org.jtimer.Results.Report report} of the class once
+ * it's done. This is the only place results go when the
+ * {@link org.jtimer.Runner#setHeadless(boolean) runner is headless}, and by
+ * default the report gets printed to {@link java.lang.System#out System.out}.
+ * 
+ * @see org.jtimer.Runner#addSink(ResultSink)
+ * 
+ * @author MagneticZero
+ */
+@FunctionalInterface
+public interface ResultSink extends SampleListener {
+
+	/**
+	 * Called before a class is timed, before any of its samples.
+	 * 
+	 * @param plan The plan of the class
+	 */
+	public default void started(ExecutionPlan plan) {
+		// Nothing by default
+	}
+
+	/**
+	 * Ignores the sample, since a sink that only wants the report doesn't need
+	 * them.
+	 * 
+	 * @param method The method that was timed
+	 * @param x      The repetition of the sample
+	 * @param nanos  The raw time of the sample
+	 */
+	@Override
+	public default void sample(TimedMethod method, long x, long nanos) {
+		// Nothing by default
+	}
+
+	/**
+	 * Ignores the progress, that's what the {@link org.jtimer.Grapher grapher} is
+	 * for.
+	 * 
+	 * @param progress The progress that has been completed, between 0 and 1
+	 * @param warmup   If this is the progress of the warmup
+	 */
+	@Override
+	public default void progress(double progress, boolean warmup) {
+		// Nothing by default
+	}
+
+	/**
+	 * Called once a class has been timed, in every JVM it was timed in.
+	 * 
+	 * @param plan   The plan of the class
+	 * @param report The report of the class
+	 */
+	public void finished(ExecutionPlan plan, Report report);
+}
@@ -0,0 +1,400 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Results;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+
+import org.jtimer.Execution.Calibration;
+import org.jtimer.Execution.ExecutionPlan;
+import org.jtimer.Execution.TimedMethod;
+
+/**
+ * A {@link org.jtimer.Results.ResultSink sink} that exports every sample to a
+ * CSV or JSON Lines file while the class is being timed, rather than from the
+ * graph once it's done. Each class gets its own file in the directory of the
+ * export, named after the class with .csv or .jsonl at the end. Every sample
+ * is a row with the method, the fork, the x, the raw time, the raw bytes
+ * allocated, CPU time and user time, which are left empty if they weren't
+ * measured, and if it overlapped a garbage collection or a JIT compilation.
+ * <br>
+ * The rows are formatted into the same {@link java.lang.StringBuilder
+ * StringBuilder} every time and written through a buffer of a fixed size, so
+ * exporting doesn't make any garbage for every sample and doesn't keep more
+ * than the buffer in memory no matter how many samples there are. Since some
+ * of the counters come in after the sample, a row is only written once the
+ * next sample comes in.
+ * 
+ * @author MagneticZero
+ */
+public class SampleExport implements ResultSink {
+
+	/**
+	 * The formats that samples can be exported in.
+	 */
+	public enum Format {
+		/**
+		 * Comma separated values, with a header row.
+		 */
+		CSV(".csv"),
+		/**
+		 * A JSON object for every sample, one per line.
+		 */
+		JSON_LINES(".jsonl");
+
+		/**
+		 * What the names of the files end with.
+		 */
+		private String extension;
+
+		/**
+		 * Creates a format.
+		 * 
+		 * @param extension What the names of the files end with
+		 */
+		private Format(String extension) {
+			this.extension = extension;
+		}
+	}
+
+	/**
+	 * The directory the files go in.
+	 */
+	private Path directory;
+	/**
+	 * The format of the files.
+	 */
+	private Format format;
+	/**
+	 * The size of the buffer, in characters.
+	 */
+	private int bufferSize;
+	/**
+	 * The file of the class being timed.
+	 */
+	private Writer out;
+	/**
+	 * The escaped name of each method of the class being timed.
+	 */
+	private HashMap<TimedMethod, String> names = new HashMap<>();
+	/**
+	 * The row being formatted.
+	 */
+	private StringBuilder row = new StringBuilder();
+	/**
+	 * What the row is copied into to be written.
+	 */
+	private char[] chars = new char[256];
+	/**
+	 * The fork the samples are from, counted by the
+	 * {@link SampleExport#calibrated(Calibration) calibrations}.
+	 */
+	private int fork;
+	/**
+	 * The method of the sample that hasn't been written yet, null if there is
+	 * none.
+	 */
+	private TimedMethod method;
+	/**
+	 * The x of the sample that hasn't been written yet.
+	 */
+	private long x;
+	/**
+	 * The raw time of the sample that hasn't been written yet.
+	 */
+	private long nanos;
+	/**
+	 * The raw bytes allocated by the sample that hasn't been written yet.
+	 */
+	private long allocated;
+	/**
+	 * The raw CPU time of the sample that hasn't been written yet.
+	 */
+	private long cpuTime;
+	/**
+	 * The user time of the sample that hasn't been written yet.
+	 */
+	private long userTime;
+	/**
+	 * If the sample that hasn't been written yet overlapped a garbage
+	 * collection.
+	 */
+	private boolean collected;
+	/**
+	 * If the sample that hasn't been written yet came after a JIT compilation.
+	 */
+	private boolean compiled;
+	/**
+	 * If the next sample overlapped a garbage collection, since that's known
+	 * before the sample is.
+	 */
+	private boolean nextCollected;
+	/**
+	 * If the next sample came after a JIT compilation.
+	 */
+	private boolean nextCompiled;
+
+	/**
+	 * Creates an export that writes the samples of every class to a file in a
+	 * directory, with a buffer of 64K characters.
+	 * 
+	 * @param directory The directory, which has to exist
+	 * @param format    The format of the files
+	 */
+	public SampleExport(Path directory, Format format) {
+		this(directory, format, 1 << 16);
+	}
+
+	/**
+	 * Creates an export that writes the samples of every class to a file in a
+	 * directory.
+	 * 
+	 * @param directory  The directory, which has to exist
+	 * @param format     The format of the files
+	 * @param bufferSize The size of the buffer, in characters
+	 */
+	public SampleExport(Path directory, Format format, int bufferSize) {
+		this.directory = directory;
+		this.format = format;
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * Returns the file that the samples of a class are exported to.
+	 * 
+	 * @param cls The class
+	 * @return The file
+	 */
+	public Path getFile(Class<?> cls) {
+		return directory.resolve(cls.getName() + format.extension);
+	}
+
+	/**
+	 * Creates the file of a class, with the header row if it's a CSV.
+	 * 
+	 * @param plan The plan of the class
+	 */
+	@Override
+	public void started(ExecutionPlan plan) {
+		try {
+			out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(getFile(plan.getPlannedClass())), StandardCharsets.UTF_8), bufferSize);
+			names.clear();
+			for (TimedMethod method : plan.getTimed()) {
+				names.put(method, format == Format.CSV ? csv(method.getName()) : json(method.getName()));
+			}
+			if (format == Format.CSV) {
+				out.write("method,fork,x,nanos,allocated,cpuTime,userTime,collected,compiled");
+				out.write(System.lineSeparator());
+			}
+			fork = -1;
+			method = null;
+			nextCollected = false;
+			nextCompiled = false;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Counts the forks, since a calibration comes before the samples of every
+	 * JVM.
+	 * 
+	 * @param calibration The calibration
+	 */
+	@Override
+	public void calibrated(Calibration calibration) {
+		fork++;
+	}
+
+	/**
+	 * Writes the sample before this one, and keeps this one until its counters
+	 * come in.
+	 * 
+	 * @param method The method that was timed
+	 * @param x      The repetition of the sample
+	 * @param nanos  The raw time of the sample
+	 */
+	@Override
+	public void sample(TimedMethod method, long x, long nanos) {
+		write();
+		this.method = method;
+		this.x = x;
+		this.nanos = nanos;
+		allocated = -1;
+		cpuTime = -1;
+		userTime = -1;
+		collected = nextCollected;
+		compiled = nextCompiled;
+		nextCollected = false;
+		nextCompiled = false;
+	}
+
+	/**
+	 * Remembers that the next sample came after a JIT compilation.
+	 * 
+	 * @param method The method that was timed
+	 * @param x      The repetition of the sample
+	 * @param millis How long the JIT was compiling
+	 */
+	@Override
+	public void compiled(TimedMethod method, long x, long millis) {
+		nextCompiled = true;
+	}
+
+	/**
+	 * Remembers that the next sample overlapped a garbage collection.
+	 * 
+	 * @param method      The method that was timed
+	 * @param x           The repetition of the sample
+	 * @param collections The amount of collections
+	 * @param millis      How long the collections took
+	 */
+	@Override
+	public void collected(TimedMethod method, long x, long collections, long millis) {
+		nextCollected = true;
+	}
+
+	/**
+	 * Adds the bytes allocated to the last sample.
+	 * 
+	 * @param method The method that was timed
+	 * @param x      The repetition of the sample
+	 * @param bytes  The raw bytes allocated during the sample
+	 */
+	@Override
+	public void allocated(TimedMethod method, long x, long bytes) {
+		allocated = bytes;
+	}
+
+	/**
+	 * Adds the CPU time and user time to the last sample.
+	 * 
+	 * @param method   The method that was timed
+	 * @param x        The repetition of the sample
+	 * @param cpuTime  The raw CPU time of the sample
+	 * @param userTime The part of it spent in user mode
+	 */
+	@Override
+	public void cpuTime(TimedMethod method, long x, long cpuTime, long userTime) {
+		this.cpuTime = cpuTime;
+		this.userTime = userTime;
+	}
+
+	/**
+	 * Writes the last sample and closes the file of the class.
+	 * 
+	 * @param plan   The plan of the class
+	 * @param report The report of the class
+	 */
+	@Override
+	public void finished(ExecutionPlan plan, Report report) {
+		try {
+			write();
+			out.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			out = null;
+		}
+	}
+
+	/**
+	 * Writes the sample that hasn't been written yet, if there is one.
+	 */
+	private void write() {
+		if (method == null) {
+			return;
+		}
+		row.setLength(0);
+		if (format == Format.CSV) {
+			row.append(names.get(method)).append(',').append(Math.max(0, fork)).append(',').append(x).append(',').append(nanos).append(',');
+			counter(allocated, "").append(',');
+			counter(cpuTime, "").append(',');
+			counter(userTime, "").append(',').append(collected).append(',').append(compiled);
+		} else {
+			row.append("{\"method\":").append(names.get(method)).append(",\"fork\":").append(Math.max(0, fork)).append(",\"x\":").append(x).append(",\"nanos\":").append(nanos).append(",\"allocated\":");
+			counter(allocated, "null").append(",\"cpuTime\":");
+			counter(cpuTime, "null").append(",\"userTime\":");
+			counter(userTime, "null").append(",\"collected\":").append(collected).append(",\"compiled\":").append(compiled).append('}');
+		}
+		row.append(System.lineSeparator());
+		if (chars.length < row.length()) {
+			chars = new char[row.length() * 2];
+		}
+		row.getChars(0, row.length(), chars, 0);
+		try {
+			out.write(chars, 0, row.length());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		method = null;
+	}
+
+	/**
+	 * Adds a counter to the row.
+	 * 
+	 * @param value   The counter, -1 if it wasn't measured
+	 * @param missing What goes in its place if it wasn't measured
+	 * @return The row
+	 */
+	private StringBuilder counter(long value, String missing) {
+		return value >= 0 ? row.append(value) : row.append(missing);
+	}
+
+	/**
+	 * Quotes a value of a CSV row if it needs to be.
+	 * 
+	 * @param value The value
+	 * @return The value, quoted if it has a comma, a quote or a line break in it
+	 */
+	static String csv(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	/**
+	 * Turns a value into a JSON string.
+	 * 
+	 * @param value The value
+	 * @return The quoted and escaped value
+	 */
+	static String json(String value) {
+		StringBuilder sb = new StringBuilder("\"");
+		for (char c : value.toCharArray()) {
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c < 0x20) {
+				sb.append(String.format("\\u%04x", (int) c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.append('"').toString();
+	}
+}
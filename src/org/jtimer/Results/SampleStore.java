@@ -0,0 +1,286 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Results;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+
+import org.jtimer.Execution.ExecutionPlan;
+import org.jtimer.Execution.TimedMethod;
+
+/**
+ * A {@link org.jtimer.Results.ResultSink sink} that writes every sample to a
+ * binary file as it comes in, so that runs with millions of samples can be
+ * kept around without keeping them on the heap. Each class gets its own file
+ * in the directory of the store, named after the class with .samples at the
+ * end, which can be read back with {@link org.jtimer.Results.StoredSamples
+ * StoredSamples}.
+ * <br>
+ * The file starts with a header that has the amount of samples and the name
+ * of each method, followed by a record of {@link SampleStore#RECORD 48 bytes}
+ * for every sample. A record has the index of the method, what overlapped the
+ * sample, the x, the raw time and the raw bytes allocated, CPU time and user
+ * time, which are -1 if they weren't measured. The records are written through
+ * a memory mapped window of the file that is moved along as it fills up,
+ * which means that writing a sample is just a few puts, and that the amount
+ * of samples in the header is always up to date even if the JVM dies
+ * halfway.
+ * 
+ * @author MagneticZero
+ */
+public class SampleStore implements ResultSink {
+
+	/**
+	 * What every sample file starts with, which is JTSS.
+	 */
+	static final int MAGIC = 0x4A545353;
+	/**
+	 * The version of the format of the file.
+	 */
+	static final int VERSION = 1;
+	/**
+	 * Where the amount of samples is in the header.
+	 */
+	static final int COUNT = 8;
+	/**
+	 * The size of a record, in bytes.
+	 */
+	static final int RECORD = 48;
+	/**
+	 * The amount of records in each window of the file that is mapped at once.
+	 */
+	static final int WINDOW = 1 << 16;
+	/**
+	 * The flag of a sample that overlapped a garbage collection.
+	 */
+	public static final int COLLECTED = 1;
+	/**
+	 * The flag of a sample that came after a JIT compilation.
+	 */
+	public static final int COMPILED = 2;
+
+	/**
+	 * The directory the files go in.
+	 */
+	private Path directory;
+	/**
+	 * The file of the class being timed.
+	 */
+	private FileChannel channel;
+	/**
+	 * The mapped amount of samples in the header of the file.
+	 */
+	private MappedByteBuffer header;
+	/**
+	 * The mapped window of the file that the records are being written to.
+	 */
+	private MappedByteBuffer records;
+	/**
+	 * Where in the file the records start.
+	 */
+	private long start;
+	/**
+	 * The index of the first record of the {@link SampleStore#records window}.
+	 */
+	private long window;
+	/**
+	 * The amount of samples written to the file.
+	 */
+	private long count;
+	/**
+	 * The index of each method of the class being timed.
+	 */
+	private HashMap<TimedMethod, Integer> indices = new HashMap<>();
+	/**
+	 * The flags of the sample that comes next, since those are known before the
+	 * sample is.
+	 */
+	private int flags;
+
+	/**
+	 * Creates a store that writes the samples of every class to a file in a
+	 * directory.
+	 * 
+	 * @param directory The directory, which has to exist
+	 */
+	public SampleStore(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Returns the file that the samples of a class are written to.
+	 * 
+	 * @param cls The class
+	 * @return The file
+	 */
+	public Path getFile(Class<?> cls) {
+		return directory.resolve(cls.getName() + ".samples");
+	}
+
+	/**
+	 * Creates the file of a class and writes its header.
+	 * 
+	 * @param plan The plan of the class
+	 */
+	@Override
+	public void started(ExecutionPlan plan) {
+		try {
+			channel = FileChannel.open(getFile(plan.getPlannedClass()), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			TimedMethod[] methods = plan.getTimed();
+			byte[][] names = new byte[methods.length][];
+			int size = 20;
+			indices.clear();
+			for (int i = 0; i < methods.length; i++) {
+				indices.put(methods[i], i);
+				names[i] = methods[i].getName().getBytes(StandardCharsets.UTF_8);
+				size += 4 + names[i].length;
+			}
+			ByteBuffer buffer = ByteBuffer.allocate((size + 7) & ~7); // So that the records are aligned
+			buffer.putInt(MAGIC).putInt(VERSION).putLong(0).putInt(methods.length);
+			for (byte[] name : names) {
+				buffer.putInt(name.length).put(name);
+			}
+			buffer.rewind();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			start = buffer.capacity();
+			header = channel.map(MapMode.READ_WRITE, 0, COUNT + 8);
+			records = null;
+			window = 0;
+			count = 0;
+			flags = 0;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Writes a record for a sample, without any of the counters since those come
+	 * after it.
+	 * 
+	 * @param method The method that was timed
+	 * @param x      The repetition of the sample
+	 * @param nanos  The raw time of the sample
+	 */
+	@Override
+	public void sample(TimedMethod method, long x, long nanos) {
+		if (records == null || count - window >= WINDOW) {
+			try {
+				window = count;
+				records = channel.map(MapMode.READ_WRITE, start + window * RECORD, (long) WINDOW * RECORD);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		records.position((int) (count - window) * RECORD);
+		records.putInt(indices.get(method)).putInt(flags).putLong(x).putLong(nanos).putLong(-1).putLong(-1).putLong(-1);
+		flags = 0;
+		header.putLong(COUNT, ++count);
+	}
+
+	/**
+	 * Flags the next sample as having come after a JIT compilation.
+	 * 
+	 * @param method The method that was timed
+	 * @param x      The repetition of the sample
+	 * @param millis How long the JIT was compiling
+	 */
+	@Override
+	public void compiled(TimedMethod method, long x, long millis) {
+		flags |= COMPILED;
+	}
+
+	/**
+	 * Flags the next sample as having overlapped a garbage collection.
+	 * 
+	 * @param method      The method that was timed
+	 * @param x           The repetition of the sample
+	 * @param collections The amount of collections
+	 * @param millis      How long the collections took
+	 */
+	@Override
+	public void collected(TimedMethod method, long x, long collections, long millis) {
+		flags |= COLLECTED;
+	}
+
+	/**
+	 * Adds the bytes allocated to the record of the last sample.
+	 * 
+	 * @param method The method that was timed
+	 * @param x      The repetition of the sample
+	 * @param bytes  The raw bytes allocated during the sample
+	 */
+	@Override
+	public void allocated(TimedMethod method, long x, long bytes) {
+		if (count > window) {
+			records.putLong((int) (count - 1 - window) * RECORD + 24, bytes);
+		}
+	}
+
+	/**
+	 * Adds the CPU time and user time to the record of the last sample.
+	 * 
+	 * @param method   The method that was timed
+	 * @param x        The repetition of the sample
+	 * @param cpuTime  The raw CPU time of the sample
+	 * @param userTime The part of it spent in user mode
+	 */
+	@Override
+	public void cpuTime(TimedMethod method, long x, long cpuTime, long userTime) {
+		if (count > window) {
+			records.putLong((int) (count - 1 - window) * RECORD + 32, cpuTime);
+			records.putLong((int) (count - 1 - window) * RECORD + 40, userTime);
+		}
+	}
+
+	/**
+	 * Closes the file of the class, without the part of the last window that no
+	 * samples were written to.
+	 * 
+	 * @param plan   The plan of the class
+	 * @param report The report of the class
+	 */
+	@Override
+	public void finished(ExecutionPlan plan, Report report) {
+		try {
+			if (records != null) {
+				records.force();
+			}
+			header.force();
+			channel.truncate(start + count * RECORD);
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			channel = null;
+			header = null;
+			records = null;
+		}
+	}
+}
@@ -0,0 +1,242 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Results;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+
+/**
+ * Reads back the samples that a {@link org.jtimer.Results.SampleStore sample
+ * store} wrote. Nothing is read until it's asked for, the file is mapped one
+ * window at a time as the samples in it are needed, so even a file with more
+ * samples than would fit on the heap can be gone through. The file can be read
+ * while it's still being written, {@link StoredSamples#size() size} is always
+ * the amount of samples written so far.
+ * 
+ * @author MagneticZero
+ */
+public class StoredSamples implements Closeable {
+
+	/**
+	 * The file being read.
+	 */
+	private FileChannel channel;
+	/**
+	 * The names of the methods, in the order of their indices.
+	 */
+	private String[] methods;
+	/**
+	 * The mapped header of the file.
+	 */
+	private MappedByteBuffer header;
+	/**
+	 * Where in the file the records start.
+	 */
+	private long start;
+	/**
+	 * The windows of the file that have been mapped so far.
+	 */
+	private HashMap<Long, MappedByteBuffer> windows = new HashMap<>();
+
+	/**
+	 * Opens a file written by a {@link org.jtimer.Results.SampleStore sample
+	 * store} and reads its header.
+	 * 
+	 * @param file The file
+	 * @throws IOException If the file can't be read or isn't a sample file
+	 */
+	public StoredSamples(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			ByteBuffer buffer = ByteBuffer.allocate(20);
+			channel.read(buffer, 0);
+			buffer.flip();
+			if (buffer.remaining() < 20 || buffer.getInt() != SampleStore.MAGIC || buffer.getInt() != SampleStore.VERSION) {
+				throw new IOException(file + " isn't a sample file");
+			}
+			buffer.getLong();
+			methods = new String[buffer.getInt()];
+			long position = 20;
+			for (int i = 0; i < methods.length; i++) {
+				ByteBuffer length = ByteBuffer.allocate(4);
+				channel.read(length, position);
+				byte[] name = new byte[length.flip().getInt()];
+				channel.read(ByteBuffer.wrap(name), position + 4);
+				methods[i] = new String(name, StandardCharsets.UTF_8);
+				position += 4 + name.length;
+			}
+			start = (position + 7) & ~7;
+			header = channel.map(MapMode.READ_ONLY, 0, SampleStore.COUNT + 8);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the amount of samples in the file.
+	 * 
+	 * @return The amount of samples
+	 */
+	public long size() {
+		return header.getLong(SampleStore.COUNT);
+	}
+
+	/**
+	 * Returns the names of the methods, in the order of their
+	 * {@link StoredSamples#getMethod(long) indices}.
+	 * 
+	 * @return The names of the methods
+	 */
+	public String[] getMethods() {
+		return methods.clone();
+	}
+
+	/**
+	 * Returns the index of the method of a sample.
+	 * 
+	 * @param sample The index of the sample
+	 * @return The index of the method in {@link StoredSamples#getMethods()
+	 *         getMethods}
+	 * @throws IOException If the file can't be read
+	 */
+	public int getMethod(long sample) throws IOException {
+		return window(sample).getInt(offset(sample));
+	}
+
+	/**
+	 * Returns what overlapped a sample.
+	 * 
+	 * @param sample The index of the sample
+	 * @return The flags of the sample, {@link SampleStore#COLLECTED COLLECTED}
+	 *         and {@link SampleStore#COMPILED COMPILED}
+	 * @throws IOException If the file can't be read
+	 */
+	public int getFlags(long sample) throws IOException {
+		return window(sample).getInt(offset(sample) + 4);
+	}
+
+	/**
+	 * Returns the x of a sample, which is the repetition or the value of the
+	 * {@link org.jtimer.Annotations.Param @Param}.
+	 * 
+	 * @param sample The index of the sample
+	 * @return The x of the sample
+	 * @throws IOException If the file can't be read
+	 */
+	public long getX(long sample) throws IOException {
+		return window(sample).getLong(offset(sample) + 8);
+	}
+
+	/**
+	 * Returns the raw time of a sample.
+	 * 
+	 * @param sample The index of the sample
+	 * @return The raw time, in nanoseconds
+	 * @throws IOException If the file can't be read
+	 */
+	public long getNanos(long sample) throws IOException {
+		return window(sample).getLong(offset(sample) + 16);
+	}
+
+	/**
+	 * Returns the raw bytes allocated during a sample.
+	 * 
+	 * @param sample The index of the sample
+	 * @return The bytes, -1 if they weren't counted
+	 * @throws IOException If the file can't be read
+	 */
+	public long getAllocated(long sample) throws IOException {
+		return window(sample).getLong(offset(sample) + 24);
+	}
+
+	/**
+	 * Returns the raw CPU time of a sample.
+	 * 
+	 * @param sample The index of the sample
+	 * @return The CPU time in nanoseconds, -1 if it wasn't measured
+	 * @throws IOException If the file can't be read
+	 */
+	public long getCpuTime(long sample) throws IOException {
+		return window(sample).getLong(offset(sample) + 32);
+	}
+
+	/**
+	 * Returns the part of the CPU time of a sample that was spent in user mode.
+	 * 
+	 * @param sample The index of the sample
+	 * @return The user time in nanoseconds, -1 if it wasn't measured
+	 * @throws IOException If the file can't be read
+	 */
+	public long getUserTime(long sample) throws IOException {
+		return window(sample).getLong(offset(sample) + 40);
+	}
+
+	/**
+	 * Returns the mapped window of the file that a sample is in, mapping it if it
+	 * hasn't been yet.
+	 * 
+	 * @param sample The index of the sample
+	 * @return The window
+	 * @throws IOException If the file can't be read
+	 */
+	private MappedByteBuffer window(long sample) throws IOException {
+		if (sample < 0 || sample >= size()) {
+			throw new IndexOutOfBoundsException("Sample " + sample + " out of " + size());
+		}
+		long window = sample / SampleStore.WINDOW;
+		MappedByteBuffer mapped = windows.get(window);
+		if (mapped == null) {
+			long position = start + window * SampleStore.WINDOW * SampleStore.RECORD;
+			mapped = channel.map(MapMode.READ_ONLY, position, Math.min((long) SampleStore.WINDOW * SampleStore.RECORD, channel.size() - position));
+			windows.put(window, mapped);
+		}
+		return mapped;
+	}
+
+	/**
+	 * Returns where the record of a sample is in its window.
+	 * 
+	 * @param sample The index of the sample
+	 * @return The offset of the record
+	 */
+	private static int offset(long sample) {
+		return (int) (sample % SampleStore.WINDOW) * SampleStore.RECORD;
+	}
+
+	/**
+	 * Closes the file, after which none of the samples can be read anymore.
+	 * 
+	 * @throws IOException If the file can't be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		windows.clear();
+		channel.close();
+	}
+}
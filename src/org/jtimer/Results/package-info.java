@@ -0,0 +1,6 @@
+/**
+ * The package in which everything relating to the results of a run is stored,
+ * besides the graph. Things like reports and statistics that are printed once
+ * a class has been timed, and the sinks they go to.
+ */
+package org.jtimer.Results;
\ No newline at end of file
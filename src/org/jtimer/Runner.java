@@ -21,44 +21,54 @@ package org.jtimer;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.BrokenBarrierException;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.CyclicBarrier;
-
-import org.jtimer.Annotations.After;
-import org.jtimer.Annotations.AfterClass;
-import org.jtimer.Annotations.Before;
-import org.jtimer.Annotations.BeforeClass;
-import org.jtimer.Annotations.DisplayName;
-import org.jtimer.Annotations.Settings;
-import org.jtimer.Annotations.Time;
-import org.jtimer.Annotations.Warmup;
-import org.jtimer.Annotations.Handler.AnnotationHandler;
-import org.jtimer.Collections.AnnotationMap;
+
+import org.jtimer.Annotations.Precision;
+import org.jtimer.Collections.LongList;
+import org.jtimer.Execution.BenchmarkThread;
+import org.jtimer.Execution.Calibration;
+import org.jtimer.Execution.ClassExecutor;
+import org.jtimer.Execution.ExecutionPlan;
+import org.jtimer.Execution.ForkedJVM;
+import org.jtimer.Execution.SampleListener;
+import org.jtimer.Execution.TimedMethod;
 import org.jtimer.Exceptions.Handler.PopupDialogue;
 import org.jtimer.Misc.Setting;
+import org.jtimer.Misc.TimingMode;
+import org.jtimer.Results.History;
+import org.jtimer.Results.Report;
+import org.jtimer.Results.ResultSink;
+import org.jtimer.Results.SampleStore;
+import org.jtimer.Results.StoredSamples;
+import org.jtimer.Statistics.Confidence;
+import org.jtimer.Statistics.Descriptive;
+import org.jtimer.Statistics.Histogram;
 
-import javafx.application.Platform;
 import javafx.scene.chart.XYChart;
 import javafx.scene.chart.XYChart.Series;
+import javafx.scene.paint.Color;
 
 /**
  * The brains behind everything I'd say. This is what times methods, adds
  * timeout to methods, adds the data to a graph, recursively finds all methods
  * inside a package, etc. It does a lot and I should probably split things up a
  * bit just to make it look better. To get a more detailed look at what the
- * runner does make sure to look at the time method.
+ * runner does make sure to look at the time method. If there's no display to
+ * graph on, the runner can be made {@link org.jtimer.Runner#setHeadless(boolean)
+ * headless} and the results only go to its
+ * {@link org.jtimer.Runner#addSink(org.jtimer.Results.ResultSink) sinks}.
  * 
  * @see org.jtimer.Runner#time(String, TimeMethod)
  * 
@@ -71,46 +81,71 @@ public class Runner {
 	 */
 	public static final String version = "v1.1.3";
 	/**
-	 * The {@link org.jtimer.Grapher graph} to put the data collected in.
+	 * The {@link org.jtimer.Grapher graph} to put the data collected in, which
+	 * is only started once it's needed since starting JavaFX takes a while.
 	 */
-	private static Grapher grapher = Grapher.start();
+	private static Grapher grapher;
 	/**
-	 * The test class that is being run.
+	 * If nothing gets graphed, so that JavaFX is never started and the results
+	 * only go to the {@link org.jtimer.Runner#sinks sinks}. By default this is
+	 * the jtimer.headless system property.
 	 */
-	private static Object object;
+	private static boolean headless = Boolean.getBoolean("jtimer.headless");
 	/**
-	 * The {@link java.lang.Thread thread} use to track timeout.
+	 * The {@link org.jtimer.Results.ResultSink sinks} that the results of every
+	 * class go to. By default the report is printed to
+	 * {@link java.lang.System#out System.out}.
 	 */
-	private static Thread time = new Thread();
+	private static List<ResultSink> sinks = new ArrayList<>(Arrays.asList((plan, report) -> report.print(System.out)));
 	/**
-	 * The timer to track timeout.
+	 * The {@link org.jtimer.Execution.BenchmarkThread benchmark thread} that all
+	 * timed methods of a run are executed on.
 	 */
-	private static long timer = -1;
+	private static BenchmarkThread benchmark;
 	/**
-	 * Used if someone wants to {@link java.util.concurrent.CountDownLatch#await()
-	 * await} the {@link org.jtimer.Runner runner}.
+	 * The {@link org.jtimer.Execution.Calibration calibration} of the current run,
+	 * used to take the overhead of JTimer out of every sample.
 	 */
-	private static CountDownLatch latch = new CountDownLatch(2);
+	private static Calibration calibration;
 	/**
-	 * A {@link org.jtimer.Collections.AnnotationMap annotation map} of
-	 * {@link java.lang.reflect.Method methods} that the {@link org.jtimer.Runner
-	 * runner} will {@link java.lang.reflect.Method#invoke(Object, Object...)
-	 * execute}.
+	 * The {@link org.jtimer.Results.History history} that every class is
+	 * compared to once it's timed, null if it isn't.
 	 */
-	private static AnnotationMap<Method> methods;
+	private static History history;
 	/**
-	 * Since creating a {@link org.jtimer.Annotations.Handler.AnnotationHandler
-	 * AnnotationHandler} could be quite taxing with meta annotations, a way of
-	 * mapping methods to their
-	 * {@link org.jtimer.Annotations.Handler.AnnotationHandler annotation handlers}
-	 * would be efficient.
+	 * The {@link org.jtimer.Results.SampleStore store} that the samples of every
+	 * class are written to as they're taken, null if they aren't. While there is
+	 * one the runner doesn't keep the samples itself.
 	 */
-	private static HashMap<Method, AnnotationHandler> methodHandlers;
+	private static SampleStore store;
+	/**
+	 * About how many of the samples of a class are graphed from the
+	 * {@link org.jtimer.Runner#store store} once the class has been timed.
+	 */
+	private static final int storedPoints = 100000;
+	/**
+	 * The amount of JVMs that each class is timed in, unless the class has a
+	 * {@link org.jtimer.Annotations.Fork @Fork}. By default this is 0, which means
+	 * classes are timed in this JVM.
+	 */
+	private static int forks = 0;
+	/**
+	 * The arguments given to each forked JVM, unless the class has a
+	 * {@link org.jtimer.Annotations.Fork @Fork}.
+	 */
+	private static String[] jvmArgs = new String[0];
+	/**
+	 * Used if someone wants to {@link java.util.concurrent.CountDownLatch#await()
+	 * await} the {@link org.jtimer.Runner runner}.
+	 */
+	private static CountDownLatch latch = new CountDownLatch(2);
 	/**
 	 * This {@link org.jtimer.Exceptions.Handler.PopupDialogue PopupDialogue} is
 	 * responsible for catching and logging exceptions caused by running JTimer.
+	 * Like the {@link org.jtimer.Runner#grapher grapher} it's only created once
+	 * there is an exception to show, and never if the runner is headless.
 	 */
-	protected static PopupDialogue exceptionCatcher = new PopupDialogue("Exception Catcher", true, "Ignore and Continue", true, "Exit JTimer");
+	private static PopupDialogue exceptionCatcher;
 
 	/**
 	 * Since everything is static there is no need to be able to instantiate a new
@@ -219,76 +254,192 @@ public class Runner {
 	 */
 	public static void time(String pkg, TimeMethod timeMethod) throws Throwable {
 		try {
-			methods = new AnnotationMap<>();
-			methodHandlers = new HashMap<>();
+			if (!headless) {
+				getGrapher();
+			}
+			benchmark = new BenchmarkThread(Runner::writeError);
+			calibration = Calibration.calibrate(benchmark);
 			Class<?>[] classes;
 			if (pkg.contains(".class")) {
 				classes = new Class[] { Class.forName(pkg.replace(".class", "")) };
 			} else {
 				classes = getClasses(pkg);
 			}
+			List<ResultSink> sinks = new ArrayList<>(Runner.sinks);
+			if (store != null) {
+				sinks.add(store);
+			}
 			for (Class<?> cls : classes) {
 				if (isInstantiable(cls)) {
-					Constructor<?> constructor = cls.getDeclaredConstructor(); // This is to access any protected classes
-					constructor.setAccessible(true);                           //
-					object = constructor.newInstance();                        //
-					long repetitions = 0;
-					for (Method method : cls.getDeclaredMethods()) {
-						methodHandlers.put(method, new AnnotationHandler(method));
-						methods.put(methodHandlers.get(method).getAnnotations(), method);
-						if (methodHandlers.get(method).isAnnotationPresent(Time.class)) {
-							repetitions += methodHandlers.get(method).getAnnotation(Time.class).repeat();
-						}
+					ExecutionPlan plan = ExecutionPlan.compile(cls);
+					Recorder recorder = new Recorder(plan, timeMethod, store);
+					if (plan.hasParameter() && !headless) {
+						grapher.setxDesc(plan.getParameterName()); // Samples are graphed against the input size instead of the repetition
+					}
+					for (ResultSink sink : sinks) {
+						sink.started(plan);
 					}
-					warmup(constructor.newInstance(), timeMethod); // So instance variables are left default
-					for (Method method : methods.get(BeforeClass.class)) {
-						method.setAccessible(true);
-						method.invoke(object);
+					SampleListener listener = SampleListener.of(recorder, SampleListener.of(sinks.toArray(new ResultSink[sinks.size()])));
+					int forks = plan.getForks() >= 0 ? plan.getForks() : Runner.forks;
+					if (forks <= 0) {
+						listener.calibrated(calibration);
+						new ClassExecutor(benchmark, listener).execute(plan);
+					} else {
+						for (int fork = 0; fork < forks; fork++) {
+							recorder.fork(fork, forks);
+							ForkedJVM.fork(plan, plan.getForks() >= 0 ? plan.getJvmArgs() : jvmArgs, listener);
+						}
 					}
-					long times = 0;
-					for (Method method : methods.get(Time.class)) {
-						Series<Number, Number> data = new Series<>();
-						for (int i = 1; i <= methodHandlers.get(method).getAnnotation(Time.class).repeat(); i++) {
-							for (Method bef : methods.get(Before.class)) {
-								bef.setAccessible(true);
-								bef.invoke(object);
-							}
-							runWithTimeout(method, timeMethod, data, i, methodHandlers.get(method).getAnnotation(Time.class).timeout(), object, false).await();
-							for (Method aft : methods.get(After.class)) {
-								aft.setAccessible(true);
-								aft.invoke(object);
-							}
-							times++;
-							grapher.setProgress((double) times / repetitions, false);
+					if (!headless) {
+						if (store != null) {
+							graphStored(cls);
 						}
+						recorder.graphPercentiles();
+						graphFinish(plan.hasSetting(Setting.BEST_FIT));
+					}
+					Report report = recorder.report(cls.getName());
+					if (history != null) {
+						recorder.compare(history, report);
 					}
-					for (Method method : methods.get(AfterClass.class)) {
-						method.setAccessible(true);
-						method.invoke(object);
+					for (ResultSink sink : sinks) {
+						sink.finished(plan, report);
 					}
-					AnnotationHandler clsHandler = new AnnotationHandler(cls);
-					graphFinish(clsHandler.isAnnotationPresent(Settings.class) && Arrays.stream(clsHandler.getAnnotation(Settings.class).value()).anyMatch(x -> x.equals(Setting.BEST_FIT)));
 				}
 			}
 			latch.countDown();
+			if (headless) {
+				latch.countDown(); // Nothing was graphed to count it down
+			}
 		} catch (InvocationTargetException e) {
 			throw e.getCause();
 		} catch (Throwable e) {
-			exceptionCatcher.writeError((Exception) e);
+			writeError(e);
 			throw e;
+		} finally {
+			if (benchmark != null) { // It's not there yet if the grapher couldn't be started
+				benchmark.shutdown();
+				benchmark = null;
+			}
 		}
 	}
 
 	/**
 	 * Returns the {@link org.jtimer.Grapher grapher} being used so that the user
-	 * can set the graph settings.
+	 * can set the graph settings. The grapher is started if it hasn't been yet,
+	 * even if the runner is headless, since asking for it means a graph is
+	 * wanted.
 	 * 
 	 * @return The {@link org.jtimer.Grapher graph} being used
 	 */
-	public static Grapher getGrapher() {
+	public static synchronized Grapher getGrapher() {
+		if (grapher == null) {
+			grapher = Grapher.start();
+		}
 		return grapher;
 	}
 
+	/**
+	 * Sets if the runner is headless. A headless runner doesn't graph anything or
+	 * show exceptions in a popup, so JavaFX is never started and JTimer can run
+	 * without a display. The results still go to the
+	 * {@link org.jtimer.Runner#addSink(ResultSink) sinks}. This can also be set
+	 * with the jtimer.headless system property.
+	 * 
+	 * @param headless If the runner should be headless
+	 */
+	public static void setHeadless(boolean headless) {
+		Runner.headless = headless;
+	}
+
+	/**
+	 * Tells if the runner is {@link org.jtimer.Runner#setHeadless(boolean)
+	 * headless}.
+	 * 
+	 * @return If the runner is headless
+	 */
+	public static boolean isHeadless() {
+		return headless;
+	}
+
+	/**
+	 * Adds a {@link org.jtimer.Results.ResultSink sink} that the results of
+	 * every class timed from now on go to, along with the ones already added.
+	 * 
+	 * @param sink The sink to add
+	 */
+	public static void addSink(ResultSink sink) {
+		sinks.add(sink);
+	}
+
+	/**
+	 * Replaces all of the {@link org.jtimer.Results.ResultSink sinks}, including
+	 * the one that prints the reports, with the given ones.
+	 * 
+	 * @param sinks The sinks the results should go to
+	 */
+	public static void setSinks(ResultSink... sinks) {
+		Runner.sinks = new ArrayList<>(Arrays.asList(sinks));
+	}
+
+	/**
+	 * Sets the {@link org.jtimer.Results.History history} that every class is
+	 * compared to once it has been timed, so that the report tells if a method got
+	 * slower or faster since the last time it was timed.
+	 * 
+	 * @param history The history, or null to not compare to anything
+	 */
+	public static void setHistory(History history) {
+		Runner.history = history;
+	}
+
+	/**
+	 * Sets the {@link org.jtimer.Results.SampleStore store} that the samples of
+	 * every class are written to as they're taken. While there is a store the
+	 * runner doesn't keep the samples, only
+	 * {@link org.jtimer.Statistics.Histogram histograms} of them, so that a run
+	 * with millions of samples doesn't fill up the heap. The report is made from
+	 * the histograms, the samples aren't compared to the
+	 * {@link org.jtimer.Runner#setHistory(History) history}, and they're graphed
+	 * from the file once the class has been timed instead of as they're taken.
+	 * 
+	 * @param store The store, or null to keep the samples
+	 */
+	public static void setStore(SampleStore store) {
+		Runner.store = store;
+	}
+
+	/**
+	 * Shows an exception caused by running JTimer in the
+	 * {@link org.jtimer.Runner#exceptionCatcher exception catcher}, or prints it
+	 * if the runner is headless.
+	 * 
+	 * @param e The exception
+	 */
+	static synchronized void writeError(Throwable e) {
+		if (headless) {
+			e.printStackTrace();
+			return;
+		}
+		if (exceptionCatcher == null) {
+			getGrapher(); // The popup needs JavaFX to be started
+			exceptionCatcher = new PopupDialogue("Exception Catcher", true, "Ignore and Continue", true, "Exit JTimer");
+		}
+		exceptionCatcher.writeError(e);
+	}
+
+	/**
+	 * Sets the amount of JVMs that each class is timed in, if the class doesn't
+	 * have a {@link org.jtimer.Annotations.Fork @Fork} of its own. If this is 0,
+	 * which it is by default, classes are timed in this JVM.
+	 * 
+	 * @param forks   The amount of JVMs each class is timed in
+	 * @param jvmArgs The arguments given to each JVM
+	 */
+	public static void setForks(int forks, String... jvmArgs) {
+		Runner.forks = forks;
+		Runner.jvmArgs = jvmArgs;
+	}
+
 	/**
 	 * Provides a method that allows one to wait for the {@link org.jtimer.Runner
 	 * runner} to execute all things that need timing if they want to execute more
@@ -300,182 +451,64 @@ public class Runner {
 	 */
 	public static void await() throws InterruptedException {
 		latch.await();
-		grapher.await();
-		Thread.sleep(1000); // Wait until everything is properly graphed
+		if (!headless) {
+			grapher.await();
+			Thread.sleep(1000); // Wait until everything is properly graphed
+		}
 	}
 
 	/**
-	 * Executed to warmup all the {@link java.lang.reflect.Method methods} and your
-	 * CPU, if you want. The class needs the
-	 * {@link org.jtimer.Annotations.Warmup @Warmup} annotation present in order for
-	 * this to be run. If present, it will run all
-	 * {@link org.jtimer.Annotations.Time @Time} annotated methods the defined
-	 * amount of times. This also handles all the class static variables by keeping
-	 * track of them and resetting them after the warmup has been executed back to
-	 * the initial values. It basically does all the same things
-	 * {@link org.jtimer.Runner#time(String) Runner.time(String)}.
+	 * Internal method used to add data to the graph.
 	 * 
-	 * @param obj        The object to use
-	 * @param timeMethod The functional interface for timing however you want
-	 * @throws IllegalArgumentException  If the proper arguments are not given
-	 * @throws IllegalAccessException    If a {@link java.lang.reflect.Method
-	 *                                   method}/{@link java.lang.reflect.Field
-	 *                                   field} is not accessible
-	 * @throws InvocationTargetException If the {@link java.lang.reflect.Method
-	 *                                   method} called throws an exception
-	 * @throws NoSuchFieldException      If a {@link java.lang.reflect.Field field}
-	 *                                   doesn't exist
-	 * @throws SecurityException         If the security manager throws an exception
-	 * @throws InterruptedException      If the latches/barriers throw an exception
-	 */
-	private static void warmup(Object obj, TimeMethod timeMethod) throws IllegalArgumentException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, SecurityException, InterruptedException {
-		AnnotationHandler objHandler = new AnnotationHandler(obj.getClass());
-		if (objHandler.isAnnotationPresent(Warmup.class)) {
-			HashMap<Field, Object> staticFieldValues = new HashMap<>(); // Since static fields are shared, we need to keep track of the values
-			for (Field field : obj.getClass().getDeclaredFields()) {
-				if (Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
-					field.setAccessible(true);
-					staticFieldValues.put(field, field.get(null));
-				}
-			}
-			for (Method method : methods.get(BeforeClass.class)) {
-				method.setAccessible(true);
-				method.invoke(obj);
-			}
-			long warmup = 0;
-			long total = objHandler.getAnnotation(Warmup.class).iterations() * methods.get(Time.class).size();
-			for (Method method : methods.get(Time.class)) {
-				for (int i = 0; i < objHandler.getAnnotation(Warmup.class).iterations(); i++) {
-					for (Method bef : methods.get(Before.class)) {
-						bef.setAccessible(true);
-						bef.invoke(obj);
-					}
-					if (Arrays.stream(obj.getClass().getDeclaredFields()).anyMatch(field -> field.getName().equals("counter"))) {
-						Field counter = obj.getClass().getDeclaredField("counter");
-						counter.setAccessible(true);
-						counter.set(obj, i);
-					}
-					runWithTimeout(method, timeMethod, null, i, methodHandlers.get(method).getAnnotation(Time.class).timeout(), obj, true).await();
-					for (Method aft : methods.get(After.class)) {
-						aft.setAccessible(true);
-						aft.invoke(obj);
-					}
-					warmup++;
-					grapher.setProgress((double) warmup / total, true);
-				}
-			}
-			for (Method method : methods.get(AfterClass.class)) {
-				method.setAccessible(true);
-				method.invoke(obj);
-			}
-			for (Field field : staticFieldValues.keySet()) {
-				field.set(null, staticFieldValues.get(field)); // Reset all static values
-			}
+	 * @param method The method that was timed
+	 * @param chart  The chart to add the data to
+	 * @param x      The x component
+	 * @param y      The y component
+	 * @param flag   The color to {@link org.jtimer.Grapher#flag(XYChart.Data, Color)
+	 *               flag} the data with, or null if it isn't flagged
+	 */
+	private static void graphData(TimedMethod method, Series<Number, Number> chart, long x, long y, Color flag) {
+		if (headless) {
+			return;
 		}
+		grapher.graph(null, null, null, chart, method.getName(), x, y, flag);
+		latch.countDown();
 	}
 
 	/**
-	 * Runs a {@link java.lang.reflect.Method method} with a given timeout.
+	 * Internal method used to add data to one of the
+	 * {@link org.jtimer.Grapher#getSecondaryPlot(String, String, String)
+	 * secondary charts}, which is created if it doesn't exist yet.
 	 * 
-	 * @param method     The {@link java.lang.reflect.Method method} to run
-	 * @param timeMethod The {@link org.jtimer.Runner.TimeMethod time method} to use
-	 *                   to time it
-	 * @param data       The series to add the data to
-	 * @param i          The current repetition
-	 * @param timeout    The timeout, in milliseconds
-	 * @param obj        The object to execute to use
-	 * @param warmup     If this is a warmup
-	 * @return A countdown latch so that the timer can wait
-	 */
-	private static CountDownLatch runWithTimeout(Method method, TimeMethod timeMethod, Series<Number, Number> data, long i, long timeout, Object obj, boolean warmup) {
-		try {
-			if (timeout < 0) {
-				timer = Long.MAX_VALUE;
-			} else {
-				timer = timeout;
-			}
-			CountDownLatch latch = new CountDownLatch(1);
-			CyclicBarrier gate = new CyclicBarrier(3);
-			Thread runnable = new Thread(() -> {
-				try {
-					gate.await();
-					method.setAccessible(true);
-					long startTime = System.nanoTime();
-					method.invoke(obj);
-					time.interrupt();
-					if (!Thread.interrupted() && !warmup) {
-						graphData(method, data, i, timeMethod.convertNano(System.nanoTime() - startTime));
-					}
-					latch.countDown();
-				} catch (ReflectiveOperationException | BrokenBarrierException e) {
-					// Ignore any exceptions related to reflection or barriers
-				} catch (Exception e) {
-					exceptionCatcher.writeError(e);
-				}
-			});
-			time = new Thread(() -> {
-				try {
-					gate.await();
-					long milliseconds = timer / 1000000;
-					Thread.sleep(milliseconds, (int) (timer - milliseconds * 1000000));
-					runnable.interrupt();
-					if (!Thread.interrupted() && !warmup) {
-						graphData(method, data, i, timeMethod.convertNano(timer));
-					}
-					latch.countDown();
-				} catch (Exception e) {
-					// Do nothing for now
-				}
-			});
-			runnable.start();
-			time.start();
-			gate.await();
-			return latch;
-		} catch (InterruptedException | BrokenBarrierException e) {
-			return new CountDownLatch(0);
+	 * @param title  The title of the chart
+	 * @param xDesc  The label of the x-axis of the chart
+	 * @param yDesc  The label of the y-axis of the chart
+	 * @param name   The name of the series
+	 * @param series The series to add the data to
+	 * @param x      The x component
+	 * @param y      The y component
+	 */
+	private static void graphSecondary(String title, String xDesc, String yDesc, String name, Series<Number, Number> series, Number x, Number y) {
+		if (headless) {
+			return;
 		}
+		grapher.graph(title, xDesc, yDesc, series, name, x.doubleValue(), y.doubleValue(), null);
+		latch.countDown();
 	}
 
 	/**
-	 * Internal method used to add data to the graph.
+	 * Graphs about {@link org.jtimer.Runner#storedPoints storedPoints} of the
+	 * samples of a class from the file of the {@link org.jtimer.Runner#store
+	 * store}, since they aren't graphed as they're taken while there is one.
 	 * 
-	 * @param method The method to run
-	 * @param chart  The chart to add the data to
-	 * @param x      The x component
-	 * @param y      The y component
-	 * @throws NoSuchFieldException     If the field doesn't exist
-	 * @throws SecurityException        If the security managers runs into a
-	 *                                  security violation
-	 * @throws IllegalArgumentException When a method doesn't have the given
-	 *                                  arguments
-	 * @throws IllegalAccessException   When the reflector cannot access something
-	 */
-	private static void graphData(Method method, Series<Number, Number> chart, long x, long y) throws NoSuchFieldException, SecurityException, IllegalArgumentException, IllegalAccessException {
-		Platform.runLater(() -> {
-			try {
-				if (!methodHandlers.get(method).isAnnotationPresent(DisplayName.class)) {
-					chart.setName(method.getName().substring(0, 1).toUpperCase() + method.getName().substring(1));
-				} else {
-					chart.setName(methodHandlers.get(method).getAnnotation(DisplayName.class).value());
-				}
-				if (Arrays.stream(object.getClass().getDeclaredFields()).anyMatch(field -> field.getName().equals("counter"))) {
-					Field counter = object.getClass().getDeclaredField("counter");
-					counter.setAccessible(true);
-					counter.set(object, x);
-				}
-				Field graphMax = grapher.getClass().getDeclaredField("max");
-				graphMax.setAccessible(true);
-				if (y < ((double) graphMax.get(grapher))) {
-					chart.getData().add(new XYChart.Data<>(x, y));
-				}
-				if (!grapher.getPlots().get(0).getData().contains(chart) && !chart.getData().isEmpty()) {
-					grapher.getPlots().get(0).getData().add(chart);
-				}
-			} catch (ReflectiveOperationException e) {
-				exceptionCatcher.writeError(e);
-			}
-			latch.countDown();
-		});
+	 * @param cls The class
+	 * @throws IOException If the file can't be read
+	 */
+	private static void graphStored(Class<?> cls) throws IOException {
+		try (StoredSamples samples = new StoredSamples(store.getFile(cls))) {
+			grapher.graph(samples, storedPoints);
+		}
+		latch.countDown();
 	}
 
 	/**
@@ -565,6 +598,1179 @@ public class Runner {
 		}
 	}
 
+	/**
+	 * The {@link org.jtimer.Execution.SampleListener sample listener} that graphs
+	 * the samples of a class and keeps them around for the
+	 * {@link org.jtimer.Results.Report report}. If the class is timed in more than
+	 * one JVM, the samples of each JVM are kept apart. If the samples are written
+	 * to a {@link org.jtimer.Results.SampleStore store}, only
+	 * {@link org.jtimer.Statistics.Histogram histograms} of them are kept, and
+	 * they aren't graphed as they come in.
+	 */
+	private static class Recorder implements SampleListener {
+
+		/**
+		 * The percentiles that are {@link Recorder#graphPercentiles() graphed}.
+		 */
+		private static final double[] percentiles = { 0, 50, 75, 90, 95, 99, 99.5, 99.9, 99.95, 99.99 };
+		/**
+		 * How much CPU time the samples of a method have to add up to before it's
+		 * split into user and system time in the report. The user time is only
+		 * counted in scheduler ticks, which are 10 ms on most systems, so anything
+		 * shorter than a few of them is mostly rounding.
+		 */
+		private static final long splittable = 100000000;
+		/**
+		 * The plan of the class being recorded.
+		 */
+		private ExecutionPlan plan;
+		/**
+		 * The {@link org.jtimer.Runner.TimeMethod time method} used to convert the
+		 * samples before they're graphed.
+		 */
+		private TimeMethod timeMethod;
+		/**
+		 * The store the samples are written to, null if they're kept instead.
+		 */
+		private SampleStore store;
+		/**
+		 * If the raw times should be graphed.
+		 */
+		private boolean raw;
+		/**
+		 * If the CPU time should be graphed instead of the wall time.
+		 */
+		private boolean cpu;
+		/**
+		 * If the CPU time should be graphed on a chart of its own.
+		 */
+		private boolean cpuChart;
+		/**
+		 * If the bytes allocated should be graphed on a chart of their own.
+		 */
+		private boolean allocationChart;
+		/**
+		 * The series of each method.
+		 */
+		private HashMap<TimedMethod, Series<Number, Number>> series = new HashMap<>();
+		/**
+		 * The throughput series of each {@link org.jtimer.Annotations.Threads
+		 * @Threads} method, shared by all of its amounts of threads.
+		 */
+		private HashMap<Method, Series<Number, Number>> throughput = new HashMap<>();
+		/**
+		 * The allocation series of each method.
+		 */
+		private HashMap<TimedMethod, Series<Number, Number>> allocation = new HashMap<>();
+		/**
+		 * The CPU time series of each method, unless the CPU time is graphed instead
+		 * of the wall time.
+		 */
+		private HashMap<TimedMethod, Series<Number, Number>> cpuTime = new HashMap<>();
+		/**
+		 * The runs recorded, one for each JVM the class was timed in.
+		 */
+		private List<Run> runs = new ArrayList<>();
+		/**
+		 * Where the samples of the method and value being timed go, so that they
+		 * don't have to be looked up for every sample.
+		 */
+		private Recording recording;
+		/**
+		 * The fork currently being recorded.
+		 */
+		private int fork = 0;
+		/**
+		 * The amount of forks that will be recorded.
+		 */
+		private int forks = 1;
+
+		/**
+		 * Creates a recorder for a class.
+		 * 
+		 * @param plan       The plan of the class
+		 * @param timeMethod The time method used to convert the samples
+		 * @param store      The store the samples are written to, null if they're
+		 *                   kept instead
+		 */
+		Recorder(ExecutionPlan plan, TimeMethod timeMethod, SampleStore store) {
+			this.plan = plan;
+			this.timeMethod = timeMethod;
+			this.store = store;
+			this.raw = plan.hasSetting(Setting.RAW_TIME);
+			this.cpu = plan.hasSetting(Setting.CPU_TIME);
+			this.cpuChart = plan.hasSetting(Setting.CPU_TIME_CHART);
+			this.allocationChart = plan.hasSetting(Setting.ALLOCATION_CHART);
+			for (TimedMethod method : plan.getTimed()) {
+				series.put(method, new Series<>());
+				allocation.put(method, new Series<>());
+				cpuTime.put(method, new Series<>());
+				if (method.isContended()) {
+					throughput.putIfAbsent(method.getMethod(), new Series<>());
+				}
+			}
+		}
+
+		/**
+		 * Tells the recorder which fork is about to be recorded, so that the progress
+		 * is of all forks together.
+		 * 
+		 * @param fork  The fork, starting at 0
+		 * @param forks The amount of forks
+		 */
+		void fork(int fork, int forks) {
+			this.fork = fork;
+			this.forks = forks;
+		}
+
+		/**
+		 * Starts a new run with the calibration of the JVM it's in.
+		 * 
+		 * @param calibration The calibration
+		 */
+		@Override
+		public void calibrated(Calibration calibration) {
+			runs.add(new Run(calibration));
+		}
+
+		/**
+		 * Graphs a sample and records it in the current run. If the samples are
+		 * stored, only the histograms of it are kept, unless it's the window of a
+		 * {@link org.jtimer.Misc.TimingMode#THROUGHPUT THROUGHPUT} method since
+		 * there aren't many of those.
+		 * 
+		 * @param method The method that was timed
+		 * @param x      The repetition of the sample, or the value of the
+		 *               {@link org.jtimer.Annotations.Param @Param}
+		 * @param nanos  The raw time of the sample
+		 */
+		@Override
+		public void sample(TimedMethod method, long x, long nanos) {
+			Recording recording = recording(method, x);
+			Run run = recording.run;
+			if (recording.samples != null) {
+				recording.samples.add(nanos);
+				recording.operations.add(method.getOperations());
+				recording.xs.add(x);
+			}
+			if (recording.histogram != null) {
+				recording.histogram.add(method.perOperation(run.calibration.correct(nanos)));
+			}
+			if (method.getMode() == TimingMode.THROUGHPUT) {
+				graphSecondary("Sustained Throughput", plan.hasParameter() ? plan.getParameterName() : "Window", "Operations per second", method.getName(), series.get(method), x, nanos);
+				return;
+			}
+			if (store != null) { // They're graphed from the store once the class has been timed
+				if (method.isContended()) {
+					recording.summary.throughput.add(Math.round(throughput(method.getThreads(), method.getOperations(), run.calibration.correct(nanos))));
+				}
+				return;
+			}
+			if (!cpu) { // Otherwise the CPU time is graphed once it comes in
+				graphData(method, series.get(method), x, timeMethod.convertNano(method.perOperation(raw ? nanos : run.calibration.correct(nanos))), flag(run, method));
+			}
+			if (method.isContended()) {
+				graphSecondary("Throughput", "Threads", "Operations per second", method.getDisplayName(), throughput.get(method.getMethod()), method.getThreads(), throughput(method.getThreads(), method.getOperations(), raw ? nanos : run.calibration.correct(nanos)));
+			}
+		}
+
+		/**
+		 * Records that there was a garbage collection during the sample that comes
+		 * next, so that it gets flagged when it's graphed.
+		 * 
+		 * @param method      The method that was timed
+		 * @param x           The repetition of the sample, or the value of the
+		 *                    {@link org.jtimer.Annotations.Param @Param}
+		 * @param collections The amount of collections
+		 * @param millis      How long the collections took
+		 */
+		@Override
+		public void collected(TimedMethod method, long x, long collections, long millis) {
+			Recording recording = recording(method, x);
+			if (recording.summary != null) {
+				recording.summary.collected++;
+				recording.summary.collectionTime += millis;
+				return;
+			}
+			recording.collected.add(recording.samples.size());
+			recording.collectionTimes.add(millis);
+		}
+
+		/**
+		 * Records that the JIT compiled something since the sample before the one
+		 * that comes next, so that it gets flagged when it's graphed.
+		 * 
+		 * @param method The method that was timed
+		 * @param x      The repetition of the sample, or the value of the
+		 *               {@link org.jtimer.Annotations.Param @Param}
+		 * @param millis How long the JIT was compiling
+		 */
+		@Override
+		public void compiled(TimedMethod method, long x, long millis) {
+			Recording recording = recording(method, x);
+			if (recording.summary != null) {
+				recording.summary.compiled++;
+				recording.summary.compilationTime += millis;
+				return;
+			}
+			recording.compiled.add(recording.samples.size());
+			recording.compilationTimes.add(millis);
+		}
+
+		/**
+		 * Returns the color that the latest sample of a method should be flagged
+		 * with, if it should be. A garbage collection is red and a JIT compilation is
+		 * orange, and the collection wins if the sample overlapped both.
+		 * 
+		 * @param run    The run of the sample
+		 * @param method The method
+		 * @return The color, null if the sample isn't flagged
+		 */
+		private static Color flag(Run run, TimedMethod method) {
+			long latest = run.samples.get(method).size() - 1;
+			LongList collected = run.collected.get(method);
+			if (collected != null && !collected.isEmpty() && collected.get(collected.size() - 1) == latest) {
+				return Color.RED;
+			}
+			LongList compiled = run.compiled.get(method);
+			if (compiled != null && !compiled.isEmpty() && compiled.get(compiled.size() - 1) == latest) {
+				return Color.ORANGE;
+			}
+			return null;
+		}
+
+		/**
+		 * Records the time each thread of a {@link org.jtimer.Annotations.Threads
+		 * @Threads} method took in the current run.
+		 * 
+		 * @param method    The method that was timed
+		 * @param x         The repetition of the sample, or the value of the
+		 *                  {@link org.jtimer.Annotations.Param @Param}
+		 * @param latencies The raw time of each thread
+		 */
+		@Override
+		public void latencies(TimedMethod method, long x, long[] latencies) {
+			Recording recording = recording(method, x);
+			Calibration calibration = recording.run.calibration;
+			if (recording.summary != null) {
+				for (long latency : latencies) {
+					recording.summary.latencies.add(method.perOperation(calibration.correct(latency)));
+				}
+				return;
+			}
+			for (long latency : latencies) {
+				recording.latencies.add(method.perOperation(calibration.correct(latency)));
+				recording.latencyXs.add(x);
+			}
+		}
+
+		/**
+		 * Records the bytes a sample allocated per invocation in the current run,
+		 * without what JTimer allocated by itself. They're only graphed if the class
+		 * has {@link org.jtimer.Misc.Setting#ALLOCATION_CHART ALLOCATION_CHART}.
+		 * 
+		 * @param method The method that was timed
+		 * @param x      The repetition of the sample, or the value of the
+		 *               {@link org.jtimer.Annotations.Param @Param}
+		 * @param bytes  The raw bytes allocated during the sample
+		 */
+		@Override
+		public void allocated(TimedMethod method, long x, long bytes) {
+			Recording recording = recording(method, x);
+			long perOperation = TimedMethod.perOperation(recording.run.calibration.correctAllocation(bytes), method.getOperations() * method.getThreads());
+			if (recording.summary != null) {
+				recording.summary.allocations.add(perOperation);
+				return;
+			}
+			recording.allocations.add(perOperation);
+			recording.allocationXs.add(x);
+			if (allocationChart) {
+				graphSecondary("Allocation", plan.hasParameter() ? plan.getParameterName() : "Repetitions", "Bytes per operation", method.getName(), allocation.get(method), x, perOperation);
+			}
+		}
+
+		/**
+		 * Graphs the CPU time a sample used per invocation and records it in the
+		 * current run. It goes on the main plot if the class has
+		 * {@link org.jtimer.Misc.Setting#CPU_TIME CPU_TIME}, and on a chart of its
+		 * own if it has {@link org.jtimer.Misc.Setting#CPU_TIME_CHART
+		 * CPU_TIME_CHART}.
+		 * 
+		 * @param method   The method that was timed
+		 * @param x        The repetition of the sample, or the value of the
+		 *                 {@link org.jtimer.Annotations.Param @Param}
+		 * @param cpuTime  The raw CPU time of the sample
+		 * @param userTime The part of it spent in user mode
+		 */
+		@Override
+		public void cpuTime(TimedMethod method, long x, long cpuTime, long userTime) {
+			Recording recording = recording(method, x);
+			Run run = recording.run;
+			int operations = method.getOperations() * method.getThreads();
+			long corrected = TimedMethod.perOperation(run.calibration.correctCpuTime(cpuTime), operations);
+			if (recording.summary != null) {
+				recording.summary.cpuTimes.add(corrected);
+				recording.summary.cpuTime += cpuTime;
+				recording.summary.userTime += Math.max(0, userTime);
+				return;
+			}
+			recording.cpuTimes.add(corrected);
+			recording.rawCpuTimes.add(cpuTime);
+			recording.userTimes.add(Math.max(0, userTime));
+			recording.cpuXs.add(x);
+			long graphed = timeMethod.convertNano(raw ? TimedMethod.perOperation(cpuTime, operations) : corrected);
+			if (cpu) {
+				graphData(method, series.get(method), x, graphed, flag(run, method));
+			} else if (cpuChart) {
+				graphSecondary("CPU Time", plan.hasParameter() ? plan.getParameterName() : "Repetitions", "CPU time per operation", method.getName(), this.cpuTime.get(method), x, graphed);
+			}
+		}
+
+		/**
+		 * Returns where the samples of a method with an x go in the current run. The
+		 * methods are timed one after the other, and every value of the
+		 * {@link org.jtimer.Annotations.Param @Param} is timed before the next one,
+		 * so the {@link Recording recording} is only made again when the method, the
+		 * value or the run changes, not for every sample.
+		 * 
+		 * @param method The method
+		 * @param x      The repetition of the sample, or the value of the
+		 *               {@link org.jtimer.Annotations.Param @Param}
+		 * @return The recording
+		 */
+		private Recording recording(TimedMethod method, long x) {
+			Run run = runs.get(runs.size() - 1);
+			long key = plan.hasParameter() ? x : 0;
+			if (recording == null || recording.run != run || recording.method != method || recording.key != key) {
+				recording = new Recording(run, method, key, store != null);
+			}
+			return recording;
+		}
+
+		/**
+		 * Records how long the warmup of a method took in the current run.
+		 * 
+		 * @param method      The method that was warmed up
+		 * @param iterations  The amount of iterations of the warmup
+		 * @param nanos       How long the warmup took
+		 * @param steady      If the samples were steady by the end of it
+		 * @param compilation How long the JIT was compiling during it
+		 * @param quiet       If the JIT had been quiet for long enough by the end
+		 */
+		@Override
+		public void warmedUp(TimedMethod method, long iterations, long nanos, boolean steady, long compilation, boolean quiet) {
+			runs.get(runs.size() - 1).warmups.put(method, new WarmedUp(iterations, nanos, steady, compilation, quiet));
+		}
+
+		/**
+		 * Shows the progress on the {@link org.jtimer.Grapher grapher}, unless the
+		 * runner is headless.
+		 * 
+		 * @param progress The progress of the current fork
+		 * @param warmup   If this is the progress of the warmup
+		 */
+		@Override
+		public void progress(double progress, boolean warmup) {
+			if (!headless) {
+				grapher.setProgress((fork + progress) / forks, warmup);
+			}
+		}
+
+		/**
+		 * Creates the report of everything that was recorded. Each method gets the
+		 * raw and corrected median and the percentiles of every run, how much of that was CPU time and
+		 * the bytes it allocated per invocation, how it looks without the samples
+		 * that overlapped a garbage collection or a JIT compilation, along with a warning if the method is too fast to be told
+		 * apart from the noise of timing it.
+		 * {@link org.jtimer.Misc.TimingMode#THROUGHPUT THROUGHPUT} methods get their
+		 * throughput instead, and how much it drifted over the run. If there was more
+		 * than one run, then the deviation within the runs is reported separately
+		 * from the deviation between them. If the samples were stored, then the
+		 * report is made from the histograms of them instead.
+		 * 
+		 * @param title The title of the report
+		 * @return The report
+		 */
+		Report report(String title) {
+			Report report = new Report(title);
+			for (TimedMethod method : plan.getTimed()) {
+				double[] means = new double[runs.size()];
+				double variance = 0;
+				boolean stored = store != null && method.getMode() != TimingMode.THROUGHPUT;
+				for (int i = 0; i < runs.size(); i++) {
+					Run run = runs.get(i);
+					String prefix = runs.size() > 1 ? "Fork " + (i + 1) + " - " : "";
+					WarmedUp warmup = run.warmups.get(method);
+					if (warmup != null) {
+						report.add(method.getName(), prefix + String.format("Warmup: %d iterations in %.1f ms, %s, %d ms of JIT compilation", warmup.iterations, warmup.nanos / 1e6, warmup.steady ? "steady" : "not steady", warmup.compilation));
+						if (!warmup.steady && plan.isAdaptiveWarmup()) {
+							report.warn(method.getName(), prefix + "The warmup reached its time limit before the method was steady");
+						}
+						if (!warmup.quiet) {
+							report.warn(method.getName(), prefix + "The warmup reached its time limit before the JIT was done compiling");
+						}
+					}
+					if (stored) {
+						if (!run.histograms.containsKey(method)) {
+							report.add(method.getName(), prefix + "No samples");
+							continue;
+						}
+						Histogram all = new Histogram();
+						for (Map.Entry<Long, Histogram> histogram : run.histograms.get(method).entrySet()) {
+							String groupPrefix = prefix + (plan.hasParameter() ? plan.getParameterName() + " = " + histogram.getKey() + " - " : "");
+							reportStored(report, method, run, groupPrefix, histogram.getValue(), run.summaries.containsKey(method) ? run.summaries.get(method).get(histogram.getKey()) : null);
+							all.add(histogram.getValue());
+						}
+						means[i] = all.getMean();
+						continue;
+					}
+					LongList samples = run.samples.get(method);
+					if (samples == null || samples.isEmpty()) {
+						report.add(method.getName(), prefix + "No samples");
+						continue;
+					}
+					LongList xs = run.xs.get(method);
+					LinkedHashMap<Long, LongList> groups = new LinkedHashMap<>(); // The indices of the samples of each value of the parameter
+					for (int j = 0; j < samples.size(); j++) {
+						groups.computeIfAbsent(plan.hasParameter() ? xs.get(j) : 0, key -> new LongList()).add(j);
+					}
+					for (Map.Entry<Long, LongList> group : groups.entrySet()) {
+						String groupPrefix = prefix + (plan.hasParameter() ? plan.getParameterName() + " = " + group.getKey() + " - " : "");
+						reportSamples(report, method, run, groupPrefix, group.getValue(), group.getKey());
+					}
+					long[] corrected = corrected(method, run);
+					means[i] = Descriptive.mean(corrected);
+					variance += Descriptive.variance(corrected) / runs.size();
+				}
+				if (runs.size() > 1 && method.getMode() != TimingMode.THROUGHPUT) {
+					for (Map.Entry<Long, Histogram> histogram : merged(method).entrySet()) {
+						reportPercentiles(report, method, "All forks - " + (plan.hasParameter() ? plan.getParameterName() + " = " + histogram.getKey() + " - " : ""), histogram.getValue());
+					}
+				}
+				if (runs.size() > 1 && stored) { // The histograms don't have the deviation within a fork
+					report.add(method.getName(), String.format("Deviation: %.1f ns between forks", Math.sqrt(Descriptive.variance(means))));
+				} else if (runs.size() > 1) {
+					String unit = method.getMode() == TimingMode.THROUGHPUT ? "ops/s" : "ns";
+					report.add(method.getName(), String.format("Deviation: %.1f %s within forks, %.1f %s between forks", Math.sqrt(variance), unit, Math.sqrt(Descriptive.variance(means)), unit));
+				}
+			}
+			return report;
+		}
+
+		/**
+		 * Adds the percentiles of the corrected samples of a method to the report.
+		 * 
+		 * @param report    The report to add to
+		 * @param method    The method
+		 * @param prefix    What goes in front of the line
+		 * @param histogram The histogram of the samples
+		 */
+		private static void reportPercentiles(Report report, TimedMethod method, String prefix, Histogram histogram) {
+			report.add(method.getName(), prefix + String.format("Percentiles: %d ns p50, %d ns p90, %d ns p99, %d ns p99.9, %d ns max", histogram.percentile(50), histogram.percentile(90), histogram.percentile(99), histogram.percentile(99.9), histogram.getMax()));
+		}
+
+		/**
+		 * Adds the {@link Run#histograms histograms} of a method in every run
+		 * together.
+		 * 
+		 * @param method The method
+		 * @return The histogram of each value of the
+		 *         {@link org.jtimer.Annotations.Param @Param}, or of 0 if there isn't
+		 *         one
+		 */
+		private LinkedHashMap<Long, Histogram> merged(TimedMethod method) {
+			LinkedHashMap<Long, Histogram> merged = new LinkedHashMap<>();
+			for (Run run : runs) {
+				if (run.histograms.containsKey(method)) {
+					for (Map.Entry<Long, Histogram> histogram : run.histograms.get(method).entrySet()) {
+						merged.computeIfAbsent(histogram.getKey(), key -> new Histogram()).add(histogram.getValue());
+					}
+				}
+			}
+			return merged;
+		}
+
+		/**
+		 * Graphs the percentiles of every method, from all runs together, on a chart
+		 * of their own, with how many nines the percentile has along the x-axis so
+		 * that the tail gets as much room as the median. This is only done if the
+		 * class has {@link org.jtimer.Misc.Setting#PERCENTILE_CHART
+		 * PERCENTILE_CHART}, and not if it has a
+		 * {@link org.jtimer.Annotations.Param @Param}, since the samples of
+		 * different values of it don't belong together.
+		 */
+		void graphPercentiles() {
+			if (!plan.hasSetting(Setting.PERCENTILE_CHART) || plan.hasParameter()) {
+				return;
+			}
+			for (TimedMethod method : plan.getTimed()) {
+				Histogram histogram = merged(method).get(0L);
+				if (histogram != null && histogram.getCount() > 0) {
+					Series<Number, Number> series = new Series<>();
+					for (double percentile : percentiles) {
+						graphSecondary("Latency Percentiles", "Nines (1 is p90, 2 is p99, 3 is p99.9)", "Time per operation", method.getName(), series, -Math.log10(1 - percentile / 100), timeMethod.convertNano(histogram.percentile(percentile)));
+					}
+				}
+			}
+		}
+
+		/**
+		 * Compares the corrected samples of every method, from all runs together, to
+		 * the {@link org.jtimer.Results.History history} and saves them to it. If
+		 * the class has a {@link org.jtimer.Annotations.Param @Param} then each
+		 * value of the parameter is compared on its own. Nothing is compared if the
+		 * samples were stored, since they weren't kept.
+		 * 
+		 * @param history The history
+		 * @param report  The report to add the comparisons to
+		 * @throws IOException If the history can't be read or written
+		 */
+		void compare(History history, Report report) throws IOException {
+			if (store != null) {
+				for (TimedMethod method : plan.getTimed()) {
+					report.warn(method.getName(), "The samples were stored instead of kept, so they weren't compared to the history");
+				}
+				return;
+			}
+			for (TimedMethod method : plan.getTimed()) {
+				LinkedHashMap<Long, LongList> groups = new LinkedHashMap<>(); // The samples of each value of the parameter
+				for (Run run : runs) {
+					if (run.samples.containsKey(method)) {
+						long[] corrected = corrected(method, run);
+						for (int j = 0; j < corrected.length; j++) {
+							groups.computeIfAbsent(plan.hasParameter() ? run.xs.get(method).get(j) : 0, key -> new LongList()).add(corrected[j]);
+						}
+					}
+				}
+				for (Map.Entry<Long, LongList> group : groups.entrySet()) {
+					String parameter = plan.hasParameter() ? plan.getParameterName() + " = " + group.getKey() : null;
+					history.compare(plan.getPlannedClass(), method.getName(), parameter, group.getValue().toArray(), method.getMode() == TimingMode.THROUGHPUT, report, parameter != null ? parameter + " - " : "");
+				}
+			}
+			history.save(plan.getPlannedClass());
+		}
+
+		/**
+		 * Adds the lines of some of the samples of a method in a run to the report,
+		 * which is all of them unless the class has a
+		 * {@link org.jtimer.Annotations.Param @Param}, in which case it's the samples
+		 * of one value of the parameter.
+		 * 
+		 * @param report  The report to add to
+		 * @param method  The method
+		 * @param run     The run the samples are from
+		 * @param prefix  What goes in front of each line
+		 * @param indices The indices of the samples
+		 * @param x       The value of the parameter, only used if there is one
+		 */
+		private void reportSamples(Report report, TimedMethod method, Run run, String prefix, LongList indices, long x) {
+			long[] samples = new long[indices.size()];
+			long[] operations = new long[indices.size()];
+			for (int j = 0; j < samples.length; j++) {
+				samples[j] = run.samples.get(method).get((int) indices.get(j));
+				operations[j] = run.operations.get(method).get((int) indices.get(j));
+			}
+			if (method.getMode() == TimingMode.THROUGHPUT) {
+				long[] sorted = samples.clone();
+				Arrays.sort(sorted);
+				double drift = Descriptive.slope(samples) * (samples.length - 1) / Descriptive.mean(samples) * 100;
+				report.add(method.getName(), prefix + String.format("Throughput: %d ops/s median, %d ops/s lowest, %d ops/s highest over %d windows of %d ms", Descriptive.percentileSorted(sorted, 50), sorted[0], sorted[sorted.length - 1], samples.length, method.getWindow() / 1000000));
+				report.add(method.getName(), prefix + String.format("Drift: %+.1f%% from the first window to the last", drift));
+				reportCollections(report, method, run, prefix, indices, samples, "ops/s");
+				reportPrecision(report, method, prefix, samples);
+				return;
+			}
+			long[] raw = new long[samples.length];
+			long[] corrected = new long[samples.length];
+			long[] batches = new long[samples.length];
+			long[] throughput = new long[samples.length];
+			for (int j = 0; j < samples.length; j++) {
+				raw[j] = TimedMethod.perOperation(samples[j], (int) operations[j]);
+				corrected[j] = TimedMethod.perOperation(run.calibration.correct(samples[j]), (int) operations[j]);
+				batches[j] = run.calibration.correct(samples[j]);
+				throughput[j] = Math.round(throughput(method.getThreads(), (int) operations[j], batches[j]));
+			}
+			report.add(method.getName(), prefix + String.format("Median: %d ns raw, %d ns corrected (overhead %d ns, granularity %d ns)", Descriptive.median(raw), Descriptive.median(corrected), run.calibration.getOverhead(), run.calibration.getGranularity()));
+			reportPercentiles(report, method, prefix, run.histograms.get(method).get(x));
+			if (Descriptive.median(batches) < run.calibration.getNoiseFloor()) {
+				report.warn(method.getName(), prefix + String.format("The method is within the noise floor of %d ns, consider using @Batch", run.calibration.getNoiseFloor()));
+			}
+			if (method.isContended() && run.latencies.containsKey(method)) {
+				LongList perThread = select(run.latencies.get(method), run.latencyXs.get(method), x);
+				if (!perThread.isEmpty()) {
+					report.add(method.getName(), prefix + String.format("Throughput: %d ops/s, thread latency %d ns median, %d ns 99th percentile", Descriptive.median(throughput), Descriptive.median(perThread.toArray()), Descriptive.percentile(perThread.toArray(), 99)));
+				}
+			}
+			if (run.cpuTimes.containsKey(method)) {
+				long[] cpuTimes = select(run.cpuTimes.get(method), run.cpuXs.get(method), x).toArray();
+				if (cpuTimes.length > 0) {
+					long median = Descriptive.median(cpuTimes);
+					long wall = Descriptive.median(corrected);
+					long total = Arrays.stream(select(run.rawCpuTimes.get(method), run.cpuXs.get(method), x).toArray()).sum();
+					long user = Arrays.stream(select(run.userTimes.get(method), run.cpuXs.get(method), x).toArray()).sum();
+					reportCpuTime(report, method, prefix, median, wall, total, user);
+				}
+			}
+			if (run.allocations.containsKey(method)) {
+				long[] allocated = select(run.allocations.get(method), run.allocationXs.get(method), x).toArray();
+				if (allocated.length > 0) {
+					report.add(method.getName(), prefix + String.format("Allocated: %d bytes/op median, %d bytes/op most", Descriptive.median(allocated), Descriptive.percentile(allocated, 100)));
+				}
+			}
+			reportCollections(report, method, run, prefix, indices, corrected, "ns");
+			reportPrecision(report, method, prefix, corrected);
+		}
+
+		/**
+		 * Adds the lines of the samples of a method in a run to the report when
+		 * they were stored instead of kept, which are made from the histograms of
+		 * them. This is all of them unless the class has a
+		 * {@link org.jtimer.Annotations.Param @Param}, in which case it's the
+		 * samples of one value of the parameter.
+		 * 
+		 * @param report    The report to add to
+		 * @param method    The method
+		 * @param run       The run the samples are from
+		 * @param prefix    What goes in front of each line
+		 * @param histogram The histogram of the corrected samples per invocation
+		 * @param summary   The summary of the rest of the samples, null if there
+		 *                  isn't one
+		 */
+		private void reportStored(Report report, TimedMethod method, Run run, String prefix, Histogram histogram, Summary summary) {
+			long median = histogram.percentile(50);
+			report.add(method.getName(), prefix + String.format("Median: %d ns corrected (overhead %d ns, granularity %d ns), %d samples stored in %s", median, run.calibration.getOverhead(), run.calibration.getGranularity(), histogram.getCount(), store.getFile(plan.getPlannedClass()).getFileName()));
+			reportPercentiles(report, method, prefix, histogram);
+			if (median * method.getOperations() < run.calibration.getNoiseFloor()) {
+				report.warn(method.getName(), prefix + String.format("The method is within the noise floor of %d ns, consider using @Batch", run.calibration.getNoiseFloor()));
+			}
+			if (summary == null) {
+				return;
+			}
+			if (summary.latencies != null && summary.latencies.getCount() > 0) {
+				report.add(method.getName(), prefix + String.format("Throughput: %d ops/s, thread latency %d ns median, %d ns 99th percentile", summary.throughput.percentile(50), summary.latencies.percentile(50), summary.latencies.percentile(99)));
+			}
+			if (summary.cpuTimes.getCount() > 0) {
+				reportCpuTime(report, method, prefix, summary.cpuTimes.percentile(50), median, summary.cpuTime, summary.userTime);
+			}
+			if (summary.allocations.getCount() > 0) {
+				report.add(method.getName(), prefix + String.format("Allocated: %d bytes/op median, %d bytes/op most", summary.allocations.percentile(50), summary.allocations.getMax()));
+			}
+			if (summary.collected > 0) {
+				report.add(method.getName(), prefix + String.format("GC: %d of %d samples overlapped a collection (%d ms)", summary.collected, histogram.getCount(), summary.collectionTime));
+			}
+			if (summary.compiled > 0) {
+				report.add(method.getName(), prefix + String.format("JIT: %d of %d samples overlapped a compilation (%d ms)", summary.compiled, histogram.getCount(), summary.compilationTime));
+			}
+		}
+
+		/**
+		 * Adds the CPU time of a method to the report, along with how much of it was
+		 * spent in user mode if the samples added up to enough CPU time to tell.
+		 * 
+		 * @param report The report to add to
+		 * @param method The method
+		 * @param prefix What goes in front of the line
+		 * @param median The median corrected CPU time per invocation
+		 * @param wall   The median corrected wall time per invocation
+		 * @param total  The raw CPU time of all the samples together
+		 * @param user   The part of it spent in user mode
+		 */
+		private static void reportCpuTime(Report report, TimedMethod method, String prefix, long median, long wall, long total, long user) {
+			String split = total >= splittable ? String.format("%.0f%% of it in user mode", 100.0 * Math.min(user, total) / total) : "too short to split into user and system time";
+			report.add(method.getName(), prefix + String.format("CPU: %d ns median, %.0f%% of the wall time, %s", median, wall > 0 ? 100.0 * median / wall : 0, split));
+		}
+
+		/**
+		 * Adds how many of some of the samples of a method overlapped a garbage
+		 * collection or a JIT compilation, and what the median and 99th percentile
+		 * are without them.
+		 * 
+		 * @param report  The report to add to
+		 * @param method  The method
+		 * @param run     The run the samples are from
+		 * @param prefix  What goes in front of the lines
+		 * @param indices The indices of the samples
+		 * @param values  The corrected value of each of the samples
+		 * @param unit    The unit of the values
+		 */
+		private static void reportCollections(Report report, TimedMethod method, Run run, String prefix, LongList indices, long[] values, String unit) {
+			reportOverlaps(report, method, prefix + "GC: %d of %d samples overlapped a collection (%d ms)", run.collected.get(method), run.collectionTimes.get(method), indices, values, unit);
+			reportOverlaps(report, method, prefix + "JIT: %d of %d samples overlapped a compilation (%d ms)", run.compiled.get(method), run.compilationTimes.get(method), indices, values, unit);
+		}
+
+		/**
+		 * Adds how many of some of the samples of a method overlapped something, and
+		 * what the median and 99th percentile are without them. Nothing is added if
+		 * none of them did.
+		 * 
+		 * @param report     The report to add to
+		 * @param method     The method
+		 * @param format     The format of the line, which gets the amount of
+		 *                   samples that overlapped, the amount of samples and the
+		 *                   milliseconds they overlapped for
+		 * @param overlapped The indices of the samples that overlapped, or null if
+		 *                   none did
+		 * @param times      How long each of them overlapped, in milliseconds
+		 * @param indices    The indices of the samples
+		 * @param values     The corrected value of each of the samples
+		 * @param unit       The unit of the values
+		 */
+		private static void reportOverlaps(Report report, TimedMethod method, String format, LongList overlapped, LongList times, LongList indices, long[] values, String unit) {
+			if (overlapped == null) {
+				return;
+			}
+			HashMap<Long, Long> millis = new HashMap<>();
+			for (int j = 0; j < overlapped.size(); j++) {
+				millis.put(overlapped.get(j), times.get(j));
+			}
+			LongList clean = new LongList();
+			long flagged = 0;
+			long paused = 0;
+			for (int j = 0; j < values.length; j++) {
+				if (millis.containsKey(indices.get(j))) {
+					flagged++;
+					paused += millis.get(indices.get(j));
+				} else {
+					clean.add(values[j]);
+				}
+			}
+			if (flagged == 0) {
+				return;
+			}
+			String line = String.format(format, flagged, values.length, paused);
+			if (!clean.isEmpty()) {
+				line += String.format(", without them %d %s median, %d %s 99th percentile", Descriptive.median(clean.toArray()), unit, Descriptive.percentile(clean.toArray(), 99), unit);
+			}
+			report.add(method.getName(), line);
+		}
+
+		/**
+		 * Picks out the values that belong to one value of the
+		 * {@link org.jtimer.Annotations.Param @Param}, or all of them if there isn't
+		 * one.
+		 * 
+		 * @param values The values
+		 * @param xs     The x of each value
+		 * @param x      The value of the parameter
+		 * @return The values with that x
+		 */
+		private LongList select(LongList values, LongList xs, long x) {
+			LongList selected = new LongList();
+			for (int j = 0; j < values.size(); j++) {
+				if (!plan.hasParameter() || xs.get(j) == x) {
+					selected.add(values.get(j));
+				}
+			}
+			return selected;
+		}
+
+		/**
+		 * Returns all the corrected samples of a method in a run, per invocation, or
+		 * the samples themselves for a {@link org.jtimer.Misc.TimingMode#THROUGHPUT
+		 * THROUGHPUT} method.
+		 * 
+		 * @param method The method
+		 * @param run    The run
+		 * @return The corrected samples
+		 */
+		private static long[] corrected(TimedMethod method, Run run) {
+			LongList samples = run.samples.get(method);
+			if (method.getMode() == TimingMode.THROUGHPUT) {
+				return samples.toArray();
+			}
+			long[] corrected = new long[samples.size()];
+			for (int j = 0; j < corrected.length; j++) {
+				corrected[j] = TimedMethod.perOperation(run.calibration.correct(samples.get(j)), (int) run.operations.get(method).get(j));
+			}
+			return corrected;
+		}
+
+		/**
+		 * Adds the precision that was reached to the report, if the method has a
+		 * {@link org.jtimer.Annotations.Precision @Precision}, along with a warning
+		 * if it isn't as precise as it should be.
+		 * 
+		 * @param report  The report to add to
+		 * @param method  The method
+		 * @param prefix  What goes in front of each line
+		 * @param samples The corrected samples of the method
+		 */
+		private static void reportPrecision(Report report, TimedMethod method, String prefix, long[] samples) {
+			Precision precision = method.getPrecision();
+			if (precision != null) {
+				double reached = Confidence.relativeHalfWidth(samples, precision.confidence(), precision.median());
+				report.add(method.getName(), prefix + String.format("Precision: +/-%.2f%% of the %s with %.0f%% confidence after %d repetitions", reached * 100, precision.median() ? "median" : "mean", precision.confidence() * 100, samples.length));
+				if (!(reached <= precision.value())) {
+					report.warn(method.getName(), prefix + String.format("The target of +/-%.2f%% wasn't reached before the maximum repetitions or the time budget", precision.value() * 100));
+				}
+			}
+		}
+
+		/**
+		 * Calculates the throughput of all threads of a
+		 * {@link org.jtimer.Annotations.Threads @Threads} method together.
+		 * 
+		 * @param threads    The amount of threads
+		 * @param operations The invocations per thread in a sample
+		 * @param nanos      The time of the sample
+		 * @return The invocations per second
+		 */
+		private static double throughput(int threads, int operations, long nanos) {
+			return threads * (double) operations * 1e9 / Math.max(1, nanos);
+		}
+
+		/**
+		 * The samples recorded in a single JVM.
+		 */
+		private static class Run {
+			/**
+			 * The calibration of the JVM.
+			 */
+			private Calibration calibration;
+			/**
+			 * The raw samples of each method.
+			 */
+			private HashMap<TimedMethod, LongList> samples = new HashMap<>();
+			/**
+			 * The invocations of each sample of each method.
+			 */
+			private HashMap<TimedMethod, LongList> operations = new HashMap<>();
+			/**
+			 * The x of each sample of each method, which is the repetition or the value
+			 * of the {@link org.jtimer.Annotations.Param @Param}.
+			 */
+			private HashMap<TimedMethod, LongList> xs = new HashMap<>();
+			/**
+			 * The {@link org.jtimer.Statistics.Histogram histogram} of the corrected
+			 * samples per invocation of each method, one for each value of the
+			 * {@link org.jtimer.Annotations.Param @Param} or just one for 0 if there
+			 * isn't one.
+			 */
+			private HashMap<TimedMethod, HashMap<Long, Histogram>> histograms = new HashMap<>();
+			/**
+			 * The corrected time per invocation of every thread of each
+			 * {@link org.jtimer.Annotations.Threads @Threads} method.
+			 */
+			private HashMap<TimedMethod, LongList> latencies = new HashMap<>();
+			/**
+			 * The x of each of the {@link Run#latencies latencies}.
+			 */
+			private HashMap<TimedMethod, LongList> latencyXs = new HashMap<>();
+			/**
+			 * The corrected bytes allocated per invocation by every sample of each
+			 * method.
+			 */
+			private HashMap<TimedMethod, LongList> allocations = new HashMap<>();
+			/**
+			 * The indices of the samples of each method that overlapped a garbage
+			 * collection.
+			 */
+			private HashMap<TimedMethod, LongList> collected = new HashMap<>();
+			/**
+			 * How long the collections of each of the {@link Run#collected collected}
+			 * samples took, in milliseconds.
+			 */
+			private HashMap<TimedMethod, LongList> collectionTimes = new HashMap<>();
+			/**
+			 * The indices of the samples of each method that came after the JIT
+			 * compiled something.
+			 */
+			private HashMap<TimedMethod, LongList> compiled = new HashMap<>();
+			/**
+			 * How long the JIT was compiling before each of the {@link Run#compiled
+			 * compiled} samples, in milliseconds.
+			 */
+			private HashMap<TimedMethod, LongList> compilationTimes = new HashMap<>();
+			/**
+			 * The corrected CPU time per invocation of every sample of each method.
+			 */
+			private HashMap<TimedMethod, LongList> cpuTimes = new HashMap<>();
+			/**
+			 * The raw CPU time of every sample of each method, which is only used to
+			 * split the CPU time into user and system time over all of the samples.
+			 */
+			private HashMap<TimedMethod, LongList> rawCpuTimes = new HashMap<>();
+			/**
+			 * The part of each of the {@link Run#rawCpuTimes raw CPU times} spent in
+			 * user mode. These are counted in scheduler ticks, so on their own they're
+			 * mostly 0 or a whole tick, and only their sum means anything.
+			 */
+			private HashMap<TimedMethod, LongList> userTimes = new HashMap<>();
+			/**
+			 * The x of each of the {@link Run#cpuTimes CPU times}.
+			 */
+			private HashMap<TimedMethod, LongList> cpuXs = new HashMap<>();
+			/**
+			 * The x of each of the {@link Run#allocations allocations}.
+			 */
+			private HashMap<TimedMethod, LongList> allocationXs = new HashMap<>();
+			/**
+			 * How the warmup of each method went.
+			 */
+			private HashMap<TimedMethod, WarmedUp> warmups = new HashMap<>();
+			/**
+			 * The {@link Summary summaries} of the samples of each method if they were
+			 * stored, one for each value of the {@link org.jtimer.Annotations.Param
+			 * @Param} or just one for 0 if there isn't one.
+			 */
+			private HashMap<TimedMethod, HashMap<Long, Summary>> summaries = new HashMap<>();
+
+			/**
+			 * Creates an empty run.
+			 * 
+			 * @param calibration The calibration of the JVM
+			 */
+			Run(Calibration calibration) {
+				this.calibration = calibration;
+			}
+		}
+
+		/**
+		 * The lists of a run that the samples of a method and a value of the
+		 * {@link org.jtimer.Annotations.Param @Param} go in, looked up once instead
+		 * of for every sample. The lists that are of no use to the method are null,
+		 * and so are all of them but the histogram and the summary if the samples
+		 * are stored.
+		 */
+		private static class Recording {
+			/**
+			 * The run the lists are of.
+			 */
+			private Run run;
+			/**
+			 * The method the lists are of.
+			 */
+			private TimedMethod method;
+			/**
+			 * The value of the {@link org.jtimer.Annotations.Param @Param}, or 0 if
+			 * there isn't one.
+			 */
+			private long key;
+			/**
+			 * The {@link Run#samples samples} of the method, null if they're stored.
+			 */
+			private LongList samples;
+			/**
+			 * The {@link Run#operations invocations} of each sample.
+			 */
+			private LongList operations;
+			/**
+			 * The {@link Run#xs x} of each sample.
+			 */
+			private LongList xs;
+			/**
+			 * The {@link Run#histograms histogram} of the value, null if the method is
+			 * timed in {@link org.jtimer.Misc.TimingMode#THROUGHPUT THROUGHPUT} mode.
+			 */
+			private Histogram histogram;
+			/**
+			 * The {@link Run#summaries summary} of the value, null unless the samples
+			 * are stored.
+			 */
+			private Summary summary;
+			/**
+			 * The {@link Run#latencies latencies} of every thread, null unless the
+			 * method has {@link org.jtimer.Annotations.Threads @Threads}.
+			 */
+			private LongList latencies;
+			/**
+			 * The x of each of the {@link Recording#latencies latencies}.
+			 */
+			private LongList latencyXs;
+			/**
+			 * The {@link Run#allocations allocations} of each sample.
+			 */
+			private LongList allocations;
+			/**
+			 * The x of each of the {@link Recording#allocations allocations}.
+			 */
+			private LongList allocationXs;
+			/**
+			 * The samples that {@link Run#collected overlapped a collection}.
+			 */
+			private LongList collected;
+			/**
+			 * How long each of the {@link Recording#collected collections} took.
+			 */
+			private LongList collectionTimes;
+			/**
+			 * The samples that {@link Run#compiled came after a compilation}.
+			 */
+			private LongList compiled;
+			/**
+			 * How long each of the {@link Recording#compiled compilations} took.
+			 */
+			private LongList compilationTimes;
+			/**
+			 * The corrected {@link Run#cpuTimes CPU times} of each sample.
+			 */
+			private LongList cpuTimes;
+			/**
+			 * The {@link Run#rawCpuTimes raw CPU times} of each sample.
+			 */
+			private LongList rawCpuTimes;
+			/**
+			 * The {@link Run#userTimes user times} of each sample.
+			 */
+			private LongList userTimes;
+			/**
+			 * The x of each of the {@link Recording#cpuTimes CPU times}.
+			 */
+			private LongList cpuXs;
+
+			/**
+			 * Looks up the lists of a method and a value in a run, and makes the ones
+			 * that aren't there yet.
+			 * 
+			 * @param run    The run
+			 * @param method The method
+			 * @param key    The value of the {@link org.jtimer.Annotations.Param
+			 *               @Param}, or 0 if there isn't one
+			 * @param stored If the samples are written to a
+			 *               {@link org.jtimer.Results.SampleStore store}
+			 */
+			Recording(Run run, TimedMethod method, long key, boolean stored) {
+				this.run = run;
+				this.method = method;
+				this.key = key;
+				int repeat = method.getRepeat();
+				boolean throughput = method.getMode() == TimingMode.THROUGHPUT;
+				if (!stored || throughput) { // There aren't many windows, so they're kept even when stored
+					samples = run.samples.computeIfAbsent(method, k -> new LongList(repeat));
+					operations = run.operations.computeIfAbsent(method, k -> new LongList(repeat));
+					xs = run.xs.computeIfAbsent(method, k -> new LongList(repeat));
+				}
+				if (!throughput) {
+					histogram = run.histograms.computeIfAbsent(method, k -> new LinkedHashMap<>()).computeIfAbsent(key, k -> new Histogram());
+				}
+				if (stored) {
+					summary = run.summaries.computeIfAbsent(method, k -> new LinkedHashMap<>()).computeIfAbsent(key, k -> new Summary(method.isContended()));
+					return;
+				}
+				if (method.isContended()) {
+					latencies = run.latencies.computeIfAbsent(method, k -> new LongList(repeat * method.getThreads()));
+					latencyXs = run.latencyXs.computeIfAbsent(method, k -> new LongList(repeat * method.getThreads()));
+				}
+				allocations = run.allocations.computeIfAbsent(method, k -> new LongList(repeat));
+				allocationXs = run.allocationXs.computeIfAbsent(method, k -> new LongList(repeat));
+				collected = run.collected.computeIfAbsent(method, k -> new LongList());
+				collectionTimes = run.collectionTimes.computeIfAbsent(method, k -> new LongList());
+				compiled = run.compiled.computeIfAbsent(method, k -> new LongList());
+				compilationTimes = run.compilationTimes.computeIfAbsent(method, k -> new LongList());
+				cpuTimes = run.cpuTimes.computeIfAbsent(method, k -> new LongList(repeat));
+				rawCpuTimes = run.rawCpuTimes.computeIfAbsent(method, k -> new LongList(repeat));
+				userTimes = run.userTimes.computeIfAbsent(method, k -> new LongList(repeat));
+				cpuXs = run.cpuXs.computeIfAbsent(method, k -> new LongList(repeat));
+			}
+		}
+
+		/**
+		 * What's kept of the samples of a method, other than the
+		 * {@link Run#histograms histogram} of them, when they're written to a
+		 * {@link org.jtimer.Results.SampleStore store} instead of being kept.
+		 */
+		private static class Summary {
+			/**
+			 * The histogram of the corrected time per invocation of every thread, null
+			 * unless the method has {@link org.jtimer.Annotations.Threads @Threads}.
+			 */
+			private Histogram latencies;
+			/**
+			 * The histogram of the throughput of all threads together, null unless the
+			 * method has {@link org.jtimer.Annotations.Threads @Threads}.
+			 */
+			private Histogram throughput;
+			/**
+			 * The histogram of the corrected CPU time per invocation.
+			 */
+			private Histogram cpuTimes = new Histogram();
+			/**
+			 * The histogram of the corrected bytes allocated per invocation.
+			 */
+			private Histogram allocations = new Histogram();
+			/**
+			 * The raw CPU time of all the samples together.
+			 */
+			private long cpuTime;
+			/**
+			 * The part of the {@link Summary#cpuTime CPU time} spent in user mode.
+			 */
+			private long userTime;
+			/**
+			 * The amount of samples that overlapped a garbage collection.
+			 */
+			private long collected;
+			/**
+			 * How long the collections took, in milliseconds.
+			 */
+			private long collectionTime;
+			/**
+			 * The amount of samples that came after a JIT compilation.
+			 */
+			private long compiled;
+			/**
+			 * How long the JIT was compiling, in milliseconds.
+			 */
+			private long compilationTime;
+
+			/**
+			 * Creates an empty summary.
+			 * 
+			 * @param contended If the method has {@link org.jtimer.Annotations.Threads
+			 *                  @Threads}
+			 */
+			Summary(boolean contended) {
+				if (contended) {
+					latencies = new Histogram();
+					throughput = new Histogram();
+				}
+			}
+		}
+
+		/**
+		 * How the warmup of a method went.
+		 */
+		private static class WarmedUp {
+			/**
+			 * The amount of iterations of the warmup.
+			 */
+			private long iterations;
+			/**
+			 * How long the warmup took, in nanoseconds.
+			 */
+			private long nanos;
+			/**
+			 * If the samples were steady by the end of it.
+			 */
+			private boolean steady;
+			/**
+			 * How long the JIT was compiling during it, in milliseconds.
+			 */
+			private long compilation;
+			/**
+			 * If the JIT had been quiet for long enough by the end of it.
+			 */
+			private boolean quiet;
+
+			/**
+			 * Records how the warmup of a method went.
+			 * 
+			 * @param iterations  The amount of iterations of the warmup
+			 * @param nanos       How long the warmup took
+			 * @param steady      If the samples were steady by the end of it
+			 * @param compilation How long the JIT was compiling during it
+			 * @param quiet       If the JIT had been quiet for long enough by the end
+			 */
+			WarmedUp(long iterations, long nanos, boolean steady, long compilation, boolean quiet) {
+				this.iterations = iterations;
+				this.nanos = nanos;
+				this.steady = steady;
+				this.compilation = compilation;
+				this.quiet = quiet;
+			}
+		}
+	}
+
 	/**
 	 * An interface used to change how things are timed. By default,
 	 * {@link TimeMethod#convertNano(long) convertNano()} just returns
@@ -0,0 +1,168 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Statistics;
+
+import java.util.Arrays;
+
+/**
+ * Confidence intervals of the mean and the median. The interval of the mean
+ * uses Student's t-distribution, and the interval of the median uses the ranks
+ * that the median falls between with the requested confidence, so it doesn't
+ * assume anything about how the samples are distributed.
+ * 
+ * @author MagneticZero
+ */
+public class Confidence {
+
+	/**
+	 * Since everything is static there is no need to be able to instantiate a new
+	 * instance of {@link org.jtimer.Statistics.Confidence Confidence}.
+	 */
+	private Confidence() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Calculates the half width of the confidence interval of the mean.
+	 * 
+	 * @param statistics The statistics of the samples
+	 * @param confidence The confidence, between 0 and 1
+	 * @return The half width, infinity if there are less than two samples
+	 */
+	public static double meanHalfWidth(RunningStatistics statistics, double confidence) {
+		if (statistics.getCount() < 2) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return t(confidence, statistics.getCount() - 1) * statistics.getStandardDeviation() / Math.sqrt(statistics.getCount());
+	}
+
+	/**
+	 * Calculates the half width of the confidence interval of the median.
+	 * 
+	 * @param sorted     The sorted samples
+	 * @param confidence The confidence, between 0 and 1
+	 * @return The half width, infinity if there are too few samples for the
+	 *         confidence
+	 */
+	public static double medianHalfWidth(long[] sorted, double confidence) {
+		int n = sorted.length;
+		double spread = z(confidence) * Math.sqrt(n) / 2;
+		int lower = (int) Math.floor(n / 2d - spread); // Ranks starting at 0
+		int upper = (int) Math.ceil(n / 2d + spread);
+		if (lower < 0 || upper >= n) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return (sorted[upper] - sorted[lower]) / 2d;
+	}
+
+	/**
+	 * Calculates the half width of the confidence interval of the mean, or the
+	 * median, relative to the mean, or the median.
+	 * 
+	 * @param samples    The samples, which are not modified
+	 * @param confidence The confidence, between 0 and 1
+	 * @param median     If the interval is of the median instead of the mean
+	 * @return The relative half width, infinity if there are too few samples
+	 */
+	public static double relativeHalfWidth(long[] samples, double confidence, boolean median) {
+		if (median) {
+			long[] sorted = samples.clone();
+			Arrays.sort(sorted);
+			return medianHalfWidth(sorted, confidence) / Math.abs(Descriptive.percentileSorted(sorted, 50));
+		}
+		RunningStatistics statistics = new RunningStatistics();
+		for (long sample : samples) {
+			statistics.add(sample);
+		}
+		return meanHalfWidth(statistics, confidence) / Math.abs(statistics.getMean());
+	}
+
+	/**
+	 * Finds the two-sided critical value of the standard normal distribution.
+	 * 
+	 * @param confidence The confidence, between 0 and 1
+	 * @return The critical value, I.E. about 1.96 for 0.95
+	 */
+	public static double z(double confidence) {
+		return inverseNormal(1 - (1 - confidence) / 2);
+	}
+
+	/**
+	 * Approximates the two-sided critical value of Student's t-distribution with
+	 * a Cornish-Fisher expansion, which is well within what timing needs for
+	 * anything but one or two degrees of freedom.
+	 * 
+	 * @param confidence The confidence, between 0 and 1
+	 * @param degrees    The degrees of freedom
+	 * @return The critical value
+	 */
+	public static double t(double confidence, long degrees) {
+		double z = z(confidence);
+		double z3 = z * z * z;
+		double z5 = z3 * z * z;
+		return z + (z3 + z) / (4d * degrees) + (5 * z5 + 16 * z3 + 3 * z) / (96d * degrees * degrees);
+	}
+
+	/**
+	 * Approximates the cumulative standard normal distribution with the
+	 * complementary error function from Numerical Recipes, which has a relative
+	 * error of less than 1.2e-7.
+	 * 
+	 * @param x The value
+	 * @return The probability of being below the value
+	 */
+	public static double normal(double x) {
+		double z = Math.abs(x) / Math.sqrt(2);
+		double t = 1 / (1 + z / 2);
+		double erfc = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418 + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587 + t * (-0.82215223 + t * 0.17087277)))))))));
+		return x >= 0 ? 1 - erfc / 2 : erfc / 2;
+	}
+
+	/**
+	 * Approximates the inverse of the cumulative standard normal distribution
+	 * using Acklam's rational approximation, which has a relative error of less
+	 * than 1.15e-9.
+	 * 
+	 * @param p The probability, between 0 and 1
+	 * @return The value the probability is below
+	 */
+	public static double inverseNormal(double p) {
+		if (p <= 0) {
+			return Double.NEGATIVE_INFINITY;
+		} else if (p >= 1) {
+			return Double.POSITIVE_INFINITY;
+		}
+		double[] a = { -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02, 1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00 };
+		double[] b = { -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02, 6.680131188771972e+01, -1.328068155288572e+01 };
+		double[] c = { -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00, -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00 };
+		double[] d = { 7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00, 3.754408661907416e+00 };
+		double low = 0.02425;
+		if (p < low) {
+			double q = Math.sqrt(-2 * Math.log(p));
+			return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5]) / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+		} else if (p > 1 - low) {
+			double q = Math.sqrt(-2 * Math.log(1 - p));
+			return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5]) / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+		}
+		double q = p - 0.5;
+		double r = q * q;
+		return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+	}
+}
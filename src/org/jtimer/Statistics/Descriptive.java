@@ -0,0 +1,163 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Statistics;
+
+import java.util.Arrays;
+
+/**
+ * A few descriptive statistics of samples. Everything in here takes primitive
+ * arrays so that nothing needs to be boxed.
+ * 
+ * @author MagneticZero
+ */
+public class Descriptive {
+
+	/**
+	 * Since everything is static there is no need to be able to instantiate a new
+	 * instance of {@link org.jtimer.Statistics.Descriptive Descriptive}.
+	 */
+	private Descriptive() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Calculates the mean of the samples.
+	 * 
+	 * @param samples The samples
+	 * @return The mean, NaN if there are no samples
+	 */
+	public static double mean(long[] samples) {
+		double total = 0;
+		for (long sample : samples) {
+			total += sample;
+		}
+		return total / samples.length;
+	}
+
+	/**
+	 * Calculates the mean of the samples.
+	 * 
+	 * @param samples The samples
+	 * @return The mean, NaN if there are no samples
+	 */
+	public static double mean(double[] samples) {
+		double total = 0;
+		for (double sample : samples) {
+			total += sample;
+		}
+		return total / samples.length;
+	}
+
+	/**
+	 * Calculates the unbiased sample variance of the samples.
+	 * 
+	 * @param samples The samples
+	 * @return The variance, 0 if there are less than two samples
+	 */
+	public static double variance(long[] samples) {
+		if (samples.length < 2) {
+			return 0;
+		}
+		double mean = mean(samples);
+		double total = 0;
+		for (long sample : samples) {
+			total += (sample - mean) * (sample - mean);
+		}
+		return total / (samples.length - 1);
+	}
+
+	/**
+	 * Calculates the unbiased sample variance of the samples.
+	 * 
+	 * @param samples The samples
+	 * @return The variance, 0 if there are less than two samples
+	 */
+	public static double variance(double[] samples) {
+		if (samples.length < 2) {
+			return 0;
+		}
+		double mean = mean(samples);
+		double total = 0;
+		for (double sample : samples) {
+			total += (sample - mean) * (sample - mean);
+		}
+		return total / (samples.length - 1);
+	}
+
+	/**
+	 * Finds a percentile of the samples using the nearest rank. The samples are
+	 * not modified.
+	 * 
+	 * @param samples    The samples
+	 * @param percentile The percentile, between 0 and 100
+	 * @return The percentile
+	 */
+	public static long percentile(long[] samples, double percentile) {
+		long[] sorted = samples.clone();
+		Arrays.sort(sorted);
+		return percentileSorted(sorted, percentile);
+	}
+
+	/**
+	 * Finds a percentile of samples that are already sorted using the nearest
+	 * rank.
+	 * 
+	 * @param sorted     The sorted samples
+	 * @param percentile The percentile, between 0 and 100
+	 * @return The percentile
+	 */
+	public static long percentileSorted(long[] sorted, double percentile) {
+		int rank = (int) Math.ceil(percentile * sorted.length / 100); // Dividing last keeps whole ranks whole
+		return sorted[Math.min(sorted.length - 1, Math.max(0, rank - 1))];
+	}
+
+	/**
+	 * Finds the median of the samples. The samples are not modified.
+	 * 
+	 * @param samples The samples
+	 * @return The median
+	 */
+	public static long median(long[] samples) {
+		return percentile(samples, 50);
+	}
+
+	/**
+	 * Calculates the slope of the least squares line through the samples, with
+	 * the index of each sample as its x. This is how much the samples drift from
+	 * one to the next.
+	 * 
+	 * @param samples The samples
+	 * @return The slope, 0 if there are less than two samples
+	 */
+	public static double slope(long[] samples) {
+		if (samples.length < 2) {
+			return 0;
+		}
+		double meanX = (samples.length - 1) / 2d;
+		double meanY = mean(samples);
+		double covariance = 0;
+		double variance = 0;
+		for (int i = 0; i < samples.length; i++) {
+			covariance += (i - meanX) * (samples[i] - meanY);
+			variance += (i - meanX) * (i - meanX);
+		}
+		return covariance / variance;
+	}
+}
@@ -0,0 +1,234 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Statistics;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of samples with buckets that get wider as the samples get
+ * larger, so that every sample is counted to within the same relative
+ * precision no matter if it's a few nanoseconds or a few minutes. Samples below
+ * 2<sup>precision</sup> each get a bucket of their own, and every power of two
+ * above that is split into 2<sup>precision</sup> buckets, which means a sample
+ * is off by less than 1 in 2<sup>precision</sup> of itself. The buckets are
+ * allocated once up front, so recording a sample is a couple of bit operations
+ * and an increment that never allocates, and a histogram takes the same amount
+ * of memory for ten samples as it does for ten billion. Histograms of the same
+ * precision can be {@link Histogram#add(Histogram) added} together, like the
+ * histograms of several threads or forks.
+ * 
+ * @author MagneticZero
+ */
+public class Histogram {
+
+	/**
+	 * The amount of bits of precision, each power of two is split into
+	 * 2<sup>precision</sup> buckets.
+	 */
+	private int precision;
+	/**
+	 * The amount of samples in each bucket.
+	 */
+	private long[] counts;
+	/**
+	 * The amount of samples.
+	 */
+	private long count = 0;
+	/**
+	 * The smallest sample.
+	 */
+	private long min = Long.MAX_VALUE;
+	/**
+	 * The largest sample.
+	 */
+	private long max = Long.MIN_VALUE;
+	/**
+	 * The sum of the samples, for the mean.
+	 */
+	private double sum = 0;
+
+	/**
+	 * Creates a histogram with 7 bits of precision, which counts samples to
+	 * within 0.8% and takes about 57 KB.
+	 */
+	public Histogram() {
+		this(7);
+	}
+
+	/**
+	 * Creates a histogram.
+	 * 
+	 * @param precision The amount of bits of precision, between 1 and 16, a
+	 *                  sample is counted to within 1 in 2<sup>precision</sup> of
+	 *                  itself
+	 */
+	public Histogram(int precision) {
+		if (precision < 1 || precision > 16) {
+			throw new IllegalArgumentException("The precision of a histogram has to be between 1 and 16 bits");
+		}
+		this.precision = precision;
+		this.counts = new long[(64 - precision) << precision];
+	}
+
+	/**
+	 * Records a sample. Negative samples are recorded as 0.
+	 * 
+	 * @param sample The sample
+	 */
+	public void add(long sample) {
+		sample = Math.max(0, sample);
+		counts[index(sample)]++;
+		count++;
+		sum += sample;
+		min = Math.min(min, sample);
+		max = Math.max(max, sample);
+	}
+
+	/**
+	 * Adds all the samples of another histogram to this one.
+	 * 
+	 * @param histogram The other histogram, which has to have the same precision
+	 */
+	public void add(Histogram histogram) {
+		if (histogram.precision != precision) {
+			throw new IllegalArgumentException("Only histograms of the same precision can be added together");
+		}
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] += histogram.counts[i];
+		}
+		count += histogram.count;
+		sum += histogram.sum;
+		min = Math.min(min, histogram.min);
+		max = Math.max(max, histogram.max);
+	}
+
+	/**
+	 * Forgets all the samples.
+	 */
+	public void clear() {
+		Arrays.fill(counts, 0);
+		count = 0;
+		sum = 0;
+		min = Long.MAX_VALUE;
+		max = Long.MIN_VALUE;
+	}
+
+	/**
+	 * Returns the sample at a percentile, to within the precision of the
+	 * histogram. This is the largest sample that could be in the bucket the
+	 * percentile falls in, or the largest sample if that's smaller, so it never
+	 * makes things look better than they were.
+	 * 
+	 * @param percentile The percentile, between 0 and 100
+	 * @return The sample at the percentile, 0 if there are no samples
+	 */
+	public long percentile(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(Math.min(100, percentile) * count / 100)); // The nearest rank, starting at 1, like Descriptive.percentile
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.max(min, Math.min(max, highest(i)));
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Returns the amount of samples.
+	 * 
+	 * @return The count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the mean of the samples, which is exact rather than to within the
+	 * precision of the histogram.
+	 * 
+	 * @return The mean, 0 if there are no samples
+	 */
+	public double getMean() {
+		return count == 0 ? 0 : sum / count;
+	}
+
+	/**
+	 * Returns the smallest sample, exactly.
+	 * 
+	 * @return The minimum, 0 if there are no samples
+	 */
+	public long getMin() {
+		return count == 0 ? 0 : min;
+	}
+
+	/**
+	 * Returns the largest sample, exactly.
+	 * 
+	 * @return The maximum, 0 if there are no samples
+	 */
+	public long getMax() {
+		return count == 0 ? 0 : max;
+	}
+
+	/**
+	 * Returns the amount of bits of precision.
+	 * 
+	 * @return The precision
+	 */
+	public int getPrecision() {
+		return precision;
+	}
+
+	/**
+	 * Finds the bucket of a sample. Samples below 2<sup>precision</sup> are
+	 * their own bucket, and the buckets of larger samples are the position of
+	 * their highest bit followed by the precision bits below it.
+	 * 
+	 * @param sample The sample, which isn't negative
+	 * @return The index of its bucket
+	 */
+	private int index(long sample) {
+		int highest = 63 - Long.numberOfLeadingZeros(sample | 1);
+		if (highest < precision) {
+			return (int) sample;
+		}
+		int shift = highest - precision;
+		return ((shift + 1) << precision) + (int) ((sample >>> shift) - (1L << precision));
+	}
+
+	/**
+	 * Finds the largest sample that goes in a bucket.
+	 * 
+	 * @param index The index of the bucket
+	 * @return The largest sample of the bucket
+	 */
+	private long highest(int index) {
+		if (index < (1 << precision)) {
+			return index;
+		}
+		int shift = (index >> precision) - 1;
+		long lowest = ((long) (index & ((1 << precision) - 1)) + (1L << precision)) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+}
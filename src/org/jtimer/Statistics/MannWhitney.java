@@ -0,0 +1,140 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Statistics;
+
+import java.util.Arrays;
+
+/**
+ * The Mann-Whitney U test of whether the samples of one run tend to be larger
+ * or smaller than the samples of another. It only looks at the ranks of the
+ * samples, so it doesn't care that timing samples are nowhere near normally
+ * distributed or that a few of them are way off. The p-value uses the normal
+ * approximation with a correction for ties, which is plenty once both runs
+ * have more than 20 or so samples, and the effect size is Cliff's delta,
+ * which is how much more likely a sample of the second run is to be larger
+ * than one of the first than the other way around.
+ * 
+ * @author MagneticZero
+ */
+public class MannWhitney {
+
+	/**
+	 * The U statistic of the second run.
+	 */
+	private double u;
+	/**
+	 * The two-sided p-value.
+	 */
+	private double p;
+	/**
+	 * Cliff's delta, between -1 and 1.
+	 */
+	private double effectSize;
+
+	/**
+	 * Tests if the samples of a run differ from the samples of a baseline.
+	 * 
+	 * @param baseline The samples of the baseline, which are not modified
+	 * @param samples  The samples of the run, which are not modified
+	 */
+	public MannWhitney(long[] baseline, long[] samples) {
+		int n1 = baseline.length;
+		int n2 = samples.length;
+		if (n1 == 0 || n2 == 0) {
+			p = 1;
+			return;
+		}
+		long[] first = baseline.clone();
+		long[] second = samples.clone();
+		Arrays.sort(first);
+		Arrays.sort(second);
+		double rankSum = 0; // Of the second run
+		double ties = 0;
+		long ranked = 0;
+		for (int i = 0, j = 0; i < n1 || j < n2;) { // Goes through both in order, a group of equal samples at a time
+			long value = j >= n2 || (i < n1 && first[i] <= second[j]) ? first[i] : second[j];
+			long t1 = 0;
+			long t2 = 0;
+			for (; i < n1 && first[i] == value; i++) {
+				t1++;
+			}
+			for (; j < n2 && second[j] == value; j++) {
+				t2++;
+			}
+			double t = t1 + t2;
+			rankSum += t2 * (ranked + (t + 1) / 2); // Tied samples get the average of their ranks
+			ties += t * t * t - t;
+			ranked += t1 + t2;
+		}
+		double n = n1 + n2;
+		u = rankSum - n2 * (n2 + 1) / 2d;
+		effectSize = 2 * u / ((double) n1 * n2) - 1;
+		double sigma = Math.sqrt(n1 * (double) n2 / 12 * (n + 1 - ties / (n * (n - 1))));
+		if (sigma == 0) {
+			p = 1;
+			return;
+		}
+		double z = Math.max(0, Math.abs(u - n1 * (double) n2 / 2) - 0.5) / sigma; // With a continuity correction
+		p = Math.min(1, 2 * (1 - Confidence.normal(z)));
+	}
+
+	/**
+	 * Returns the U statistic of the run, which is how many of the pairs of a
+	 * baseline sample and a run sample have the run sample larger, with ties
+	 * counting as half.
+	 * 
+	 * @return The U statistic
+	 */
+	public double getU() {
+		return u;
+	}
+
+	/**
+	 * Returns the two-sided p-value, which is how likely a difference at least
+	 * this big is if the runs don't actually differ.
+	 * 
+	 * @return The p-value, between 0 and 1
+	 */
+	public double getP() {
+		return p;
+	}
+
+	/**
+	 * Returns Cliff's delta, which is positive if the samples of the run tend to
+	 * be larger than the baseline and negative if they tend to be smaller. About
+	 * 0.15 is a small effect, 0.33 a medium one and 0.47 a large one.
+	 * 
+	 * @return The effect size, between -1 and 1
+	 */
+	public double getEffectSize() {
+		return effectSize;
+	}
+
+	/**
+	 * Tells if the runs differ significantly, and by enough to care about.
+	 * 
+	 * @param significance The largest p-value that is significant, like 0.01
+	 * @param effectSize   The smallest effect size to care about, like 0.15
+	 * @return If the runs differ
+	 */
+	public boolean differs(double significance, double effectSize) {
+		return p <= significance && Math.abs(this.effectSize) >= effectSize;
+	}
+}
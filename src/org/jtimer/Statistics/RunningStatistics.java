@@ -0,0 +1,151 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Statistics;
+
+/**
+ * Keeps the count, mean, variance, minimum and maximum of samples as they come
+ * in, without keeping the samples themselves. The mean and variance are
+ * updated with Welford's method, which doesn't lose precision the way summing
+ * the squares does once there are a lot of large samples.
+ * 
+ * @author MagneticZero
+ */
+public class RunningStatistics {
+
+	/**
+	 * The amount of samples.
+	 */
+	private long count = 0;
+	/**
+	 * The mean of the samples.
+	 */
+	private double mean = 0;
+	/**
+	 * The sum of the squared differences from the mean.
+	 */
+	private double squares = 0;
+	/**
+	 * The smallest sample.
+	 */
+	private double min = Double.POSITIVE_INFINITY;
+	/**
+	 * The largest sample.
+	 */
+	private double max = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * Adds a sample.
+	 * 
+	 * @param sample The sample
+	 */
+	public void add(double sample) {
+		count++;
+		double delta = sample - mean;
+		mean += delta / count;
+		squares += delta * (sample - mean);
+		min = Math.min(min, sample);
+		max = Math.max(max, sample);
+	}
+
+	/**
+	 * Adds all the samples of other statistics to these, as if they had been
+	 * added one by one. The mean and variance are combined with Chan's method,
+	 * so this doesn't depend on how many samples there are.
+	 * 
+	 * @param statistics The other statistics
+	 */
+	public void add(RunningStatistics statistics) {
+		if (statistics.count == 0) {
+			return;
+		}
+		long total = count + statistics.count;
+		double delta = statistics.mean - mean;
+		mean += delta * statistics.count / total;
+		squares += statistics.squares + delta * delta * count * statistics.count / total;
+		count = total;
+		min = Math.min(min, statistics.min);
+		max = Math.max(max, statistics.max);
+	}
+
+	/**
+	 * Forgets all the samples.
+	 */
+	public void clear() {
+		count = 0;
+		mean = 0;
+		squares = 0;
+		min = Double.POSITIVE_INFINITY;
+		max = Double.NEGATIVE_INFINITY;
+	}
+
+	/**
+	 * Returns the amount of samples.
+	 * 
+	 * @return The count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the mean of the samples.
+	 * 
+	 * @return The mean, 0 if there are no samples
+	 */
+	public double getMean() {
+		return mean;
+	}
+
+	/**
+	 * Returns the unbiased sample variance of the samples.
+	 * 
+	 * @return The variance, 0 if there are less than two samples
+	 */
+	public double getVariance() {
+		return count < 2 ? 0 : squares / (count - 1);
+	}
+
+	/**
+	 * Returns the standard deviation of the samples.
+	 * 
+	 * @return The standard deviation, 0 if there are less than two samples
+	 */
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+
+	/**
+	 * Returns the smallest sample.
+	 * 
+	 * @return The minimum, positive infinity if there are no samples
+	 */
+	public double getMin() {
+		return min;
+	}
+
+	/**
+	 * Returns the largest sample.
+	 * 
+	 * @return The maximum, negative infinity if there are no samples
+	 */
+	public double getMax() {
+		return max;
+	}
+}
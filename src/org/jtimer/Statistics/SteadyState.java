@@ -0,0 +1,122 @@
+/*
+ * JTimer is a Java library that contains various methods and annotations that allow's one to 
+ * time various methods and output it into a graph.
+ * Copyright (C) 2019  Harley Merkaj
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://github.com/MagneticZer0/JTimer/blob/master/LICENSE> 
+ * or <https://www.gnu.org/licenses/>.
+ */
+package org.jtimer.Statistics;
+
+/**
+ * Keeps a sliding window of the most recent samples and tells if they've
+ * become steady, which is how an adaptive {@link org.jtimer.Annotations.Warmup
+ * @Warmup} knows when to stop. The samples are steady once the window is full
+ * and both their coefficient of variation and their relative trend, which is
+ * how much the least squares line through them changes from the first sample
+ * to the last compared to their mean, are within a threshold.
+ * 
+ * @author MagneticZero
+ */
+public class SteadyState {
+
+	/**
+	 * The most recent samples, oldest first starting at
+	 * {@link org.jtimer.Statistics.SteadyState#next next} once the window is full.
+	 */
+	private long[] window;
+	/**
+	 * Where the next sample goes.
+	 */
+	private int next = 0;
+	/**
+	 * The amount of samples seen so far.
+	 */
+	private long count = 0;
+	/**
+	 * The largest variation and trend that count as steady.
+	 */
+	private double threshold;
+
+	/**
+	 * Creates an empty window.
+	 * 
+	 * @param size      The amount of samples that have to be steady
+	 * @param threshold The largest coefficient of variation and relative trend
+	 *                  that count as steady
+	 */
+	public SteadyState(int size, double threshold) {
+		this.window = new long[Math.max(2, size)];
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Adds a sample, pushing the oldest one out of the window if it's full.
+	 * 
+	 * @param sample The sample
+	 */
+	public void add(long sample) {
+		window[next] = sample;
+		next = (next + 1) % window.length;
+		count++;
+	}
+
+	/**
+	 * Tells if the samples in the window are steady.
+	 * 
+	 * @return If the window is full and within the threshold
+	 */
+	public boolean isSteady() {
+		return count >= window.length && getVariation() <= threshold && Math.abs(getTrend()) <= threshold;
+	}
+
+	/**
+	 * Calculates the coefficient of variation of the window, which is the
+	 * standard deviation relative to the mean.
+	 * 
+	 * @return The coefficient of variation
+	 */
+	public double getVariation() {
+		long[] samples = samples();
+		return Math.sqrt(Descriptive.variance(samples)) / Math.abs(Descriptive.mean(samples));
+	}
+
+	/**
+	 * Calculates how much the samples of the window trend from the first to the
+	 * last, relative to their mean.
+	 * 
+	 * @return The relative trend, negative if the samples are going down
+	 */
+	public double getTrend() {
+		long[] samples = samples();
+		return Descriptive.slope(samples) * (samples.length - 1) / Math.abs(Descriptive.mean(samples));
+	}
+
+	/**
+	 * Returns the samples of the window from oldest to newest.
+	 * 
+	 * @return The samples
+	 */
+	private long[] samples() {
+		if (count < window.length) {
+			long[] samples = new long[(int) count];
+			System.arraycopy(window, 0, samples, 0, samples.length);
+			return samples;
+		}
+		long[] samples = new long[window.length];
+		System.arraycopy(window, next, samples, 0, window.length - next);
+		System.arraycopy(window, 0, samples, window.length - next, next);
+		return samples;
+	}
+}
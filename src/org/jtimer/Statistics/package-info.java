@@ -0,0 +1,5 @@
+/**
+ * The package in which everything relating to the statistics of samples is
+ * stored. These are used to summarize the times of a method in the report.
+ */
+package org.jtimer.Statistics;
\ No newline at end of file
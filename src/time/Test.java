@@ -5,6 +5,7 @@ import java.util.Collections;
 import java.util.HashMap;
 
 import org.jtimer.Runner;
+import org.jtimer.Annotations.Batch;
 import org.jtimer.Annotations.Before;
 import org.jtimer.Annotations.BeforeClass;
 import org.jtimer.Annotations.DisplayName;
@@ -38,10 +39,12 @@ public class Test {
 		}
 	}
 
+	@Batch
 	@Time(repeat = 1000)
-	public void mapPut() {
+	public HashMap<String, String> mapPut() { // Returning the map keeps the JIT from skipping it
 		HashMap<String, String> map = new HashMap<>();
 		map.put("a", "b");
+		return map;
 	}
 
 	@Time(repeat = 100, timeout = 1)
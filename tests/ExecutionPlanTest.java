@@ -0,0 +1,99 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.jtimer.Annotations.Time;
+import org.jtimer.Execution.ExecutionPlan;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+class ExecutionPlanTest {
+
+	Random random = new Random();
+
+	static class IntCounter {
+		int counter;
+
+		@Time
+		void time() {
+		}
+	}
+
+	static class LongCounter {
+		long counter;
+
+		@Time
+		void time() {
+		}
+	}
+
+	static class BoxedCounter {
+		Integer counter;
+
+		@Time
+		void time() {
+		}
+	}
+
+	static class StaticCounter {
+		static double counter;
+
+		@Time
+		void time() {
+		}
+	}
+
+	static class ByteCounter {
+		byte counter;
+
+		@Time
+		void time() {
+		}
+	}
+
+	static class BooleanCounter {
+		boolean counter;
+
+		@Time
+		void time() {
+		}
+	}
+
+	static class BoxedLongCounter {
+		Long counter;
+
+		@Time
+		void time() {
+		}
+	}
+
+	@DisplayName("Counter Fields")
+	@RepeatedTest(10)
+	void counterTest() throws ReflectiveOperationException {
+		int value = random.nextInt();
+		IntCounter ints = (IntCounter) set(IntCounter.class, value);
+		assertEquals(value, ints.counter, "Int counter wasn't set!");
+		LongCounter longs = (LongCounter) set(LongCounter.class, value);
+		assertEquals(value, longs.counter, "Long counter wasn't widened!");
+		BoxedCounter boxed = (BoxedCounter) set(BoxedCounter.class, value);
+		assertEquals(Integer.valueOf(value), boxed.counter, "Integer counter wasn't boxed!");
+		set(StaticCounter.class, value);
+		assertEquals(value, StaticCounter.counter, "Static counter wasn't set!");
+	}
+
+	@DisplayName("Counters That Can't Hold an Int")
+	@Test
+	void narrowTest() {
+		assertThrows(IllegalArgumentException.class, () -> ExecutionPlan.compile(ByteCounter.class), "A byte counter was let through!");
+		assertThrows(IllegalArgumentException.class, () -> ExecutionPlan.compile(BooleanCounter.class), "A boolean counter was let through!");
+		assertThrows(IllegalArgumentException.class, () -> ExecutionPlan.compile(BoxedLongCounter.class), "A Long counter was let through!");
+	}
+
+	private static Object set(Class<?> cls, int value) throws ReflectiveOperationException {
+		ExecutionPlan plan = ExecutionPlan.compile(cls);
+		Object obj = plan.newInstance();
+		plan.setCounter(obj, value);
+		return obj;
+	}
+}
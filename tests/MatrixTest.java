@@ -134,4 +134,35 @@ class MatrixTest {
 		Matrix matrix = new Matrix(new Integer[][] { { one, two }, { three, four } });
 		assertEquals(new Double(one * four - two * three), matrix.determinant());
 	}
+
+	@DisplayName("Transpose Multiplication")
+	@RepeatedTest(100)
+	void transposeMultiplyTest() {
+		int rows = random.nextInt(50) + 1;
+		Matrix first = new Matrix(rows, random.nextInt(5) + 1);
+		Matrix second = new Matrix(rows, random.nextInt(5) + 1);
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < first.getColumns(); j++) {
+				first.set(i, j, random.nextInt(1000));
+			}
+			for (int j = 0; j < second.getColumns(); j++) {
+				second.set(i, j, random.nextInt(1000));
+			}
+		}
+		assertArrayEquals(first.transpose().multiply(second).toArray(), first.transposeMultiply(second).toArray());
+		assertThrows(DimensionsInvalidException.class, () -> first.transposeMultiply(new Matrix(rows + 1, 1)));
+	}
+
+	@DisplayName("Primitive Access")
+	@Test
+	void primitiveTest() {
+		Matrix matrix = new Matrix(new double[][] { { 1, 2, 3 }, { 4, 5, 6 } });
+		assertEquals(6d, matrix.get(1, 2), "Wrong element!");
+		matrix.set(0, 1, 7);
+		matrix.setRow(1, 8, 9, 10);
+		assertArrayEquals(new double[] { 1, 7, 3, 8, 9, 10 }, matrix.getValues(), "Elements aren't row by row!");
+		matrix.toArray()[0][0] = 11d;
+		assertEquals(1d, matrix.get(0, 0), "The copy wrote through to the matrix!");
+		assertThrows(DimensionsInvalidException.class, () -> new Matrix(2, 2, new double[3]));
+	}
 }
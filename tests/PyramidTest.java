@@ -0,0 +1,66 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.jtimer.Collections.Pyramid;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+
+class PyramidTest {
+
+	Random random = new Random();
+
+	@DisplayName("Everything Fits")
+	@RepeatedTest(10)
+	void allTest() {
+		Pyramid pyramid = new Pyramid();
+		int points = random.nextInt(1000) + 1;
+		for (int i = 0; i < points; i++) {
+			pyramid.add(i, random.nextGaussian());
+		}
+		double lowest = Double.POSITIVE_INFINITY;
+		double highest = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < points; i++) {
+			lowest = Math.min(lowest, pyramid.getY(i));
+			highest = Math.max(highest, pyramid.getY(i));
+		}
+		assertEquals(lowest, pyramid.getMinY(), "Wrong lowest y!");
+		assertEquals(highest, pyramid.getMaxY(), "Wrong highest y!");
+		assertEquals(0, pyramid.getMinX(), "Wrong lowest x!");
+		assertEquals(points - 1, pyramid.getMaxX(), "Wrong highest x!");
+		Set<Integer> given = new HashSet<>();
+		assertEquals(points, pyramid.query(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, points, given::add), "Not every point was given!");
+		assertEquals(points, given.size(), "A point was given twice!");
+	}
+
+	@DisplayName("Downsampled Range")
+	@RepeatedTest(10)
+	void rangeTest() {
+		Pyramid pyramid = new Pyramid();
+		int points = random.nextInt(100000) + 10000;
+		double lowest = Double.POSITIVE_INFINITY;
+		double highest = Double.NEGATIVE_INFINITY;
+		int low = random.nextInt(points / 2);
+		int high = low + random.nextInt(points / 2);
+		for (int i = 0; i < points; i++) {
+			double y = random.nextGaussian();
+			pyramid.add(i, y);
+			if (i >= low && i <= high) {
+				lowest = Math.min(lowest, y);
+				highest = Math.max(highest, y);
+			}
+		}
+		int limit = random.nextInt(1000) + 100;
+		double[] found = { Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY };
+		int given = pyramid.query(low, high, limit, i -> {
+			assertTrue(pyramid.getX(i) >= low && pyramid.getX(i) <= high, "A point outside of the range was given!");
+			found[0] = Math.min(found[0], pyramid.getY(i));
+			found[1] = Math.max(found[1], pyramid.getY(i));
+		});
+		assertTrue(given <= Math.min(high - low + 1, limit + 4 * 32), "Too many points were given!");
+		assertEquals(lowest, found[0], "The lowest point was left out!");
+		assertEquals(highest, found[1], "The highest point was left out!");
+	}
+}
@@ -0,0 +1,68 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.jtimer.Collections.RingBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+class RingBufferTest {
+
+	Random random = new Random();
+
+	@DisplayName("Full Ring")
+	@Test
+	void fullTest() {
+		RingBuffer ring = new RingBuffer(5, 2);
+		assertEquals(8, ring.capacity(), "Capacity wasn't rounded up to a power of two!");
+		for (int i = 0; i < ring.capacity(); i++) {
+			int offset = ring.claim();
+			assertTrue(offset >= 0, "Ring was full too early!");
+			ring.set(offset, i);
+			ring.set(offset + 1, -i);
+			ring.publish();
+		}
+		assertEquals(-1, ring.claim(), "Ring wasn't full!");
+		long[] read = new long[1];
+		assertEquals(3, ring.drain((values, offset) -> {
+			assertEquals(read[0], values[offset], "Wrong record!");
+			assertEquals(-read[0]++, values[offset + 1], "Wrong record!");
+		}, 3), "Wrong amount drained!");
+		assertEquals(5, ring.size(), "Wrong size!");
+		assertTrue(ring.claim() >= 0, "Ring was still full after draining!");
+	}
+
+	@DisplayName("Two Threads")
+	@RepeatedTest(10)
+	void threadTest() throws InterruptedException {
+		RingBuffer ring = new RingBuffer(random.nextInt(1000) + 1, 3);
+		int records = random.nextInt(100000) + 1;
+		Thread writer = new Thread(() -> {
+			for (int i = 0; i < records; i++) {
+				int offset;
+				while ((offset = ring.claim()) < 0) {
+					Thread.yield();
+				}
+				ring.set(offset, i);
+				ring.set(offset + 1, i * 2L);
+				ring.set(offset + 2, i * 3L);
+				ring.publish();
+			}
+		});
+		writer.start();
+		long[] read = new long[1];
+		while (read[0] < records) {
+			int drained = ring.drain((values, offset) -> {
+				assertEquals(read[0], values[offset], "Records were out of order!");
+				assertEquals(read[0] * 2, values[offset + 1], "Record wasn't published whole!");
+				assertEquals(read[0]++ * 3, values[offset + 2], "Record wasn't published whole!");
+			}, random.nextInt(100) + 1);
+			if (drained == 0) {
+				Thread.yield();
+			}
+		}
+		writer.join();
+		assertEquals(0, ring.size(), "Ring wasn't empty!");
+	}
+}
@@ -0,0 +1,131 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jtimer.Runner;
+import org.jtimer.Annotations.*;
+import org.jtimer.Execution.ExecutionPlan;
+import org.jtimer.Execution.TimedMethod;
+import org.jtimer.Results.Report;
+import org.jtimer.Results.ResultSink;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RunnerBatchTest {
+
+	static Map<String, List<Integer>> operations = new HashMap<>();
+	static Map<String, TimedMethod> methods = new HashMap<>();
+	static Report report;
+	static boolean headless;
+	static long fixed;
+	static long counter;
+
+	@BeforeAll
+	static void setup() throws Throwable {
+		headless = Runner.isHeadless();
+		Runner.setHeadless(true);
+		Runner.setSinks(new ResultSink() {
+			@Override
+			public void sample(TimedMethod method, long x, long nanos) {
+				methods.put(method.getMethod().getName(), method);
+				operations.computeIfAbsent(method.getMethod().getName(), key -> new ArrayList<>()).add(method.getOperations());
+			}
+
+			@Override
+			public void finished(ExecutionPlan plan, Report report) {
+				RunnerBatchTest.report = report;
+			}
+		});
+		Runner.time(RunnerBatchTest.class);
+	}
+
+	@DisplayName("Runner - Fixed batch")
+	@Test
+	void runnerTest1() {
+		assertEquals(4, operations.get("fixedBatch").size(), "Wrong amount of samples!");
+		for (int batch : operations.get("fixedBatch")) {
+			assertEquals(25, batch, "The batch wasn't the one in @Batch!");
+		}
+		assertEquals(100, fixed, "The method wasn't invoked a whole batch for each sample!");
+	}
+
+	@DisplayName("Runner - Automatic batch")
+	@Test
+	void runnerTest2() {
+		int batch = operations.get("automaticBatch").get(0);
+		assertTrue(batch > 1, "No batch was picked for a method way under the target!");
+		assertEquals(0, batch & (batch - 1), "The batch wasn't doubled up to the target!");
+		for (int sample : operations.get("automaticBatch")) {
+			assertEquals(batch, sample, "The batch changed between samples!");
+		}
+	}
+
+	@DisplayName("Runner - Automatic batch over the target")
+	@Test
+	void runnerTest3() {
+		for (int batch : operations.get("slowBatch")) {
+			assertEquals(1, batch, "A method slower than the target was batched!");
+		}
+	}
+
+	@DisplayName("Runner - No batch")
+	@Test
+	void runnerTest4() {
+		for (int batch : operations.get("noBatch")) {
+			assertEquals(1, batch, "A method without @Batch was batched!");
+		}
+	}
+
+	@DisplayName("Runner - Time per invocation")
+	@Test
+	void runnerTest5() {
+		long median = median(methods.get("fixedBatch"));
+		assertTrue(median >= 1000000, "The median was less than a single invocation!");
+		assertTrue(median < 10000000, "The median wasn't divided by the batch!");
+	}
+
+	@AfterAll
+	static void tearDown() {
+		Runner.setHeadless(headless);
+		Runner.setSinks((plan, report) -> report.print(System.out));
+	}
+
+	@Batch(25)
+	@Time(repeat = 4)
+	void fixedBatch() throws InterruptedException {
+		fixed++;
+		Thread.sleep(1);
+	}
+
+	@Batch
+	@Time(repeat = 4)
+	void automaticBatch() {
+		counter++;
+	}
+
+	@Batch(target = 1000000)
+	@Time(repeat = 3)
+	void slowBatch() throws InterruptedException {
+		Thread.sleep(2);
+	}
+
+	@Time(repeat = 3)
+	void noBatch() {
+		counter++;
+	}
+
+	private static long median(TimedMethod method) {
+		for (String line : report.get(method.getName())) {
+			if (line.contains("Median: ")) {
+				return Long.parseLong(line.substring(line.indexOf("Median: ") + 8, line.indexOf(" ns raw")));
+			}
+		}
+		fail("No median was reported!");
+		return 0;
+	}
+}
@@ -0,0 +1,77 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jtimer.Runner;
+import org.jtimer.Annotations.*;
+import org.jtimer.Misc.Setting;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.chart.ScatterChart;
+
+@Settings({ Setting.ALLOCATION_CHART, Setting.CPU_TIME_CHART, Setting.PERCENTILE_CHART })
+@Warmup(iterations = 7)
+class RunnerGrapherTestCharts {
+
+	static List<Object> allocated = new ArrayList<>();
+
+	@BeforeAll
+	static void setup() throws Throwable {
+		Runner.time(RunnerGrapherTestCharts.class);
+		Runner.await();
+	}
+
+	@DisplayName("Grapher - Allocation chart")
+	@Test
+	void grapherTest1() {
+		ScatterChart<Number, Number> chart = plot("Allocation");
+		assertNotNull(chart, "Allocation chart wasn't created!");
+		assertFalse(chart.getData().isEmpty(), "Allocation chart has no series!");
+	}
+
+	@DisplayName("Grapher - CPU time chart")
+	@Test
+	void grapherTest2() {
+		ScatterChart<Number, Number> chart = plot("CPU Time");
+		assertNotNull(chart, "CPU time chart wasn't created!");
+		assertFalse(chart.getData().isEmpty(), "CPU time chart has no series!");
+	}
+
+	@DisplayName("Grapher - Latency percentiles chart")
+	@Test
+	void grapherTest3() {
+		ScatterChart<Number, Number> chart = plot("Latency Percentiles");
+		assertNotNull(chart, "Latency percentiles chart wasn't created!");
+		assertFalse(chart.getData().isEmpty(), "Latency percentiles chart has no series!");
+	}
+
+	@DisplayName("Grapher - Amount of charts")
+	@Test
+	void grapherTest4() {
+		assertEquals(4, Runner.getGrapher().getPlots().size(), "Wrong amount of charts were created!"); // The main plot, the allocation, the CPU time and the latency percentiles
+	}
+
+	@AfterAll
+	static void tearDown() {
+		Runner.getGrapher().clearData();
+		allocated.clear();
+	}
+
+	@Time(repeat = 50)
+	void allocationTest() {
+		allocated.add(new long[128]);
+	}
+
+	private static ScatterChart<Number, Number> plot(String title) {
+		for (ScatterChart<Number, Number> plot : Runner.getGrapher().getPlots()) {
+			if (title.equals(plot.getTitle())) {
+				return plot;
+			}
+		}
+		return null;
+	}
+}
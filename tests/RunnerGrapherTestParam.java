@@ -0,0 +1,173 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.jtimer.Runner;
+import org.jtimer.Annotations.*;
+import org.jtimer.Execution.BenchmarkThread;
+import org.jtimer.Execution.ClassExecutor;
+import org.jtimer.Execution.ExecutionPlan;
+import org.jtimer.Execution.SampleListener;
+import org.jtimer.Execution.TimedMethod;
+import org.jtimer.Misc.Setting;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart.Data;
+import javafx.scene.chart.XYChart.Series;
+
+@Settings(Setting.BEST_FIT)
+class RunnerGrapherTestParam {
+
+	static final long[] sizes = { 100, 200, 400, 800 };
+	static List<Long> values = new ArrayList<>();
+	static Set<Object> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+	static boolean reused;
+
+	@Param({ 100, 200, 400, 800 })
+	long n;
+	boolean visited;
+
+	@BeforeAll
+	static void setup() throws Throwable {
+		Runner.time(RunnerGrapherTestParam.class);
+		Runner.await();
+	}
+
+	@DisplayName("Runner - Param values")
+	@Test
+	void runnerTest1() {
+		assertEquals(Arrays.asList(100L, 200L, 400L, 800L), values, "The class wasn't timed once for each value, in order!");
+	}
+
+	@DisplayName("Runner - Fresh instance for each value")
+	@Test
+	void runnerTest2() {
+		assertAll("Instances were shared between values", () -> assertEquals(sizes.length, instances.size(), "Wrong amount of instances!"), () -> assertFalse(reused, "An instance was used for more than one value!"));
+	}
+
+	@DisplayName("Runner - Int param that doesn't fit")
+	@Test
+	void runnerTest3() {
+		assertThrows(IllegalArgumentException.class, () -> ExecutionPlan.compile(IntOverflow.class), "A long value was let into an int @Param!");
+	}
+
+	@DisplayName("Runner - Param range up to the largest long")
+	@Test
+	void runnerTest4() {
+		ExecutionPlan plan = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> ExecutionPlan.compile(LongRange.class), "The range never ended!");
+		long[] values = plan.getParameterValues();
+		assertEquals(Long.MAX_VALUE, values[values.length - 1], "The range didn't end at the largest long!");
+	}
+
+	@DisplayName("Runner - Negative param values")
+	@Test
+	void runnerTest5() throws ReflectiveOperationException, InterruptedException {
+		TreeSet<Long> xs = new TreeSet<>();
+		BenchmarkThread benchmark = new BenchmarkThread(Throwable::printStackTrace);
+		try {
+			new ClassExecutor(benchmark, new SampleListener() {
+				@Override
+				public void sample(TimedMethod method, long x, long nanos) {
+					xs.add(x);
+				}
+
+				@Override
+				public void progress(double progress, boolean warmup) {
+				}
+			}).execute(ExecutionPlan.compile(NegativeParam.class));
+		} finally {
+			benchmark.shutdown();
+		}
+		assertEquals(new TreeSet<>(Arrays.asList(-5L, 0L, 5L)), xs, "Samples of a negative value weren't recorded against it!");
+	}
+
+	@DisplayName("Grapher - X is the parameter")
+	@Test
+	void grapherTest1() {
+		TreeSet<Long> xs = new TreeSet<>();
+		for (Series<Number, Number> series : Runner.getGrapher().getPlots().get(0).getData()) {
+			for (Data<Number, Number> data : series.getData()) {
+				xs.add(data.getXValue().longValue());
+			}
+		}
+		assertEquals(new TreeSet<>(Arrays.asList(100L, 200L, 400L, 800L)), xs, "Samples weren't graphed against the parameter!");
+	}
+
+	@DisplayName("Grapher - X-Axis label")
+	@Test
+	void grapherTest2() {
+		assertEquals("n", ((NumberAxis) Runner.getGrapher().getPlots().get(0).getXAxis()).getLabel(), "X-Axis isn't labelled with the parameter!");
+	}
+
+	@DisplayName("Grapher - Best fit over the parameter")
+	@Test
+	void grapherTest3() {
+		assertEquals(2, Runner.getGrapher().getPlots().size(), "Best fit chart was not created!");
+		double maxX = 0;
+		for (Series<Number, Number> series : Runner.getGrapher().getPlots().get(1).getData()) {
+			for (Data<Number, Number> data : series.getData()) {
+				maxX = Math.max(maxX, data.getXValue().doubleValue());
+			}
+		}
+		assertEquals(800, maxX, "Best fit wasn't drawn up to the largest value!");
+	}
+
+	@AfterAll
+	static void tearDown() {
+		Runner.getGrapher().clearData();
+	}
+
+	@BeforeClass
+	void beforeClassTest() {
+		values.add(n);
+		reused |= visited || !instances.add(this);
+		visited = true;
+	}
+
+	@Time(repeat = 5)
+	long paramTest() {
+		long sum = 0;
+		for (long i = 0; i < n * 100; i++) {
+			sum += i;
+		}
+		return sum;
+	}
+
+	static class IntOverflow {
+		@Param({ 1, 1L << 40 })
+		int n;
+
+		@Time
+		void time() {
+		}
+	}
+
+	static class NegativeParam {
+		@Param({ -5, 0, 5 })
+		long n;
+
+		@Time(repeat = 3)
+		void time() {
+		}
+	}
+
+	static class LongRange {
+		@Param(from = Long.MAX_VALUE / 3, to = Long.MAX_VALUE)
+		long n;
+
+		@Time
+		void time() {
+		}
+	}
+}
@@ -0,0 +1,118 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jtimer.Runner;
+import org.jtimer.Annotations.*;
+import org.jtimer.Execution.ExecutionPlan;
+import org.jtimer.Execution.TimedMethod;
+import org.jtimer.Results.Report;
+import org.jtimer.Results.ResultSink;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RunnerThreadsTest {
+
+	static Map<String, List<long[]>> latencies = new HashMap<>();
+	static Map<String, TimedMethod> methods = new HashMap<>();
+	static Report report;
+	static boolean headless;
+
+	@BeforeAll
+	static void setup() throws Throwable {
+		headless = Runner.isHeadless();
+		Runner.setHeadless(true);
+		Runner.setSinks(new ResultSink() {
+			@Override
+			public void sample(TimedMethod method, long x, long nanos) {
+				methods.put(method.getMethod().getName(), method);
+			}
+
+			@Override
+			public void latencies(TimedMethod method, long x, long[] latencies) {
+				RunnerThreadsTest.latencies.computeIfAbsent(method.getMethod().getName(), key -> new ArrayList<>()).add(latencies);
+			}
+
+			@Override
+			public void finished(ExecutionPlan plan, Report report) {
+				RunnerThreadsTest.report = report;
+			}
+		});
+		Runner.time(RunnerThreadsTest.class);
+	}
+
+	@DisplayName("Runner - Latency of each thread")
+	@Test
+	void runnerTest1() {
+		assertEquals(5, latencies.get("twoThreads").size(), "Wrong amount of repetitions!");
+		for (long[] repetition : latencies.get("twoThreads")) {
+			assertEquals(2, repetition.length, "Not every thread had its latency kept!");
+			for (long latency : repetition) {
+				assertTrue(latency >= 5000000, "A thread was faster than its batch!");
+			}
+		}
+		for (long[] repetition : latencies.get("fourThreads")) {
+			assertEquals(4, repetition.length, "Not every thread had its latency kept!");
+		}
+	}
+
+	@DisplayName("Runner - Single thread")
+	@Test
+	void runnerTest2() {
+		assertFalse(latencies.containsKey("oneThread"), "A method without @Threads was timed on workers!");
+		for (String line : report.get(methods.get("oneThread").getName())) {
+			assertFalse(line.contains("thread latency"), "A method without @Threads has a thread latency!");
+		}
+	}
+
+	@DisplayName("Runner - Throughput of all threads")
+	@Test
+	void runnerTest3() {
+		long[] reported = throughput(methods.get("twoThreads"));
+		double single = 1e9 / reported[1]; // The ops/s of a single thread at the median latency, which is per invocation
+		assertTrue(reported[0] > single * 1.5, "The throughput wasn't summed over the threads!");
+		assertTrue(reported[0] < single * 2.1, "The throughput was more than the threads could do!");
+	}
+
+	@AfterAll
+	static void tearDown() {
+		Runner.setHeadless(headless);
+		Runner.setSinks((plan, report) -> report.print(System.out));
+	}
+
+	@Threads(2)
+	@Batch(5)
+	@Time(repeat = 5)
+	void twoThreads() throws InterruptedException {
+		Thread.sleep(1);
+	}
+
+	@Threads(4)
+	@Batch(2)
+	@Time(repeat = 3)
+	void fourThreads() throws InterruptedException {
+		Thread.sleep(1);
+	}
+
+	@Time(repeat = 3)
+	void oneThread() throws InterruptedException {
+		Thread.sleep(1);
+	}
+
+	private static long[] throughput(TimedMethod method) {
+		for (String line : report.get(method.getName())) {
+			if (line.contains("thread latency")) {
+				long ops = Long.parseLong(line.substring(line.indexOf("Throughput: ") + 12, line.indexOf(" ops/s")));
+				long latency = Long.parseLong(line.substring(line.indexOf("latency ") + 8, line.indexOf(" ns median")));
+				return new long[] { ops, latency };
+			}
+		}
+		fail("No throughput was reported!");
+		return null;
+	}
+}
@@ -0,0 +1,104 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jtimer.Runner;
+import org.jtimer.Annotations.*;
+import org.jtimer.Collections.LongList;
+import org.jtimer.Execution.ExecutionPlan;
+import org.jtimer.Execution.TimedMethod;
+import org.jtimer.Misc.TimingMode;
+import org.jtimer.Results.Report;
+import org.jtimer.Results.ResultSink;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RunnerThroughputTest {
+
+	static Map<String, LongList> samples = new HashMap<>();
+	static Map<String, TimedMethod> methods = new HashMap<>();
+	static Report report;
+	static boolean headless;
+	static long invocations;
+	static long counter;
+
+	@BeforeAll
+	static void setup() throws Throwable {
+		headless = Runner.isHeadless();
+		Runner.setHeadless(true);
+		Runner.setSinks(new ResultSink() {
+			@Override
+			public void sample(TimedMethod method, long x, long nanos) {
+				methods.put(method.getMethod().getName(), method);
+				samples.computeIfAbsent(method.getMethod().getName(), key -> new LongList(method.getRepeat())).add(nanos);
+			}
+
+			@Override
+			public void finished(ExecutionPlan plan, Report report) {
+				RunnerThroughputTest.report = report;
+			}
+		});
+		Runner.time(RunnerThroughputTest.class);
+	}
+
+	@DisplayName("Runner - Ops/s of each window")
+	@Test
+	void runnerTest1() {
+		LongList windows = samples.get("sleeping");
+		assertEquals(5, windows.size(), "There wasn't a sample for each window!");
+		long sum = 0;
+		for (int i = 0; i < windows.size(); i++) {
+			assertTrue(windows.get(i) > 0, "A window had no invocations!");
+			assertTrue(windows.get(i) <= 1000, "A window did more than a sleep of a millisecond allows!");
+			sum += windows.get(i);
+		}
+		long expected = sum * 20 / 1000; // The ops/s of each window times a window of 20 ms
+		assertTrue(invocations >= expected, "The windows were shorter than 20 ms!");
+		assertTrue(invocations <= expected * 3 / 2, "The ops/s weren't of the whole window!");
+	}
+
+	@DisplayName("Runner - Automatic batch in a window")
+	@Test
+	void runnerTest2() {
+		TimedMethod method = methods.get("counting");
+		assertEquals(TimingMode.THROUGHPUT, method.getMode(), "The mode wasn't the one in @Mode!");
+		assertTrue(method.getOperations() > 1, "No batch was picked for a fast method!");
+		for (int i = 0; i < samples.get("counting").size(); i++) {
+			assertTrue(samples.get("counting").get(i) > 1000, "The ops/s of a fast method were too low!");
+		}
+	}
+
+	@DisplayName("Runner - Throughput report")
+	@Test
+	void runnerTest3() {
+		boolean reported = false;
+		for (String line : report.get(methods.get("sleeping").getName())) {
+			reported |= line.contains("over 5 windows of 20 ms");
+			assertFalse(line.startsWith("Median: "), "A throughput method was reported as a latency!");
+		}
+		assertTrue(reported, "The windows weren't reported!");
+	}
+
+	@AfterAll
+	static void tearDown() {
+		Runner.setHeadless(headless);
+		Runner.setSinks((plan, report) -> report.print(System.out));
+	}
+
+	@Mode(value = TimingMode.THROUGHPUT, window = 20000000)
+	@Batch(1)
+	@Time(repeat = 5)
+	void sleeping() throws InterruptedException {
+		invocations++;
+		Thread.sleep(1);
+	}
+
+	@Mode(value = TimingMode.THROUGHPUT, window = 20000000)
+	@Time(repeat = 3)
+	void counting() {
+		counter++;
+	}
+}
@@ -0,0 +1,91 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import org.jtimer.Annotations.Time;
+import org.jtimer.Execution.ExecutionPlan;
+import org.jtimer.Execution.TimedMethod;
+import org.jtimer.Results.SampleExport;
+import org.jtimer.Results.SampleExport.Format;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+class SampleExportTest {
+
+	Random random = new Random();
+
+	public static class Timed {
+		@Time
+		@org.jtimer.Annotations.DisplayName("Quoted, \"Method\"")
+		public void first() {
+		}
+	}
+
+	@DisplayName("CSV Export")
+	@RepeatedTest(10)
+	void csvTest() throws ReflectiveOperationException, IOException {
+		export(Format.CSV);
+	}
+
+	@DisplayName("JSON Lines Export")
+	@RepeatedTest(10)
+	void jsonTest() throws ReflectiveOperationException, IOException {
+		export(Format.JSON_LINES);
+	}
+
+	@DisplayName("Nothing Exported")
+	@Test
+	void emptyTest() throws ReflectiveOperationException, IOException {
+		Path directory = Files.createTempDirectory("jtimer");
+		ExecutionPlan plan = ExecutionPlan.compile(Timed.class);
+		SampleExport export = new SampleExport(directory, Format.JSON_LINES);
+		export.started(plan);
+		export.finished(plan, null);
+		assertTrue(Files.readAllLines(export.getFile(Timed.class)).isEmpty(), "Rows were exported without samples!");
+		Files.delete(export.getFile(Timed.class));
+		Files.delete(directory);
+	}
+
+	void export(Format format) throws ReflectiveOperationException, IOException {
+		Path directory = Files.createTempDirectory("jtimer");
+		ExecutionPlan plan = ExecutionPlan.compile(Timed.class);
+		TimedMethod method = plan.getTimed()[0];
+		SampleExport export = new SampleExport(directory, format, 64); // A small buffer so that it's flushed while exporting
+		int samples = random.nextInt(1000) + 1;
+		long[] nanos = new long[samples];
+		export.started(plan);
+		export.calibrated(null);
+		for (int i = 0; i < samples; i++) {
+			nanos[i] = random.nextInt(1000000);
+			if (i % 5 == 0) {
+				export.compiled(method, i, 3);
+			}
+			export.sample(method, i, nanos[i]);
+			if (i % 2 == 0) {
+				export.allocated(method, i, 16);
+			}
+		}
+		export.finished(plan, null);
+		try {
+			List<String> lines = Files.readAllLines(export.getFile(Timed.class));
+			int header = format == Format.CSV ? 1 : 0;
+			assertEquals(samples + header, lines.size(), "Wrong amount of rows!");
+			for (int i = 0; i < samples; i++) {
+				String line = lines.get(i + header);
+				if (format == Format.CSV) {
+					assertEquals("\"Quoted, \"\"Method\"\"\",0," + i + "," + nanos[i] + "," + (i % 2 == 0 ? "16" : "") + ",,,false," + (i % 5 == 0), line, "Wrong CSV row!");
+				} else {
+					assertEquals("{\"method\":\"Quoted, \\\"Method\\\"\",\"fork\":0,\"x\":" + i + ",\"nanos\":" + nanos[i] + ",\"allocated\":" + (i % 2 == 0 ? "16" : "null") + ",\"cpuTime\":null,\"userTime\":null,\"collected\":false,\"compiled\":" + (i % 5 == 0) + "}", line, "Wrong JSON line!");
+				}
+			}
+		} finally {
+			Files.delete(export.getFile(Timed.class));
+			Files.delete(directory);
+		}
+	}
+}
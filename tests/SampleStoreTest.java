@@ -0,0 +1,75 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.jtimer.Annotations.Time;
+import org.jtimer.Execution.ExecutionPlan;
+import org.jtimer.Execution.TimedMethod;
+import org.jtimer.Results.SampleStore;
+import org.jtimer.Results.StoredSamples;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+
+class SampleStoreTest {
+
+	Random random = new Random();
+
+	public static class Timed {
+		@Time
+		public void first() {
+		}
+
+		@Time
+		public void second() {
+		}
+	}
+
+	@DisplayName("Store and Read Back")
+	@RepeatedTest(10)
+	void storeTest() throws ReflectiveOperationException, IOException {
+		Path directory = Files.createTempDirectory("jtimer");
+		ExecutionPlan plan = ExecutionPlan.compile(Timed.class);
+		TimedMethod[] methods = plan.getTimed();
+		SampleStore store = new SampleStore(directory);
+		int samples = random.nextInt(200000) + 1; // Usually more than one window
+		long[] nanos = new long[samples];
+		store.started(plan);
+		for (int i = 0; i < samples; i++) {
+			nanos[i] = random.nextInt(1000000);
+			if (i % 7 == 0) {
+				store.collected(methods[i % 2], i, 1, 5);
+			}
+			store.sample(methods[i % 2], i, nanos[i]);
+			if (i % 3 == 0) {
+				store.allocated(methods[i % 2], i, i * 8L);
+			}
+			store.cpuTime(methods[i % 2], i, nanos[i], nanos[i] / 2);
+		}
+		store.finished(plan, null);
+		long header = 20;
+		for (TimedMethod method : methods) {
+			header += 4 + method.getName().getBytes(StandardCharsets.UTF_8).length;
+		}
+		assertEquals(((header + 7) & ~7) + samples * 48L, Files.size(store.getFile(Timed.class)), "File wasn't cut down to its samples!");
+		try (StoredSamples stored = new StoredSamples(store.getFile(Timed.class))) {
+			assertEquals(samples, stored.size(), "Wrong amount of samples!");
+			assertEquals(methods[1].getName(), stored.getMethods()[1], "Wrong method name!");
+			for (int i = 0; i < samples; i++) {
+				assertEquals(i % 2, stored.getMethod(i), "Wrong method!");
+				assertEquals(i, stored.getX(i), "Wrong x!");
+				assertEquals(nanos[i], stored.getNanos(i), "Wrong time!");
+				assertEquals(i % 3 == 0 ? i * 8L : -1, stored.getAllocated(i), "Wrong allocation!");
+				assertEquals(nanos[i] / 2, stored.getUserTime(i), "Wrong user time!");
+				assertEquals(i % 7 == 0 ? SampleStore.COLLECTED : 0, stored.getFlags(i), "Wrong flags!");
+			}
+			assertThrows(IndexOutOfBoundsException.class, () -> stored.getNanos(samples), "Read past the last sample!");
+		} finally {
+			Files.delete(store.getFile(Timed.class));
+			Files.delete(directory);
+		}
+	}
+}
@@ -0,0 +1,220 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.jtimer.Statistics.Confidence;
+import org.jtimer.Statistics.Descriptive;
+import org.jtimer.Statistics.Histogram;
+import org.jtimer.Statistics.MannWhitney;
+import org.jtimer.Statistics.RunningStatistics;
+import org.jtimer.Statistics.SteadyState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+class StatisticsTest {
+
+	Random random = new Random();
+
+	@DisplayName("Mean and Variance")
+	@Test
+	void meanVarianceTest() {
+		long[] samples = { 2, 4, 4, 4, 5, 5, 7, 9 };
+		assertEquals(5, Descriptive.mean(samples), 1e-9, "Mean is wrong!");
+		assertEquals(32d / 7, Descriptive.variance(samples), 1e-9, "Variance is wrong!");
+		assertEquals(0, Descriptive.variance(new long[] { 42 }), "Variance of a single sample isn't 0!");
+	}
+
+	@DisplayName("Percentiles")
+	@RepeatedTest(100)
+	void percentileTest() {
+		long[] samples = new long[100];
+		for (int i = 0; i < samples.length; i++) {
+			samples[i] = i + 1;
+		}
+		for (int i = samples.length - 1; i > 0; i--) { // Shuffle, the order shouldn't matter
+			int j = random.nextInt(i + 1);
+			long swap = samples[i];
+			samples[i] = samples[j];
+			samples[j] = swap;
+		}
+		int percentile = random.nextInt(100) + 1;
+		assertEquals(percentile, Descriptive.percentile(samples, percentile), "Percentile is wrong!");
+		assertEquals(50, Descriptive.median(samples), "Median is wrong!");
+	}
+
+	@DisplayName("Slope")
+	@RepeatedTest(100)
+	void slopeTest() {
+		long slope = random.nextInt(1000) - 500;
+		long intercept = random.nextInt(1000000);
+		long[] samples = new long[random.nextInt(100) + 2];
+		for (int i = 0; i < samples.length; i++) {
+			samples[i] = intercept + slope * i;
+		}
+		assertEquals(slope, Descriptive.slope(samples), 1e-6, "Slope of a line is wrong!");
+	}
+
+	@DisplayName("Steady State")
+	@Test
+	void steadyStateTest() {
+		SteadyState steadyState = new SteadyState(10, 0.05);
+		for (int i = 0; i < 9; i++) {
+			steadyState.add(1000);
+		}
+		assertFalse(steadyState.isSteady(), "Steady before the window was full!");
+		steadyState.add(1000);
+		assertTrue(steadyState.isSteady(), "Constant samples aren't steady!");
+		for (int i = 0; i < 10; i++) {
+			steadyState.add(1000 + 100 * i);
+		}
+		assertFalse(steadyState.isSteady(), "Samples going up are steady!");
+		assertTrue(steadyState.getTrend() > 0, "Trend of samples going up isn't positive!");
+		for (int i = 0; i < 10; i++) {
+			steadyState.add(i % 2 == 0 ? 500 : 1500);
+		}
+		assertFalse(steadyState.isSteady(), "Noisy samples are steady!");
+		for (int i = 0; i < 10; i++) {
+			steadyState.add(990 + i % 3 * 10);
+		}
+		assertTrue(steadyState.isSteady(), "Samples within the threshold aren't steady!");
+	}
+
+	@DisplayName("Running Statistics")
+	@RepeatedTest(100)
+	void runningStatisticsTest() {
+		long[] samples = new long[random.nextInt(1000) + 2];
+		RunningStatistics statistics = new RunningStatistics();
+		for (int i = 0; i < samples.length; i++) {
+			samples[i] = 1000000000L + random.nextInt(1000); // Large samples with a small spread are where summing squares goes wrong
+			statistics.add(samples[i]);
+		}
+		assertEquals(samples.length, statistics.getCount(), "Count is wrong!");
+		assertEquals(Descriptive.mean(samples), statistics.getMean(), 1e-3, "Running mean is wrong!");
+		assertEquals(Descriptive.variance(samples), statistics.getVariance(), 1e-3 * Descriptive.variance(samples), "Running variance is wrong!");
+		assertEquals(Descriptive.percentile(samples, 0), statistics.getMin(), "Minimum is wrong!");
+		assertEquals(Descriptive.percentile(samples, 100), statistics.getMax(), "Maximum is wrong!");
+	}
+
+	@DisplayName("Running Statistics Merging")
+	@RepeatedTest(100)
+	void runningStatisticsMergeTest() {
+		RunningStatistics whole = new RunningStatistics();
+		RunningStatistics first = new RunningStatistics();
+		RunningStatistics second = new RunningStatistics();
+		int samples = random.nextInt(1000) + 2;
+		int split = random.nextInt(samples);
+		for (int i = 0; i < samples; i++) {
+			double sample = 1000000000L + random.nextInt(1000) * (i < split ? 1 : 3);
+			whole.add(sample);
+			(i < split ? first : second).add(sample);
+		}
+		first.add(second);
+		assertEquals(whole.getCount(), first.getCount(), "Merged count is wrong!");
+		assertEquals(whole.getMean(), first.getMean(), 1e-3, "Merged mean is wrong!");
+		assertEquals(whole.getVariance(), first.getVariance(), 1e-6 * whole.getVariance(), "Merged variance is wrong!");
+		assertEquals(whole.getMin(), first.getMin(), "Merged minimum is wrong!");
+		assertEquals(whole.getMax(), first.getMax(), "Merged maximum is wrong!");
+	}
+
+	@DisplayName("Critical Values")
+	@Test
+	void criticalValueTest() {
+		assertEquals(0, Confidence.inverseNormal(0.5), 1e-9, "Inverse normal of 0.5 isn't 0!");
+		assertEquals(1.959964, Confidence.z(0.95), 1e-6, "z for 95% is wrong!");
+		assertEquals(2.575829, Confidence.z(0.99), 1e-6, "z for 99% is wrong!");
+		assertEquals(-Confidence.inverseNormal(0.01), Confidence.inverseNormal(0.99), 1e-9, "Inverse normal isn't symmetric!");
+		assertEquals(2.228, Confidence.t(0.95, 10), 1e-2, "t for 95% with 10 degrees of freedom is wrong!");
+		assertEquals(1.984, Confidence.t(0.95, 100), 1e-3, "t for 95% with 100 degrees of freedom is wrong!");
+	}
+
+	@DisplayName("Confidence Intervals")
+	@Test
+	void confidenceIntervalTest() {
+		long[] constant = { 100, 100, 100, 100, 100, 100, 100, 100, 100, 100 };
+		assertEquals(0, Confidence.relativeHalfWidth(constant, 0.95, false), "Interval of constant samples isn't empty!");
+		assertEquals(0, Confidence.relativeHalfWidth(constant, 0.95, true), "Median interval of constant samples isn't empty!");
+		assertEquals(Double.POSITIVE_INFINITY, Confidence.relativeHalfWidth(new long[] { 100 }, 0.95, false), "Interval of a single sample isn't infinite!");
+		long[] samples = new long[1000];
+		for (int i = 0; i < samples.length; i++) {
+			samples[i] = 1000 + i % 10;
+		}
+		double narrow = Confidence.relativeHalfWidth(samples, 0.95, false);
+		double wide = Confidence.relativeHalfWidth(Arrays.copyOf(samples, 20), 0.95, false);
+		assertTrue(narrow < wide, "More samples didn't narrow the interval!");
+		assertTrue(Confidence.relativeHalfWidth(samples, 0.99, false) > narrow, "More confidence didn't widen the interval!");
+	}
+
+	@DisplayName("Mann-Whitney U")
+	@Test
+	void mannWhitneyTest() {
+		long[] baseline = { 10, 12, 12, 15, 18, 20, 21, 25, 30, 30 };
+		long[] samples = { 14, 16, 19, 22, 22, 26, 28, 31, 33, 40, 41 };
+		MannWhitney test = new MannWhitney(baseline, samples);
+		assertEquals(82, test.getU(), 1e-9, "U is wrong!");
+		assertEquals(0.0617768, test.getP(), 1e-6, "p-value is wrong!");
+		assertEquals(0.490909, test.getEffectSize(), 1e-6, "Effect size is wrong!");
+		assertEquals(1, new MannWhitney(baseline, baseline).getP(), 1e-9, "Identical runs differ!");
+		assertEquals(0.975, Confidence.normal(1.959964), 1e-6, "Normal distribution is wrong!");
+	}
+
+	@DisplayName("Mann-Whitney U Detects Shifts")
+	@RepeatedTest(100)
+	void mannWhitneyShiftTest() {
+		long[] baseline = new long[200];
+		long[] same = new long[200];
+		long[] slower = new long[200];
+		for (int i = 0; i < baseline.length; i++) {
+			baseline[i] = 1000 + (long) (random.nextGaussian() * 50);
+			same[i] = 1000 + (long) (random.nextGaussian() * 50);
+			slower[i] = 1100 + (long) (random.nextGaussian() * 50);
+		}
+		MannWhitney shifted = new MannWhitney(baseline, slower);
+		assertTrue(shifted.differs(0.01, 0.15), "A shift of two standard deviations wasn't found!");
+		assertTrue(shifted.getEffectSize() > 0, "Slower samples don't have a positive effect size!");
+		assertTrue(new MannWhitney(slower, baseline).getEffectSize() < 0, "Faster samples don't have a negative effect size!");
+		assertFalse(new MannWhitney(baseline, same).differs(0.0001, 0.15), "Samples of the same distribution differ!");
+	}
+
+	@DisplayName("Histogram Percentiles")
+	@RepeatedTest(100)
+	void histogramTest() {
+		Histogram histogram = new Histogram();
+		long[] samples = new long[random.nextInt(10000) + 1];
+		for (int i = 0; i < samples.length; i++) {
+			samples[i] = (long) Math.exp(random.nextDouble() * 40); // Up to about 10^17
+			histogram.add(samples[i]);
+		}
+		Arrays.sort(samples);
+		for (double percentile : new double[] { 1, 50, 90, 99, 99.9, 100 }) {
+			long exact = Descriptive.percentileSorted(samples, percentile);
+			long approximate = histogram.percentile(percentile);
+			assertTrue(approximate >= exact, "Percentile " + percentile + " is lower than the sample!");
+			assertTrue(approximate - exact <= exact / 128, "Percentile " + percentile + " isn't within the precision!");
+		}
+		assertEquals(samples[samples.length - 1], histogram.getMax(), "Max is wrong!");
+		assertEquals(samples[0], histogram.getMin(), "Min is wrong!");
+		assertEquals(samples.length, histogram.getCount(), "Count is wrong!");
+	}
+
+	@DisplayName("Histogram Merging")
+	@Test
+	void histogramMergeTest() {
+		Histogram whole = new Histogram();
+		Histogram first = new Histogram();
+		Histogram second = new Histogram();
+		for (int i = 0; i < 10000; i++) {
+			long sample = random.nextInt(1000000);
+			whole.add(sample);
+			(i % 2 == 0 ? first : second).add(sample);
+		}
+		first.add(second);
+		for (double percentile : new double[] { 50, 90, 99, 99.9 }) {
+			assertEquals(whole.percentile(percentile), first.percentile(percentile), "Merged percentile " + percentile + " is wrong!");
+		}
+		assertEquals(whole.getMean(), first.getMean(), 1e-6, "Merged mean is wrong!");
+		assertThrows(IllegalArgumentException.class, () -> first.add(new Histogram(3)), "Histograms of different precisions were merged!");
+		assertEquals(0, new Histogram().percentile(50), "Empty histogram has a percentile!");
+	}
+}